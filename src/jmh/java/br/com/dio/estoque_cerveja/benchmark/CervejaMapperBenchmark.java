@@ -0,0 +1,45 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CervejaMapperBenchmark {
+
+    private CervejaRequestDTO requestDTO;
+    private Cerveja cerveja;
+
+    @Setup
+    public void setUp() {
+        requestDTO = new CervejaRequestDTO("Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        cerveja = Cerveja.builder()
+                .id(1L)
+                .nome("Heineken")
+                .marca("Heineken")
+                .maximo(100)
+                .quantidade(50)
+                .tipo(TipoCerveja.LAGER)
+                .build();
+    }
+
+    @Benchmark
+    public Cerveja toEntity() {
+        return CervejaMapper.toEntity(requestDTO);
+    }
+
+    @Benchmark
+    public CervejaResponseDTO toDTO() {
+        return CervejaMapper.toDTO(cerveja);
+    }
+}
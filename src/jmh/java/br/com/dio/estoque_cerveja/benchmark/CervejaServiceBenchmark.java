@@ -0,0 +1,74 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.service.CervejaService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Sobe o contexto Spring com H2 em memória (sem servidor web) e popula o catálogo com o tamanho do parâmetro
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CervejaServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tamanhoCatalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private CervejaService service;
+    private Long idIncremento;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + tamanhoCatalogo + ";DB_CLOSE_ON_EXIT=FALSE",
+                        "logging.level.root=WARN")
+                .run();
+        service = contexto.getBean(CervejaService.class);
+
+        CervejaRepository repository = contexto.getBean(CervejaRepository.class);
+        List<Cerveja> cervejas = new ArrayList<>(tamanhoCatalogo);
+        TipoCerveja[] tipos = TipoCerveja.values();
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            cervejas.add(Cerveja.builder()
+                    .nome("Cerveja " + i)
+                    .marca("Marca " + (i % 50))
+                    // máximo alto para o benchmark de incremento nunca esbarrar no limite
+                    .maximo(Integer.MAX_VALUE / 2)
+                    .quantidade(0)
+                    .tipo(tipos[i % tipos.length])
+                    .build());
+        }
+        idIncremento = repository.saveAll(cervejas).get(tamanhoCatalogo / 2).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public CervejaResponseDTO incrementarEstoque() {
+        return service.incrementarEstoque(idIncremento, 1);
+    }
+
+    @Benchmark
+    public List<CervejaResponseDTO> listarTudo() {
+        return service.listarTudo();
+    }
+}
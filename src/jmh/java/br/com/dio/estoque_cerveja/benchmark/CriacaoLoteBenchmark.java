@@ -0,0 +1,71 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.service.CervejaService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cadastro de um lote de cervejas: uma chamada por item (criarCerveja) contra o endpoint de lote
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriacaoLoteBenchmark {
+
+    @Param({"1000"})
+    private int tamanhoLote;
+
+    private ConfigurableApplicationContext contexto;
+    private CervejaService service;
+    private long rodada;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-lote;DB_CLOSE_ON_EXIT=FALSE",
+                        "logging.level.root=WARN")
+                .run();
+        service = contexto.getBean(CervejaService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void criarUmPorUm(Blackhole blackhole) {
+        for (CervejaRequestDTO dto : novoLote()) {
+            blackhole.consume(service.criarCerveja(dto));
+        }
+    }
+
+    @Benchmark
+    public List<CriacaoLoteResultadoDTO> criarEmLote() {
+        return service.criarCervejasEmLote(novoLote());
+    }
+
+    // Nomes novos a cada invocação para não esbarrar no índice único
+    private List<CervejaRequestDTO> novoLote() {
+        long prefixo = rodada++;
+        List<CervejaRequestDTO> lote = new ArrayList<>(tamanhoLote);
+        for (int i = 0; i < tamanhoLote; i++) {
+            lote.add(new CervejaRequestDTO("Lote " + prefixo + "-" + i, "Marca", 100, 10, TipoCerveja.ALE));
+        }
+        return lote;
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.service.EstoqueBaixo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// As 50 cervejas mais perto de acabar: ordenar o catálogo inteiro a cada consulta contra ler o começo da
+// estrutura mantida em ordem, e quanto custa manter essa estrutura a cada mudança de estoque
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EstoqueBaixoBenchmark {
+
+    private static final int TOP = 50;
+
+    @Param({"100000"})
+    private int tamanhoCatalogo;
+
+    private List<EstoqueBaixoDTO> catalogo;
+    private EstoqueBaixo estoqueBaixo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogo = new ArrayList<>(tamanhoCatalogo);
+        estoqueBaixo = new EstoqueBaixo();
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            int maximo = 100 + (i % 900);
+            int quantidade = (int) ((long) i * 7919 % (maximo + 1));
+            catalogo.add(new EstoqueBaixoDTO((long) i, "Cerveja " + i, quantidade, maximo, (double) quantidade / maximo));
+            estoqueBaixo.registrar((long) i, "Cerveja " + i, quantidade, maximo);
+        }
+    }
+
+    @Benchmark
+    public List<EstoqueBaixoDTO> ordenarCatalogo() {
+        return catalogo.stream()
+                .sorted(Comparator.comparingDouble(EstoqueBaixoDTO::ocupacao).thenComparing(EstoqueBaixoDTO::id))
+                .limit(TOP)
+                .toList();
+    }
+
+    @Benchmark
+    public List<EstoqueBaixoDTO> estruturaOrdenada() {
+        return estoqueBaixo.listar(TOP, 1.0);
+    }
+
+    // Vende e repõe a mesma unidade: a cerveja sai e volta para a posição, sem o catálogo derivar
+    @Benchmark
+    public void ajustarQuantidade() {
+        long id = ThreadLocalRandom.current().nextInt(tamanhoCatalogo);
+        estoqueBaixo.ajustarQuantidade(id, -1);
+        estoqueBaixo.ajustarQuantidade(id, 1);
+    }
+}
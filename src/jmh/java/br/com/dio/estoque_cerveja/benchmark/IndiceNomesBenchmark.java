@@ -0,0 +1,54 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
+import br.com.dio.estoque_cerveja.service.IndiceNomes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Busca por nome sobre o índice em memória: autocomplete só com acertos de prefixo, e consulta com erro de
+// digitação que precisa completar com nomes parecidos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceNomesBenchmark {
+
+    private static final String[] MARCAS = {"Heineken", "Brahma", "Skol", "Colorado", "Bohemia", "Baden Baden",
+            "Eisenbahn", "Wäls", "Dama", "Tupiniquim"};
+    private static final String[] ESTILOS = {"Pilsen", "IPA", "Weiss", "Stout", "Lager", "Red Ale", "Witbier",
+            "Session IPA", "Porter", "Tripel"};
+
+    @Param({"100000"})
+    private int tamanhoIndice;
+
+    private IndiceNomes indice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        indice = new IndiceNomes();
+        for (int i = 0; i < tamanhoIndice; i++) {
+            String nome = MARCAS[i % MARCAS.length] + " " + ESTILOS[(i / MARCAS.length) % ESTILOS.length]
+                    + " " + Integer.toString(i * 7919, 36);
+            indice.adicionar((long) i, nome);
+        }
+    }
+
+    @Benchmark
+    public List<SugestaoNomeDTO> autocompletePrefixo() {
+        return indice.buscar("colorado ip", 10);
+    }
+
+    @Benchmark
+    public List<SugestaoNomeDTO> buscaComErroDeDigitacao() {
+        return indice.buscar("eisenbhan stuot", 10);
+    }
+
+    @Benchmark
+    public List<SugestaoNomeDTO> prefixoRaroCompletadoComParecidos() {
+        return indice.buscar("tupiniquim tripel zz", 10);
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.service.JournalEstoque;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Latência de gravação no journal mapeado em memória; compare com CervejaServiceBenchmark.incrementarEstoque,
+// que paga uma transação no banco por alteração
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalEstoqueBenchmark {
+
+    // Intervalo do force() em grupo, em microssegundos
+    @Param({"200", "1000"})
+    private long intervaloForceMicros;
+
+    private Path diretorio;
+    private JournalEstoque journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("journal-benchmark");
+        journal = new JournalEstoque(diretorio, 64 * 1024 * 1024, intervaloForceMicros, 64 * 1024);
+        journal.abrir();
+    }
+
+    // Sem o banco para receber o estado, os segmentos cheios são descartados a cada iteração para não lotar o disco
+    @TearDown(Level.Iteration)
+    public void descartarSegmentos() {
+        journal.descartarAte(journal.ultimaSequencia());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        journal.fechar();
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(arquivo);
+            }
+        }
+    }
+
+    @Benchmark
+    public long anexar() {
+        return journal.anexar(1L, 1, 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long anexarEAguardarForce() {
+        long sequencia = journal.anexar(1L, 1, 1);
+        journal.aguardarGravacao(sequencia);
+        return sequencia;
+    }
+}
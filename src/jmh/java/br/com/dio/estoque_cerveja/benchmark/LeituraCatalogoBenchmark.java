@@ -0,0 +1,80 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Leitura do catálogo inteiro: entidades gerenciadas + mapper (como era) contra a projeção direto no DTO.
+// A diferença que interessa é de alocação; rode com -prof gc e compare gc.alloc.rate.norm (bytes por operação)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeituraCatalogoBenchmark {
+
+    @Param({"1000"})
+    private int tamanhoCatalogo;
+
+    private ConfigurableApplicationContext contexto;
+    private CervejaRepository repository;
+    private TransactionTemplate somenteLeitura;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-leitura;DB_CLOSE_ON_EXIT=FALSE",
+                        "logging.level.root=WARN")
+                .run();
+        repository = contexto.getBean(CervejaRepository.class);
+        somenteLeitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        somenteLeitura.setReadOnly(true);
+
+        List<Cerveja> cervejas = new ArrayList<>(tamanhoCatalogo);
+        TipoCerveja[] tipos = TipoCerveja.values();
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            cervejas.add(Cerveja.builder()
+                    .nome("Cerveja " + i)
+                    .marca("Marca " + (i % 50))
+                    .maximo(100)
+                    .quantidade(i % 100)
+                    .tipo(tipos[i % tipos.length])
+                    .build());
+        }
+        repository.saveAll(cervejas);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<CervejaResponseDTO> entidadesComMapper() {
+        return somenteLeitura.execute(status -> repository.findAll()
+                .stream()
+                .map(CervejaMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<CervejaResponseDTO> projecaoDTO() {
+        return somenteLeitura.execute(status -> repository.listarDTOs());
+    }
+}
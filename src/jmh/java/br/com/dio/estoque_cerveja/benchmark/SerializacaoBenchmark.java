@@ -0,0 +1,42 @@
+package br.com.dio.estoque_cerveja.benchmark;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int tamanhoCatalogo;
+
+    private ObjectMapper objectMapper;
+    private List<CervejaResponseDTO> cervejas;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        cervejas = new ArrayList<>(tamanhoCatalogo);
+        TipoCerveja[] tipos = TipoCerveja.values();
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            cervejas.add(new CervejaResponseDTO((long) i + 1, "Cerveja " + i, "Marca " + (i % 50),
+                    100, i % 100, tipos[i % tipos.length]));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cervejas);
+    }
+}
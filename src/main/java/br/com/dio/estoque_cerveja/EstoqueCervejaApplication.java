@@ -3,7 +3,9 @@ package br.com.dio.estoque_cerveja;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
-@SpringBootApplication
+// Com o profile reativo o R2DBC também fica no classpath; esta aplicação continua só com JPA
+// (um segundo gerenciador de transação deixaria o @Transactional sem saber qual usar)
+@SpringBootApplication(excludeName = "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration")
 public class EstoqueCervejaApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,13 @@
+package br.com.dio.estoque_cerveja.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caches Caffeine configurados em application.properties (spring.cache.*); as métricas saem em /actuator/metrics/cache.*
+// O cache envolve a transação (que fica com a ordem padrão, LOWEST_PRECEDENCE): @CachePut e @CacheEvict só
+// rodam depois do commit, e um commit que falha não deixa no cache um valor que o banco nunca teve
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+}
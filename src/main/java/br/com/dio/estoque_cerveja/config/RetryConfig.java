@@ -0,0 +1,39 @@
+package br.com.dio.estoque_cerveja.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.annotation.EnableRetry;
+
+@Configuration
+@EnableRetry
+public class RetryConfig {
+
+    public static final String METRICA_RETENTATIVAS = "estoque.decremento.retentativas";
+
+    // Conta cada tentativa que falhou por conflito de versão no decremento de estoque e que será repetida.
+    // O onError roda antes da decisão de repetir, então filtra aqui o que a política de retry descartaria:
+    // outras exceções (estoque insuficiente, cerveja inexistente...) e a última tentativa, já esgotada
+    @Bean
+    public RetryListener retentativasDecremento(MeterRegistry registry,
+                                                @Value("${estoque.decremento.max-tentativas:5}") int maxTentativas) {
+        Counter retentativas = Counter.builder(METRICA_RETENTATIVAS)
+                .description("Tentativas de decremento repetidas por conflito de versão")
+                .register(registry);
+        return new RetryListener() {
+            @Override
+            public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+                if (throwable instanceof ObjectOptimisticLockingFailureException
+                        && context.getRetryCount() < maxTentativas) {
+                    retentativas.increment();
+                }
+            }
+        };
+    }
+}
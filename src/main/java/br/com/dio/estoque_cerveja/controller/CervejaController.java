@@ -2,24 +2,52 @@ package br.com.dio.estoque_cerveja.controller;
 
 
 
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueDecrementadoDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaEstoqueIncrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CervejasLoteRequestDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.dto.EventoEstoqueDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementosEstoqueRequestDTO;
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
 import br.com.dio.estoque_cerveja.service.CervejaService;
+import br.com.dio.estoque_cerveja.service.EventosEstoque;
+import br.com.dio.estoque_cerveja.service.SnapshotCatalogo;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/cervejas")
@@ -27,9 +55,23 @@ import java.util.List;
 @Tag(name = "Cervejas", description = "Endpoints para gerenciamento de estoque de cervejas")
 public class CervejaController {
 
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
     @Autowired
     private CervejaService service;
 
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Autowired
+    private EventosEstoque eventosEstoque;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(summary = "Cadastrar uma nova cerveja")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Cerveja criada com sucesso",
@@ -42,22 +84,187 @@ public class CervejaController {
         return ResponseEntity.created(URI.create("/api/cervejas/" + novaCerveja.id())).body(novaCerveja);
     }
 
+    @Operation(summary = "Cadastrar várias cervejas em lote")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item vem no corpo"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no corpo da requisição")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<List<CriacaoLoteResultadoDTO>> criarEmLote(@Valid @RequestBody CervejasLoteRequestDTO dto) {
+        return ResponseEntity.ok(service.criarCervejasEmLote(dto.itens()));
+    }
+
     @Operation(summary = "Buscar cerveja pelo nome")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Cerveja encontrada",
                     content = @Content(schema = @Schema(implementation = CervejaResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde a ETag enviada em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Cerveja não encontrada")
     })
     @GetMapping("/nome/{nome}")
-    public ResponseEntity<CervejaResponseDTO> buscarPorNome(@PathVariable String nome) {
-        return ResponseEntity.ok(service.encontrarPorNome(nome));
+    public ResponseEntity<CervejaResponseDTO> buscarPorNome(@PathVariable String nome, WebRequest request) {
+        String etag = versaoCatalogo.etag();
+        if (request.checkNotModified(etag)) {
+            return naoModificado(etag);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(service.encontrarPorNome(nome));
     }
 
-    @Operation(summary = "Listar todas as cervejas")
-    @ApiResponse(responseCode = "200", description = "Lista de cervejas retornada com sucesso")
+    @Operation(summary = "Buscar cervejas por parte do nome",
+            description = "Autocomplete: primeiro os nomes que começam com 'q' (sem diferenciar acentos e " +
+                    "maiúsculas), depois os parecidos, tolerando erros de digitação. Responde a partir de um " +
+                    "índice em memória, sem consultar o banco.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sugestões ordenadas por relevância"),
+            @ApiResponse(responseCode = "400", description = "Termo vazio ou limite inválido")
+    })
+    @GetMapping("/busca")
+    public ResponseEntity<List<SugestaoNomeDTO>> buscar(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.buscarPorNome(q, limit));
+    }
+
+    @Operation(summary = "Totais de estoque por tipo de cerveja",
+            description = "Cervejas cadastradas, unidades, capacidade (soma dos máximos) e ocupação de cada tipo. " +
+                    "Vem de contadores mantidos a cada escrita: o custo não depende do tamanho do catálogo.")
+    @ApiResponse(responseCode = "200", description = "Um item por tipo de cerveja",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = AgregadoTipoDTO.class))))
+    @GetMapping("/agregados")
+    public ResponseEntity<List<AgregadoTipoDTO>> agregadosPorTipo() {
+        return ResponseEntity.ok(service.agregadosPorTipo());
+    }
+
+    @Operation(summary = "Conferir os totais por tipo contra o banco",
+            description = "Refaz o GROUP BY no banco e lista os tipos cujos contadores divergem. Com escritas em " +
+                    "andamento uma divergência pode ser momentânea.")
+    @ApiResponse(responseCode = "200", description = "Resultado da conciliação",
+            content = @Content(schema = @Schema(implementation = ConciliacaoAgregadosDTO.class)))
+    @GetMapping("/agregados/conciliacao")
+    public ResponseEntity<ConciliacaoAgregadosDTO> conciliarAgregados() {
+        return ResponseEntity.ok(service.conciliarAgregados());
+    }
+
+    @Operation(summary = "Cervejas mais perto de acabar",
+            description = "As 'top' cervejas com menor ocupação (quantidade / máximo) até o limiar informado " +
+                    "(ou o configurado em estoque.baixo-estoque.limiar-ocupacao). Vem de uma estrutura ordenada " +
+                    "mantida a cada escrita, sem ordenar o catálogo na consulta.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cervejas da menor para a maior ocupação"),
+            @ApiResponse(responseCode = "400", description = "top ou limiar fora do intervalo permitido")
+    })
+    @GetMapping("/baixo-estoque")
+    public ResponseEntity<List<EstoqueBaixoDTO>> listarEstoqueBaixo(
+            @RequestParam(defaultValue = "50") int top,
+            @RequestParam(required = false) Double limiar) {
+        return ResponseEntity.ok(service.listarEstoqueBaixo(top, limiar));
+    }
+
+    @Operation(summary = "Acompanhar as mudanças de estoque",
+            description = "Stream Server-Sent Events com um evento por cadastro, entrada, saída, confirmação de " +
+                    "reserva e exclusão. Filtra por 'id' e 'tipo' (aceitam vários valores). Uma reconexão com " +
+                    "Last-Event-ID recebe os eventos perdidos enquanto ainda estiverem no buffer; se já saíram, " +
+                    "chega um evento 'lacuna' e o catálogo deve ser relido.")
+    @ApiResponse(responseCode = "200", description = "Stream aberto",
+            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = EventoEstoqueDTO.class)))
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @RequestParam(required = false) Set<Long> id,
+            @RequestParam(required = false) Set<TipoCerveja> tipo,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return eventosEstoque.assinar(ultimoEventoId,
+                id == null ? Set.of() : id,
+                tipo == null ? Set.of() : tipo);
+    }
+
+    @Operation(summary = "Listar todas as cervejas",
+            description = "Devolve o catálogo completo a partir de um snapshot já serializado, em gzip quando o " +
+                    "cliente aceita (Accept-Encoding). Para paginar ou filtrar, use os parâmetros da listagem paginada.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lista de cervejas retornada com sucesso",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = CervejaResponseDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde a ETag enviada em If-None-Match")
+    })
+    @GetMapping(params = {"!limit", "!after", "!tipo", "!marca", "!quantidadeMin", "!quantidadeMax"})
+    public ResponseEntity<byte[]> listarTudo(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+
+        // A ETag é lida antes do snapshot, que nunca é mais antigo que ela: no pior caso o cliente revalida de novo.
+        // JSON cru e gzip são bytes diferentes, então cada um tem a sua ETag forte; as duas valem no If-None-Match
+        String etag = versaoCatalogo.etag();
+        String etagGzip = etagGzip(etag);
+        boolean gzip = aceitaGzip(acceptEncoding);
+        if (casaIfNoneMatch(request, etag, etagGzip)) {
+            return naoModificado(gzip ? etagGzip : etag);
+        }
+
+        SnapshotCatalogo.Snapshot snapshot = snapshotCatalogo.atual();
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return resposta.eTag(etagGzip).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return resposta.eTag(etag).body(snapshot.json());
+    }
+
+    @Operation(summary = "Listar cervejas paginadas e filtradas",
+            description = "Retorna uma página ordenada por id, a partir do cursor 'after'; o cursor da próxima " +
+                    "página vem no header " + HEADER_PROXIMO_CURSOR + ". Os filtros 'tipo', 'marca', " +
+                    "'quantidadeMin' e 'quantidadeMax' são opcionais e se combinam (E).")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de cervejas retornada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Limite, tipo ou faixa de quantidade inválidos"),
+            @ApiResponse(responseCode = "304", description = "Catálogo inalterado desde a ETag enviada em If-None-Match")
+    })
     @GetMapping
-    public ResponseEntity<List<CervejaResponseDTO>> listarTudo() {
-        return ResponseEntity.ok(service.listarTudo());
+    public ResponseEntity<List<CervejaResponseDTO>> listarPagina(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) TipoCerveja tipo,
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) Integer quantidadeMin,
+            @RequestParam(required = false) Integer quantidadeMax,
+            WebRequest request) {
+
+        // A ETag é lida antes da consulta: se uma escrita cruzar a leitura, o cliente só revalida de novo
+        String etag = versaoCatalogo.etag();
+        if (request.checkNotModified(etag)) {
+            return naoModificado(etag);
+        }
+
+        int limite = limit == null ? CervejaService.LIMITE_MAXIMO_PAGINA : limit;
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(tipo, marca, quantidadeMin, quantidadeMax);
+        CervejaPaginaDTO pagina = filtro.vazio()
+                ? service.listarPagina(after, limite)
+                : service.filtrar(filtro, after, limite);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+        if (pagina.proximoCursor() != null) {
+            resposta.header(HEADER_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.body(pagina.itens());
+    }
+
+    @Operation(summary = "Exportar o catálogo completo em NDJSON",
+            description = "Uma cerveja por linha, transmitida à medida que é lida do banco.")
+    @ApiResponse(responseCode = "200", description = "Catálogo transmitido com sucesso")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> service.exportarTudo(cerveja -> {
+            try {
+                saida.write(objectMapper.writeValueAsBytes(cerveja));
+                saida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
     }
 
     @Operation(summary = "Excluir cerveja pelo ID")
@@ -86,4 +293,93 @@ public class CervejaController {
         CervejaResponseDTO cervejaAtualizada = service.incrementarEstoque(id, cervejaEstoqueIncrementadoDTO.quantidade());
         return ResponseEntity.ok(cervejaAtualizada);
     }
+
+    @Operation(summary = "Decrementar estoque de cerveja")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estoque decrementado com sucesso",
+                    content = @Content(schema = @Schema(implementation = CervejaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Cerveja não encontrada"),
+            @ApiResponse(responseCode = "400", description = "Estoque insuficiente"),
+            @ApiResponse(responseCode = "409", description = "Conflito de concorrência persistiu após as tentativas")
+    })
+    @PatchMapping("/{id}/decrementar")
+    public ResponseEntity<CervejaResponseDTO> decrementarEstoque(
+            @PathVariable Long id,
+            @RequestBody @Valid CervejaEstoqueDecrementadoDTO cervejaEstoqueDecrementadoDTO) {
+
+        CervejaResponseDTO cervejaAtualizada = service.decrementarEstoque(id, cervejaEstoqueDecrementadoDTO.quantidade());
+        return ResponseEntity.ok(cervejaAtualizada);
+    }
+
+    @Operation(summary = "Incrementar estoque de várias cervejas em lote")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado; o resultado de cada item vem no corpo"),
+            @ApiResponse(responseCode = "400", description = "Erro de validação no corpo da requisição")
+    })
+    @PostMapping("/estoque/incrementos")
+    public ResponseEntity<List<IncrementoEstoqueResultadoDTO>> incrementarEstoqueEmLote(
+            @RequestBody @Valid IncrementosEstoqueRequestDTO incrementosEstoqueRequestDTO) {
+
+        return ResponseEntity.ok(service.incrementarEstoqueEmLote(incrementosEstoqueRequestDTO.itens()));
+    }
+
+    // Aceita gzip se ele (ou '*') aparece no Accept-Encoding sem q=0
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            String nome = partes[0].trim();
+            if (!nome.equalsIgnoreCase("gzip") && !nome.equals("*")) {
+                continue;
+            }
+            boolean recusada = false;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim().replace(" ", "");
+                if (parametro.startsWith("q=")) {
+                    recusada = parametro.substring(2).matches("0(\\.0{0,3})?");
+                }
+            }
+            if (!recusada) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "<instancia>-<versao>" vira "<instancia>-<versao>-gzip"
+    private static String etagGzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    // Comparação fraca, como a do checkNotModified, mas contra mais de uma ETag
+    private static boolean casaIfNoneMatch(WebRequest request, String... etags) {
+        String[] valores = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (valores == null) {
+            return false;
+        }
+        for (String valor : valores) {
+            for (String enviada : valor.split(",")) {
+                String candidata = enviada.trim();
+                if (candidata.equals("*")) {
+                    return true;
+                }
+                if (candidata.startsWith("W/")) {
+                    candidata = candidata.substring(2);
+                }
+                for (String etag : etags) {
+                    if (candidata.equals(etag)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Nem consulta nem serialização: o cliente já tem a versão atual do catálogo
+    private <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
 }
@@ -0,0 +1,75 @@
+package br.com.dio.estoque_cerveja.controller;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+import br.com.dio.estoque_cerveja.service.ReservaEstoqueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reservas")
+@Tag(name = "Reservas", description = "Reservas de estoque com prazo de validade para o checkout")
+public class ReservaController {
+
+    @Autowired
+    private ReservaEstoqueService service;
+
+    @Operation(summary = "Reservar unidades de uma cerveja",
+            description = "As unidades saem do disponível até a reserva ser confirmada, cancelada ou vencer.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Reserva criada com sucesso",
+                    content = @Content(schema = @Schema(implementation = ReservaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Cerveja não encontrada"),
+            @ApiResponse(responseCode = "400", description = "Estoque disponível insuficiente ou dados inválidos")
+    })
+    @PostMapping
+    public ResponseEntity<ReservaResponseDTO> reservar(@Valid @RequestBody ReservaRequestDTO dto) {
+        ReservaResponseDTO reserva = service.criarReserva(dto.cervejaId(), dto.quantidade(), dto.duracaoSegundos());
+        return ResponseEntity.created(URI.create("/api/reservas/" + reserva.id())).body(reserva);
+    }
+
+    @Operation(summary = "Consultar uma reserva aberta")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserva encontrada",
+                    content = @Content(schema = @Schema(implementation = ReservaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada ou já expirada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservaResponseDTO> buscar(@PathVariable UUID id) {
+        return ResponseEntity.ok(service.buscarReserva(id));
+    }
+
+    @Operation(summary = "Confirmar uma reserva", description = "Baixa do estoque as unidades reservadas.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reserva confirmada; retorna a cerveja atualizada",
+                    content = @Content(schema = @Schema(implementation = CervejaResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada ou já expirada")
+    })
+    @PostMapping("/{id}/confirmar")
+    public ResponseEntity<CervejaResponseDTO> confirmar(@PathVariable UUID id) {
+        return ResponseEntity.ok(service.confirmarReserva(id));
+    }
+
+    @Operation(summary = "Cancelar uma reserva", description = "Devolve as unidades reservadas ao disponível.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Reserva cancelada com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Reserva não encontrada ou já expirada")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelar(@PathVariable UUID id) {
+        service.cancelarReserva(id);
+        return ResponseEntity.noContent().build();
+    }
+}
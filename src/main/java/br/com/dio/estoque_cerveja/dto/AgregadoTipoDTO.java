@@ -0,0 +1,17 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+
+// Totais de um tipo de cerveja; ocupacao é unidades / capacidade (0 quando não há capacidade)
+public record AgregadoTipoDTO(
+        TipoCerveja tipo,
+        long cervejas,
+        long unidades,
+        long capacidade,
+        double ocupacao
+) {
+    public static AgregadoTipoDTO de(TipoCerveja tipo, long cervejas, long unidades, long capacidade) {
+        return new AgregadoTipoDTO(tipo, cervejas, unidades, capacidade,
+                capacidade == 0 ? 0.0 : (double) unidades / capacidade);
+    }
+}
@@ -7,5 +7,12 @@ public record CervejaResponseDTO(Long id,
                                  String marca,
                                  Integer maximo,
                                  Integer quantidade,
-                                 TipoCerveja tipo) {
+                                 TipoCerveja tipo,
+                                 Integer reservado,
+                                 Integer disponivel) {
+
+    // Cerveja sem reservas: tudo o que está em estoque está disponível
+    public CervejaResponseDTO(Long id, String nome, String marca, Integer maximo, Integer quantidade, TipoCerveja tipo) {
+        this(id, nome, marca, maximo, quantidade, tipo, 0, quantidade);
+    }
 }
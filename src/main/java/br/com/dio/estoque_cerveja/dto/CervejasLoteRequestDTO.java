@@ -0,0 +1,13 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CervejasLoteRequestDTO(
+        @NotEmpty(message = "A lista de cervejas não pode ser vazia")
+        @Size(max = 5000, message = "O lote pode ter no máximo 5000 cervejas")
+        List<@Valid CervejaRequestDTO> itens
+) {}
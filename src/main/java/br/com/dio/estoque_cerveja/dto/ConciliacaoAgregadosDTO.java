@@ -0,0 +1,8 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import java.util.List;
+
+public record ConciliacaoAgregadosDTO(
+        boolean consistente,
+        List<DivergenciaAgregadoDTO> divergencias
+) {}
@@ -0,0 +1,10 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+
+public record CriacaoLoteResultadoDTO(
+        String nome,
+        StatusCriacao status,
+        String mensagem,
+        CervejaResponseDTO cerveja
+) {}
@@ -0,0 +1,10 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+
+// Tipo cujos contadores em memória não batem com o GROUP BY no banco
+public record DivergenciaAgregadoDTO(
+        TipoCerveja tipo,
+        AgregadoTipoDTO contadores,
+        AgregadoTipoDTO banco
+) {}
@@ -0,0 +1,10 @@
+package br.com.dio.estoque_cerveja.dto;
+
+// Cerveja perto de acabar; ocupacao é quantidade / maximo
+public record EstoqueBaixoDTO(
+        Long id,
+        String nome,
+        int quantidade,
+        int maximo,
+        double ocupacao
+) {}
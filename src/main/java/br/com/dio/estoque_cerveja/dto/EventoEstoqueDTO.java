@@ -0,0 +1,20 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
+
+import java.time.Instant;
+
+// Evento do stream /api/cervejas/eventos; id é a sequência do evento nesta instância (o Last-Event-ID leva
+// também o prefixo da instância).
+// quantidade é o estoque depois da mudança e delta o quanto mudou (na exclusão, o que saiu com a cerveja)
+public record EventoEstoqueDTO(
+        long id,
+        TipoEventoEstoque evento,
+        Long cervejaId,
+        String nome,
+        TipoCerveja tipo,
+        int quantidade,
+        int delta,
+        Instant momento
+) {}
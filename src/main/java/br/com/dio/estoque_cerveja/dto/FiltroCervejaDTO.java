@@ -0,0 +1,16 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+
+// Filtros opcionais da listagem; campo nulo não restringe nada
+public record FiltroCervejaDTO(
+        TipoCerveja tipo,
+        String marca,
+        Integer quantidadeMin,
+        Integer quantidadeMax
+) {
+
+    public boolean vazio() {
+        return tipo == null && marca == null && quantidadeMin == null && quantidadeMax == null;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record IncrementoEstoqueItemDTO(
+        @NotNull(message = "O id da cerveja é obrigatório")
+        Long id,
+
+        @NotNull(message = "A quantidade é obrigatória")
+        @Positive(message = "A quantidade deve ser positiva")
+        Integer quantidade
+) {}
@@ -0,0 +1,11 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
+
+public record IncrementoEstoqueResultadoDTO(
+        Long id,
+        Integer quantidade,
+        StatusIncremento status,
+        String mensagem,
+        Integer quantidadeAtual
+) {}
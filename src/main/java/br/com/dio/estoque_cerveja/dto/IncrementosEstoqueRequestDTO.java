@@ -0,0 +1,11 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record IncrementosEstoqueRequestDTO(
+        @NotEmpty(message = "A lista de incrementos não pode ser vazia")
+        List<@Valid IncrementoEstoqueItemDTO> itens
+) {}
@@ -0,0 +1,17 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public record ReservaRequestDTO(
+        @NotNull(message = "O id da cerveja é obrigatório")
+        Long cervejaId,
+
+        @NotNull(message = "A quantidade é obrigatória")
+        @Positive(message = "A quantidade deve ser positiva")
+        Integer quantidade,
+
+        // Opcional: sem ele vale a duração padrão configurada
+        @Positive(message = "A duração deve ser positiva")
+        Integer duracaoSegundos
+) {}
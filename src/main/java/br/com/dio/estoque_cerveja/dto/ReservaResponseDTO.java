@@ -0,0 +1,10 @@
+package br.com.dio.estoque_cerveja.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReservaResponseDTO(UUID id,
+                                 Long cervejaId,
+                                 Integer quantidade,
+                                 Instant expiraEm) {
+}
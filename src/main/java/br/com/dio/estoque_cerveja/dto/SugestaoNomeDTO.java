@@ -0,0 +1,8 @@
+package br.com.dio.estoque_cerveja.dto;
+
+// Resultado da busca por nome; distancia 0 é um acerto de prefixo, acima disso é a quantidade de erros tolerados
+public record SugestaoNomeDTO(
+        Long id,
+        String nome,
+        int distancia
+) {}
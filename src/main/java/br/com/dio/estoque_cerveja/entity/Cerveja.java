@@ -8,14 +8,25 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "cervejas")
+// Índices dos filtros da listagem: marca (+ tipo + faixa de quantidade), tipo (+ faixa) e só a faixa
+@Table(name = "cervejas",
+        uniqueConstraints = @UniqueConstraint(name = Cerveja.UK_NOME, columnNames = "nome"),
+        indexes = {
+                @Index(name = "idx_cervejas_marca_tipo_quantidade", columnList = "marca, tipo, quantidade"),
+                @Index(name = "idx_cervejas_tipo_quantidade", columnList = "tipo, quantidade"),
+                @Index(name = "idx_cervejas_quantidade", columnList = "quantidade")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Cerveja {
+    public static final String UK_NOME = "uk_cervejas_nome";
+
+    // Sequência com alocação em blocos (pooled): ids saem da memória e o Hibernate pode agrupar os INSERTs em batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cervejas_seq")
+    @SequenceGenerator(name = "cervejas_seq", sequenceName = "cervejas_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -23,6 +34,15 @@ public class Cerveja {
     private Integer maximo;
     private Integer quantidade;
 
+    // Unidades presas em reservas ainda não confirmadas; o disponível é quantidade - reservado
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer reservado = 0;
+
     @Enumerated(EnumType.STRING)
     private TipoCerveja tipo;
+
+    // Controle de concorrência otimista: todo UPDATE de estoque incrementa a versão
+    @Version
+    private Long versao;
 }
@@ -0,0 +1,49 @@
+package br.com.dio.estoque_cerveja.entity;
+
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Livro-razão do estoque: só recebe INSERTs, uma linha por alteração de quantidade
+@Entity
+@Table(name = "movimentos_estoque",
+        indexes = @Index(name = "idx_movimentos_cerveja_id", columnList = "cerveja_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MovimentoEstoque {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimentos_estoque_seq")
+    @SequenceGenerator(name = "movimentos_estoque_seq", sequenceName = "movimentos_estoque_seq", allocationSize = 50)
+    private Long id;
+
+    // Só o id, sem relacionamento: o histórico sobrevive à exclusão da cerveja
+    @Column(name = "cerveja_id", nullable = false)
+    private Long cervejaId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MotivoMovimento motivo;
+
+    @Column(nullable = false)
+    private Instant registradoEm;
+
+    public static MovimentoEstoque de(Long cervejaId, int delta, MotivoMovimento motivo) {
+        return MovimentoEstoque.builder()
+                .cervejaId(cervejaId)
+                .delta(delta)
+                .motivo(motivo)
+                .registradoEm(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.dio.estoque_cerveja.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Quantidade de uma cerveja consolidada até ultimoMovimentoId; a reconstrução soma só os movimentos posteriores
+@Entity
+@Table(name = "snapshots_estoque")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SnapshotEstoque {
+
+    @Id
+    @Column(name = "cerveja_id")
+    private Long cervejaId;
+
+    @Column(nullable = false)
+    private Long quantidade;
+
+    @Column(nullable = false)
+    private Long ultimoMovimentoId;
+
+    @Column(nullable = false)
+    private Instant geradoEm;
+}
@@ -0,0 +1,16 @@
+package br.com.dio.estoque_cerveja.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum MotivoMovimento {
+    CADASTRO("Quantidade inicial no cadastro"),
+    INCREMENTO("Entrada de estoque"),
+    DECREMENTO("Saída de estoque"),
+    RESERVA_CONFIRMADA("Saída por confirmação de reserva"),
+    RECUPERACAO_JOURNAL("Ajuste recuperado do journal após reinício");
+
+    private final String description;
+}
@@ -0,0 +1,14 @@
+package br.com.dio.estoque_cerveja.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StatusCriacao {
+    CRIADA("Cerveja criada"),
+    JA_EXISTE("Já existe uma cerveja com esse nome"),
+    INVALIDA("Dados inválidos");
+
+    private final String description;
+}
@@ -0,0 +1,14 @@
+package br.com.dio.estoque_cerveja.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum StatusIncremento {
+    OK("Estoque incrementado"),
+    ESTOQUE_EXCEDIDO("Estoque máximo excedido"),
+    NAO_ENCONTRADA("Cerveja não encontrada");
+
+    private final String description;
+}
@@ -0,0 +1,16 @@
+package br.com.dio.estoque_cerveja.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum TipoEventoEstoque {
+    CADASTRO("Cerveja cadastrada"),
+    INCREMENTO("Entrada de estoque"),
+    DECREMENTO("Saída de estoque"),
+    RESERVA_CONFIRMADA("Saída por confirmação de reserva"),
+    EXCLUSAO("Cerveja excluída");
+
+    private final String description;
+}
@@ -1,7 +1,16 @@
 package br.com.dio.estoque_cerveja.exception;
 
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import org.springframework.dao.DataIntegrityViolationException;
+
 public class CervejaJaExisteException extends RuntimeException{
     public CervejaJaExisteException(String mensagem) {
         super(mensagem);
     }
+
+    // Indica se a violação veio do índice único de cervejas.nome
+    public static boolean causadaPorNomeDuplicado(DataIntegrityViolationException ex) {
+        String mensagem = ex.getMostSpecificCause().getMessage();
+        return mensagem != null && mensagem.toLowerCase().contains(Cerveja.UK_NOME);
+    }
 }
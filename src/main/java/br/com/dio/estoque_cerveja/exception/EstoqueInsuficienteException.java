@@ -0,0 +1,28 @@
+package br.com.dio.estoque_cerveja.exception;
+
+public class EstoqueInsuficienteException extends RuntimeException{
+
+    private final Long id;
+    private final Integer quantidade;
+
+    public EstoqueInsuficienteException(Long id, Integer quantidade) {
+        this(String.format("Não é possível decrementar %d unidades. Estoque insuficiente para a cerveja com id: %d", quantidade, id),
+                id, quantidade);
+    }
+
+    private EstoqueInsuficienteException(String mensagem, Long id, Integer quantidade) {
+        super(mensagem);
+        this.id = id;
+        this.quantidade = quantidade;
+    }
+
+    public static EstoqueInsuficienteException naReserva(Long id, Integer quantidade) {
+        return new EstoqueInsuficienteException(String.format(
+                "Não é possível reservar %d unidades. Estoque disponível insuficiente para a cerveja com id: %d", quantidade, id),
+                id, quantidade);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Integer getQuantidade() { return quantidade; }
+}
@@ -1,5 +1,7 @@
 package br.com.dio.estoque_cerveja.exception;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -31,6 +33,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ReservaNaoEncontradaException.class)
+    public ResponseEntity<ApiException> handleReservaNotFound(ReservaNaoEncontradaException ex, WebRequest request) {
+        ApiException error = new ApiException(
+                HttpStatus.NOT_FOUND.value(),
+                "Recurso não encontrado",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(CervejaJaExisteException.class)
     public ResponseEntity<ApiException> handleDuplicate(CervejaJaExisteException ex, WebRequest request) {
         ApiException error = new ApiException(
@@ -42,6 +55,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiException> handleDataIntegrity(DataIntegrityViolationException ex, WebRequest request) {
+        // Violações do índice único de nome que chegam aqui sem terem sido traduzidas pelo service
+        String mensagem = CervejaJaExisteException.causadaPorNomeDuplicado(ex)
+                ? "Já existe uma cerveja cadastrada com esse nome."
+                : "A operação viola uma restrição de integridade dos dados.";
+        return handleDuplicate(new CervejaJaExisteException(mensagem), request);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiException> handleValidation(IllegalArgumentException ex, WebRequest request) {
         ApiException error = new ApiException(
@@ -140,6 +162,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(EstoqueInsuficienteException.class)
+    public ResponseEntity<ApiException> handleEstoqueInsuficiente(EstoqueInsuficienteException ex, WebRequest request) {
+        ApiException error = new ApiException(
+                HttpStatus.BAD_REQUEST.value(),
+                "Erro de validação",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // Conflito de versão que persistiu depois de todas as tentativas do decremento
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiException> handleConflitoDeVersao(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        ApiException error = new ApiException(
+                HttpStatus.CONFLICT.value(),
+                "Conflito de dados",
+                "O estoque foi alterado por outra operação ao mesmo tempo. Tente novamente.",
+                request.getDescription(false).replace("uri=", "")
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
 
 
     @ExceptionHandler(Exception.class)
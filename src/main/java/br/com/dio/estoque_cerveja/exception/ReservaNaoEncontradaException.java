@@ -0,0 +1,9 @@
+package br.com.dio.estoque_cerveja.exception;
+
+import java.util.UUID;
+
+public class ReservaNaoEncontradaException extends RuntimeException{
+    public ReservaNaoEncontradaException(UUID id) {
+        super("Reserva não encontrada ou já expirada: " + id);
+    }
+}
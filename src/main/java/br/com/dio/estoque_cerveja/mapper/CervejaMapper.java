@@ -22,7 +22,16 @@ public class CervejaMapper {
                 entity.getMarca(),
                 entity.getMaximo(),
                 entity.getQuantidade(),
-                entity.getTipo()
+                entity.getTipo(),
+                entity.getReservado(),
+                disponivel(entity)
         );
     }
+
+    private static Integer disponivel(Cerveja entity) {
+        if (entity.getQuantidade() == null || entity.getReservado() == null) {
+            return entity.getQuantidade();
+        }
+        return entity.getQuantidade() - entity.getReservado();
+    }
 }
@@ -0,0 +1,20 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+
+// Linha devolvida por um UPDATE com FINAL TABLE: consulta nativa não monta o record direto (o tipo vem como texto)
+public interface CervejaAtualizada {
+    Long getId();
+    String getNome();
+    String getMarca();
+    Integer getMaximo();
+    Integer getQuantidade();
+    TipoCerveja getTipo();
+    Integer getReservado();
+
+    default CervejaResponseDTO toDTO() {
+        return new CervejaResponseDTO(getId(), getNome(), getMarca(), getMaximo(), getQuantidade(), getTipo(),
+                getReservado(), getQuantidade() - getReservado());
+    }
+}
@@ -1,12 +1,102 @@
 package br.com.dio.estoque_cerveja.repository;
 
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
 import br.com.dio.estoque_cerveja.entity.Cerveja;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CervejaRepository extends JpaRepository<Cerveja, Long> {
+public interface CervejaRepository extends JpaRepository<Cerveja, Long>, FiltroCervejaRepository {
+
+    // Leituras que montam o DTO direto do ResultSet: nada entra no contexto de persistência nem passa pelo mapper.
+    // A transação somente leitura fica aqui, e não no service, para um acerto no cache não abrir transação
+    String SELECT_DTO = "SELECT new br.com.dio.estoque_cerveja.dto.CervejaResponseDTO(" +
+            "c.id, c.nome, c.marca, c.maximo, c.quantidade, c.tipo, c.reservado, c.quantidade - c.reservado) " +
+            "FROM Cerveja c ";
+
     Optional<Cerveja> findByNome(String nome);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE c.nome = :nome")
+    Optional<CervejaResponseDTO> buscarDTOPorNome(@Param("nome") String nome);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "ORDER BY c.id")
+    List<CervejaResponseDTO> listarDTOs();
+
+    // Paginação por keyset: parte do último id visto em vez de usar OFFSET
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE c.id > :id ORDER BY c.id")
+    List<CervejaResponseDTO> listarDTOsAposId(@Param("id") Long id, Limit limit);
+
+    // Percorre o catálogo inteiro sem materializar a lista; precisa ser consumido dentro de uma transação
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + "ORDER BY c.id")
+    Stream<CervejaResponseDTO> streamDTOs();
+
+    @Query("SELECT c.id AS id, c.nome AS nome FROM Cerveja c")
+    List<NomeCerveja> listarNomes();
+
+    @Query("SELECT c.id AS id, c.nome AS nome, c.quantidade AS quantidade, c.maximo AS maximo FROM Cerveja c")
+    List<NivelEstoque> listarNiveisEstoque();
+
+    @Query("SELECT c.nome FROM Cerveja c WHERE c.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    // Soma e checagem do máximo na mesma instrução, e a linha já atualizada volta no mesmo round trip
+    // (FINAL TABLE do H2). Vazio se a cerveja não existe ou se o máximo seria excedido
+    default Optional<CervejaResponseDTO> incrementarEstoqueAteMaximo(Long id, Integer quantidade) {
+        return somarEstoqueAteMaximo(id, quantidade).map(CervejaAtualizada::toDTO);
+    }
+
+    @Query(nativeQuery = true, value = "SELECT id, nome, marca, maximo, quantidade, tipo, reservado " +
+            "FROM FINAL TABLE (UPDATE cervejas SET quantidade = quantidade + :quantidade, versao = versao + 1 " +
+            "WHERE id = :id AND quantidade + :quantidade <= maximo)")
+    Optional<CervejaAtualizada> somarEstoqueAteMaximo(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    // Reserva só o que está disponível (quantidade - reservado); retorna 0 se não houver saldo ou a cerveja não existir
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cerveja c SET c.reservado = c.reservado + :quantidade, c.versao = c.versao + 1 " +
+            "WHERE c.id = :id AND c.quantidade - c.reservado >= :quantidade")
+    int reservarEstoque(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    // Confirmação: as unidades reservadas saem do estoque de fato
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cerveja c SET c.quantidade = c.quantidade - :quantidade, c.reservado = c.reservado - :quantidade, " +
+            "c.versao = c.versao + 1 WHERE c.id = :id AND c.reservado >= :quantidade")
+    int confirmarReserva(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    // Cancelamento ou expiração: as unidades voltam a ficar disponíveis
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cerveja c SET c.reservado = c.reservado - :quantidade, c.versao = c.versao + 1 " +
+            "WHERE c.id = :id AND c.reservado >= :quantidade")
+    int liberarReserva(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    @Modifying
+    @Query("UPDATE Cerveja c SET c.reservado = 0 WHERE c.reservado <> 0")
+    int zerarReservas();
+
+    // Carrega e trava as linhas do lote numa única consulta; a ordem por id evita deadlock entre lotes concorrentes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cerveja c WHERE c.id IN :ids ORDER BY c.id")
+    List<Cerveja> findAllByIdParaAtualizacao(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.tipo AS tipo, COUNT(c) AS cervejas, SUM(c.quantidade) AS unidades, SUM(c.maximo) AS capacidade " +
+            "FROM Cerveja c GROUP BY c.tipo")
+    List<TotaisPorTipo> totalizarPorTipo();
 }
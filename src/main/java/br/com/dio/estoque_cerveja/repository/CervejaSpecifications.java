@@ -0,0 +1,38 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import org.springframework.data.jpa.domain.Specification;
+
+// Predicados da listagem filtrada; só os filtros informados entram no WHERE, sempre como igualdade ou faixa
+// sobre colunas indexadas (ver os índices em Cerveja)
+public final class CervejaSpecifications {
+
+    private CervejaSpecifications() {
+    }
+
+    public static Specification<Cerveja> comFiltro(FiltroCervejaDTO filtro) {
+        return Specification.allOf(
+                doTipo(filtro.tipo()),
+                daMarca(filtro.marca()),
+                comQuantidadeMinima(filtro.quantidadeMin()),
+                comQuantidadeMaxima(filtro.quantidadeMax()));
+    }
+
+    public static Specification<Cerveja> doTipo(TipoCerveja tipo) {
+        return (root, query, cb) -> tipo == null ? null : cb.equal(root.get("tipo"), tipo);
+    }
+
+    public static Specification<Cerveja> daMarca(String marca) {
+        return (root, query, cb) -> marca == null ? null : cb.equal(root.get("marca"), marca);
+    }
+
+    public static Specification<Cerveja> comQuantidadeMinima(Integer minimo) {
+        return (root, query, cb) -> minimo == null ? null : cb.greaterThanOrEqualTo(root.get("quantidade"), minimo);
+    }
+
+    public static Specification<Cerveja> comQuantidadeMaxima(Integer maximo) {
+        return (root, query, cb) -> maximo == null ? null : cb.lessThanOrEqualTo(root.get("quantidade"), maximo);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface FiltroCervejaRepository {
+
+    // Consulta dinâmica com projeção direto no DTO e paginação por keyset (id > aposId, ordenado por id)
+    List<CervejaResponseDTO> filtrarDTOs(Specification<Cerveja> filtro, Long aposId, int limite);
+}
@@ -0,0 +1,49 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Fragmento do CervejaRepository: o JpaSpecificationExecutor só devolve entidades, e aqui queremos o DTO
+// montado na consulta, como nas demais leituras do catálogo
+public class FiltroCervejaRepositoryImpl implements FiltroCervejaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CervejaResponseDTO> filtrarDTOs(Specification<Cerveja> filtro, Long aposId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CervejaResponseDTO> query = cb.createQuery(CervejaResponseDTO.class);
+        Root<Cerveja> cerveja = query.from(Cerveja.class);
+
+        query.select(cb.construct(CervejaResponseDTO.class,
+                cerveja.get("id"),
+                cerveja.get("nome"),
+                cerveja.get("marca"),
+                cerveja.get("maximo"),
+                cerveja.get("quantidade"),
+                cerveja.get("tipo"),
+                cerveja.get("reservado"),
+                cb.diff(cerveja.<Integer>get("quantidade"), cerveja.<Integer>get("reservado"))));
+
+        Predicate cursor = cb.greaterThan(cerveja.get("id"), aposId);
+        Predicate predicado = filtro.toPredicate(cerveja, query, cb);
+        query.where(predicado == null ? cursor : cb.and(predicado, cursor));
+        query.orderBy(cb.asc(cerveja.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MovimentoEstoqueRepository extends JpaRepository<MovimentoEstoque, Long> {
+
+    @Query("SELECT MAX(m.id) FROM MovimentoEstoque m")
+    Long findUltimoId();
+
+    // Faixa de ids pela chave primária, agrupada por cerveja: base da consolidação em snapshots
+    @Query("SELECT m.cervejaId AS cervejaId, SUM(m.delta) AS delta, MAX(m.id) AS ultimoMovimentoId " +
+            "FROM MovimentoEstoque m WHERE m.id > :desde AND m.id <= :ate GROUP BY m.cervejaId")
+    List<SomaMovimentos> somarPorCerveja(@Param("desde") Long desde, @Param("ate") Long ate);
+
+    // Usa o índice (cerveja_id, id): lê só os movimentos depois do snapshot
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM MovimentoEstoque m WHERE m.cervejaId = :cervejaId AND m.id > :desde")
+    Long somarDesde(@Param("cervejaId") Long cervejaId, @Param("desde") Long desde);
+}
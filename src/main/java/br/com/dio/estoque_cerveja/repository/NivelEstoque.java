@@ -0,0 +1,9 @@
+package br.com.dio.estoque_cerveja.repository;
+
+// Projeção mínima para montar a lista de estoque baixo
+public interface NivelEstoque {
+    Long getId();
+    String getNome();
+    Integer getQuantidade();
+    Integer getMaximo();
+}
@@ -0,0 +1,7 @@
+package br.com.dio.estoque_cerveja.repository;
+
+// Projeção mínima para montar o índice de busca por nome
+public interface NomeCerveja {
+    Long getId();
+    String getNome();
+}
@@ -0,0 +1,13 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.entity.SnapshotEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SnapshotEstoqueRepository extends JpaRepository<SnapshotEstoque, Long> {
+
+    @Query("SELECT MAX(s.ultimoMovimentoId) FROM SnapshotEstoque s")
+    Long findUltimoMovimentoConsolidado();
+}
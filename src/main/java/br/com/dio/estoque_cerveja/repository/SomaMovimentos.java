@@ -0,0 +1,7 @@
+package br.com.dio.estoque_cerveja.repository;
+
+public interface SomaMovimentos {
+    Long getCervejaId();
+    Long getDelta();
+    Long getUltimoMovimentoId();
+}
@@ -0,0 +1,11 @@
+package br.com.dio.estoque_cerveja.repository;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+
+// Projeção dos totais do catálogo agrupados por tipo: cervejas cadastradas, unidades e capacidade
+public interface TotaisPorTipo {
+    TipoCerveja getTipo();
+    Long getCervejas();
+    Long getUnidades();
+    Long getCapacidade();
+}
@@ -0,0 +1,138 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.dto.DivergenciaAgregadoDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.TotaisPorTipo;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Totais do catálogo por tipo de cerveja (cervejas, unidades e capacidade) mantidos em contadores:
+// um GROUP BY na subida e, depois, cada cadastro, exclusão e mudança de estoque soma seu delta.
+// Ler os agregados custa o mesmo com mil ou com um milhão de cervejas
+@Slf4j
+@Component
+public class AgregadosPorTipo {
+
+    @Autowired
+    private CervejaRepository repository;
+
+    private final Map<TipoCerveja, Totais> totais = new EnumMap<>(TipoCerveja.class);
+
+    // Diferenças vistas na última conciliação agendada, à espera de se repetirem para serem corrigidas
+    private Map<TipoCerveja, Diferenca> pendentes = new EnumMap<>(TipoCerveja.class);
+
+    // LongAdder em vez de AtomicLong: muitas escritas concorrentes no mesmo tipo e leituras raras
+    private static final class Totais {
+        final LongAdder cervejas = new LongAdder();
+        final LongAdder unidades = new LongAdder();
+        final LongAdder capacidade = new LongAdder();
+    }
+
+    private record Diferenca(long cervejas, long unidades, long capacidade) {
+        static Diferenca entre(AgregadoTipoDTO banco, AgregadoTipoDTO contadores) {
+            return new Diferenca(banco.cervejas() - contadores.cervejas(),
+                    banco.unidades() - contadores.unidades(),
+                    banco.capacidade() - contadores.capacidade());
+        }
+    }
+
+    public AgregadosPorTipo() {
+        for (TipoCerveja tipo : TipoCerveja.values()) {
+            totais.put(tipo, new Totais());
+        }
+    }
+
+    @PostConstruct
+    public void carregar() {
+        for (TotaisPorTipo linha : repository.totalizarPorTipo()) {
+            aplicar(linha.getTipo(), linha.getCervejas(), linha.getUnidades(), linha.getCapacidade());
+        }
+    }
+
+    // Dentro de transação, os contadores só mudam depois do commit: uma escrita desfeita não deixa rastro
+    public void registrarCerveja(TipoCerveja tipo, int unidades, int capacidade) {
+        Transacoes.aoConfirmar(() -> aplicar(tipo, 1, unidades, capacidade));
+    }
+
+    public void removerCerveja(TipoCerveja tipo, int unidades, int capacidade) {
+        Transacoes.aoConfirmar(() -> aplicar(tipo, -1, -unidades, -capacidade));
+    }
+
+    public void ajustarUnidades(TipoCerveja tipo, int delta) {
+        Transacoes.aoConfirmar(() -> aplicar(tipo, 0, delta, 0));
+    }
+
+    public List<AgregadoTipoDTO> listar() {
+        List<AgregadoTipoDTO> agregados = new ArrayList<>(totais.size());
+        totais.keySet().forEach(tipo -> agregados.add(agregado(tipo)));
+        return agregados;
+    }
+
+    public long unidades(TipoCerveja tipo) {
+        return totais.get(tipo).unidades.sum();
+    }
+
+    // Compara os contadores com o GROUP BY no banco. Com escritas em andamento (ou com o motor em memória,
+    // cujo banco fica até um flush atrás) uma diferença pode ser só momentânea
+    public ConciliacaoAgregadosDTO conciliar() {
+        Map<TipoCerveja, AgregadoTipoDTO> noBanco = new EnumMap<>(TipoCerveja.class);
+        for (TotaisPorTipo linha : repository.totalizarPorTipo()) {
+            noBanco.put(linha.getTipo(), AgregadoTipoDTO.de(linha.getTipo(),
+                    linha.getCervejas(), linha.getUnidades(), linha.getCapacidade()));
+        }
+
+        List<DivergenciaAgregadoDTO> divergencias = new ArrayList<>();
+        for (TipoCerveja tipo : totais.keySet()) {
+            AgregadoTipoDTO contadores = agregado(tipo);
+            AgregadoTipoDTO banco = noBanco.getOrDefault(tipo, AgregadoTipoDTO.de(tipo, 0, 0, 0));
+            if (contadores.cervejas() != banco.cervejas() || contadores.unidades() != banco.unidades()
+                    || contadores.capacidade() != banco.capacidade()) {
+                divergencias.add(new DivergenciaAgregadoDTO(tipo, contadores, banco));
+            }
+        }
+        return new ConciliacaoAgregadosDTO(divergencias.isEmpty(), divergencias);
+    }
+
+    // Só corrige a diferença que se repete igual em duas conciliações seguidas: uma escrita em andamento
+    // não fica parada entre as duas. A correção soma o delta, sem zerar o que chegou enquanto isso
+    @Scheduled(fixedDelayString = "${estoque.agregados.intervalo-conciliacao-ms:300000}",
+            initialDelayString = "${estoque.agregados.intervalo-conciliacao-ms:300000}")
+    public synchronized void conciliarECorrigir() {
+        Map<TipoCerveja, Diferenca> novasPendentes = new EnumMap<>(TipoCerveja.class);
+        for (DivergenciaAgregadoDTO divergencia : conciliar().divergencias()) {
+            Diferenca diferenca = Diferenca.entre(divergencia.banco(), divergencia.contadores());
+            if (!diferenca.equals(pendentes.get(divergencia.tipo()))) {
+                novasPendentes.put(divergencia.tipo(), diferenca);
+                continue;
+            }
+            log.warn("Agregados de {} divergiam do banco em duas conciliações seguidas; corrigindo: contadores={}, banco={}",
+                    divergencia.tipo(), divergencia.contadores(), divergencia.banco());
+            aplicar(divergencia.tipo(), diferenca.cervejas(), diferenca.unidades(), diferenca.capacidade());
+        }
+        pendentes = novasPendentes;
+    }
+
+    private AgregadoTipoDTO agregado(TipoCerveja tipo) {
+        Totais total = totais.get(tipo);
+        return AgregadoTipoDTO.de(tipo, total.cervejas.sum(), total.unidades.sum(), total.capacidade.sum());
+    }
+
+    private void aplicar(TipoCerveja tipo, long cervejas, long unidades, long capacidade) {
+        Totais total = totais.get(tipo);
+        total.cervejas.add(cervejas);
+        total.unidades.add(unidades);
+        total.capacidade.add(capacidade);
+    }
+}
@@ -1,85 +1,446 @@
 package br.com.dio.estoque_cerveja.service;
 
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
 import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
 import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
 import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
 import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
 import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
 import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.CervejaSpecifications;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Tempo e resultado (exceção ou none) de toda operação pública; histograma e percentis ficam em
+// management.metrics.distribution.* no application.properties
 @Service
+@Timed(CervejaService.METRICA_TEMPO)
+@Counted(CervejaService.METRICA_RESULTADO)
 public class CervejaService {
 
+    public static final int LIMITE_MAXIMO_PAGINA = 500;
+    public static final String CACHE_POR_NOME = "cervejasPorNome";
+    public static final String METRICA_TEMPO = "estoque.operacao";
+    public static final String METRICA_RESULTADO = "estoque.operacao.resultado";
+
     @Autowired
     private CervejaRepository repository;
 
+    @Autowired
+    private LivroEstoqueService livroEstoque;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private IndiceNomes indiceNomes;
+
+    @Autowired
+    private AgregadosPorTipo agregados;
+
+    @Autowired
+    private EstoqueBaixo estoqueBaixo;
+
+    @Autowired
+    private EventosEstoque eventos;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Presente só com estoque.motor=memoria; sem ele o estoque é atualizado direto no banco
+    @Autowired(required = false)
+    private EstoqueEmMemoria estoqueEmMemoria;
+
+    @Transactional
+    @CachePut(cacheNames = CACHE_POR_NOME, key = "#result.nome()")
     public CervejaResponseDTO criarCerveja(CervejaRequestDTO dto) {
-        // VALIDAÇÃO 1: Quantidade não pode ser negativa (DEVE VIR PRIMEIRO)
-        if (dto.quantidade() < 0) {
-            throw new IllegalArgumentException("A quantidade não pode ser negativa!");
+        validarQuantidades(dto);
+
+        // SÓ AQUI conversão e salvamento
+        Cerveja cerveja = CervejaMapper.toEntity(dto);
+        try {
+            // Flush aqui para a violação do índice único cair neste catch, e não no commit
+            Cerveja salva = repository.saveAndFlush(cerveja);
+            livroEstoque.registrar(salva.getId(), dto.quantidade(), MotivoMovimento.CADASTRO);
+            if (estoqueEmMemoria != null) {
+                estoqueEmMemoria.registrar(salva);
+            }
+            indiceNomes.adicionar(salva.getId(), salva.getNome());
+            agregados.registrarCerveja(dto.tipo(), dto.quantidade(), dto.maximo());
+            estoqueBaixo.registrar(salva.getId(), dto.nome(), dto.quantidade(), dto.maximo());
+            eventos.publicar(TipoEventoEstoque.CADASTRO, salva.getId(), dto.nome(), dto.tipo(),
+                    dto.quantidade(), dto.quantidade());
+            versaoCatalogo.avancar();
+            return CervejaMapper.toDTO(salva);
+        } catch (DataIntegrityViolationException e) {
+            // VALIDAÇÃO 3: nome duplicado é barrado pelo índice único, sem consulta prévia
+            if (CervejaJaExisteException.causadaPorNomeDuplicado(e)) {
+                throw new CervejaJaExisteException("Já existe uma cerveja cadastrada com o nome: " + dto.nome());
+            }
+            throw e;
         }
+    }
 
-        // VALIDAÇÃO 2: Quantidade não pode exceder o máximo
-        if (dto.quantidade() > dto.maximo()) {
-            throw new IllegalArgumentException("A quantidade inicial não pode exceder o máximo permitido!");
+    @Transactional
+    public List<CriacaoLoteResultadoDTO> criarCervejasEmLote(List<CervejaRequestDTO> dtos) {
+        // Uma única consulta IN para saber quais nomes do lote já estão cadastrados
+        Set<String> nomesExistentes = new HashSet<>(repository.findNomesExistentes(
+                dtos.stream().map(CervejaRequestDTO::nome).collect(Collectors.toSet())));
+        Set<String> nomesNoLote = new HashSet<>();
+
+        CriacaoLoteResultadoDTO[] resultados = new CriacaoLoteResultadoDTO[dtos.size()];
+        List<Cerveja> novas = new ArrayList<>();
+        List<Integer> posicoesNovas = new ArrayList<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            CervejaRequestDTO dto = dtos.get(i);
+            try {
+                validarQuantidades(dto);
+            } catch (IllegalArgumentException e) {
+                resultados[i] = new CriacaoLoteResultadoDTO(dto.nome(), StatusCriacao.INVALIDA, e.getMessage(), null);
+                continue;
+            }
+            if (nomesExistentes.contains(dto.nome()) || !nomesNoLote.add(dto.nome())) {
+                resultados[i] = new CriacaoLoteResultadoDTO(dto.nome(), StatusCriacao.JA_EXISTE,
+                        "Já existe uma cerveja cadastrada com o nome: " + dto.nome(), null);
+                continue;
+            }
+            novas.add(CervejaMapper.toEntity(dto));
+            posicoesNovas.add(i);
         }
 
-        // VALIDAÇÃO 3: Verifica se já existe (SÓ DEPOIS das validações básicas)
-        repository.findByNome(dto.nome()).ifPresent(c -> {
-            throw new CervejaJaExisteException("Já existe uma cerveja cadastrada com o nome: " + dto.nome());
-        });
+        // Os ids vêm do bloco da sequência; os INSERTs saem em batch no flush do commit
+        List<Cerveja> salvas = repository.saveAll(novas);
+        livroEstoque.registrarTodos(salvas.stream()
+                .map(salva -> MovimentoEstoque.de(salva.getId(), salva.getQuantidade(), MotivoMovimento.CADASTRO))
+                .filter(movimento -> movimento.getDelta() != 0)
+                .toList());
+        for (int j = 0; j < salvas.size(); j++) {
+            Cerveja salva = salvas.get(j);
+            if (estoqueEmMemoria != null) {
+                estoqueEmMemoria.registrar(salva);
+            }
+            indiceNomes.adicionar(salva.getId(), salva.getNome());
+            agregados.registrarCerveja(salva.getTipo(), salva.getQuantidade(), salva.getMaximo());
+            estoqueBaixo.registrar(salva.getId(), salva.getNome(), salva.getQuantidade(), salva.getMaximo());
+            eventos.publicar(TipoEventoEstoque.CADASTRO, salva.getId(), salva.getNome(), salva.getTipo(),
+                    salva.getQuantidade(), salva.getQuantidade());
+            resultados[posicoesNovas.get(j)] = new CriacaoLoteResultadoDTO(salva.getNome(), StatusCriacao.CRIADA,
+                    null, CervejaMapper.toDTO(salva));
+        }
+        if (!salvas.isEmpty()) {
+            versaoCatalogo.avancar();
+        }
 
-        // SÓ AQUI conversão e salvamento
-        Cerveja cerveja = CervejaMapper.toEntity(dto);
-        Cerveja salva = repository.save(cerveja);
-        return CervejaMapper.toDTO(salva);
+        return Arrays.asList(resultados);
     }
 
+    @Cacheable(cacheNames = CACHE_POR_NOME, key = "#nome")
     public CervejaResponseDTO encontrarPorNome(String nome) {
-        Cerveja cerveja = repository.findByNome(nome)
+        CervejaResponseDTO cerveja = repository.buscarDTOPorNome(nome)
                 .orElseThrow(() -> new CervejaNaoEncontradaException("Cerveja não encontrada com o nome: " + nome));
-        return CervejaMapper.toDTO(cerveja);
+        return comEstoqueAtual(cerveja);
     }
 
     public List<CervejaResponseDTO> listarTudo() {
-        return repository.findAll()
-                .stream()
-                .map(CervejaMapper::toDTO)
-                .toList();
+        List<CervejaResponseDTO> cervejas = repository.listarDTOs();
+        return estoqueEmMemoria == null ? cervejas : cervejas.stream().map(this::comEstoqueAtual).toList();
     }
 
-    public void deletarPorId(Long id) {
-        if (!repository.existsById(id)) {
-            throw new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id);
+    public CervejaPaginaDTO listarPagina(Long apos, int limite) {
+        validarLimite(limite);
+
+        // Busca um item a mais só para saber se existe próxima página
+        List<CervejaResponseDTO> cervejas = repository.listarDTOsAposId(
+                apos == null ? 0L : apos, Limit.of(limite + 1));
+        return paginar(cervejas, limite);
+    }
+
+    // Com o motor em memória os filtros de quantidade valem sobre o banco, que pode estar até um flush atrás
+    public CervejaPaginaDTO filtrar(FiltroCervejaDTO filtro, Long apos, int limite) {
+        validarLimite(limite);
+        if (filtro.quantidadeMin() != null && filtro.quantidadeMax() != null
+                && filtro.quantidadeMin() > filtro.quantidadeMax()) {
+            throw new IllegalArgumentException("quantidadeMin não pode ser maior que quantidadeMax");
+        }
+
+        List<CervejaResponseDTO> cervejas = repository.filtrarDTOs(
+                CervejaSpecifications.comFiltro(filtro), apos == null ? 0L : apos, limite + 1);
+        return paginar(cervejas, limite);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarTudo(Consumer<CervejaResponseDTO> consumidor) {
+        // O stream já entrega DTOs: não há entidade gerenciada acumulando no contexto de persistência
+        try (Stream<CervejaResponseDTO> cervejas = repository.streamDTOs()) {
+            cervejas.map(this::comEstoqueAtual).forEach(consumidor);
         }
-        repository.deleteById(id);
     }
 
+    public List<SugestaoNomeDTO> buscarPorNome(String termo, int limite) {
+        return indiceNomes.buscar(termo, limite);
+    }
+
+    public List<AgregadoTipoDTO> agregadosPorTipo() {
+        return agregados.listar();
+    }
+
+    public ConciliacaoAgregadosDTO conciliarAgregados() {
+        return agregados.conciliar();
+    }
+
+    public List<EstoqueBaixoDTO> listarEstoqueBaixo(int top, Double limiar) {
+        return estoqueBaixo.listar(top, limiar);
+    }
+
+    // Só temos o id aqui; como exclusões são raras, limpar o cache sai mais barato que buscar o nome.
+    // A entidade é carregada (o deleteById faria o mesmo SELECT) para os agregados saberem tipo, unidades e máximo
+    @Transactional
+    @CacheEvict(cacheNames = CACHE_POR_NOME, allEntries = true)
+    public void deletarPorId(Long id) {
+        Cerveja cerveja = repository.findById(id)
+                .orElseThrow(() -> new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id));
+        int unidades = comEstoqueAtual(CervejaMapper.toDTO(cerveja)).quantidade();
+        repository.delete(cerveja);
+        agregados.removerCerveja(cerveja.getTipo(), unidades, cerveja.getMaximo());
+        estoqueBaixo.remover(id);
+        eventos.publicar(TipoEventoEstoque.EXCLUSAO, id, cerveja.getNome(), cerveja.getTipo(), 0, -unidades);
+        if (estoqueEmMemoria != null) {
+            estoqueEmMemoria.remover(id);
+        }
+        indiceNomes.remover(id);
+        versaoCatalogo.avancar();
+    }
 
+    // Sem @Transactional: o motor em memória não toca no banco e não deve pegar conexão do pool. Só o caminho
+    // do banco abre transação, pelo TransactionTemplate; o @CachePut continua rodando depois do commit
+    @CachePut(cacheNames = CACHE_POR_NOME, key = "#result.nome()")
     public CervejaResponseDTO incrementarEstoque(Long id, Integer quantidadeParaIncrementar) {
-        // Busca a cerveja
         if (quantidadeParaIncrementar <= 0) {
             throw new IllegalArgumentException("Quantidade deve ser maior que zero");
         }
+
+        if (estoqueEmMemoria != null) {
+            CervejaResponseDTO cerveja = estoqueEmMemoria.incrementar(id, quantidadeParaIncrementar);
+            registrarMudancaEstoque(TipoEventoEstoque.INCREMENTO, cerveja, quantidadeParaIncrementar);
+            versaoCatalogo.avancar();
+            return cerveja;
+        }
+
+        return transactionTemplate.execute(status -> incrementarNoBanco(id, quantidadeParaIncrementar));
+    }
+
+    private CervejaResponseDTO incrementarNoBanco(Long id, Integer quantidadeParaIncrementar) {
+        // Incrementa só se não exceder o máximo, de forma atômica no banco, e já traz a linha atualizada
+        CervejaResponseDTO cerveja = repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)
+                .orElseThrow(() -> {
+                    // Nenhuma linha alterada: ou a cerveja não existe ou o máximo seria excedido
+                    if (!repository.existsById(id)) {
+                        return new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id);
+                    }
+                    return new EstoqueExcedidoException(id, quantidadeParaIncrementar);
+                });
+        livroEstoque.registrar(id, quantidadeParaIncrementar, MotivoMovimento.INCREMENTO);
+        versaoCatalogo.avancar();
+        registrarMudancaEstoque(TipoEventoEstoque.INCREMENTO, cerveja, quantidadeParaIncrementar);
+        return cerveja;
+    }
+
+    // Sem lock pessimista: lê com a versão atual e grava com UPDATE ... WHERE versao = ?.
+    // Em conflito, tenta de novo com backoff exponencial aleatório, até o limite configurado
+    @Retryable(retryFor = ObjectOptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${estoque.decremento.max-tentativas:5}",
+            backoff = @Backoff(delayExpression = "${estoque.decremento.backoff-inicial-ms:5}",
+                    maxDelayExpression = "${estoque.decremento.backoff-maximo-ms:100}",
+                    multiplier = 2, random = true),
+            listeners = "retentativasDecremento")
+    @CachePut(cacheNames = CACHE_POR_NOME, key = "#result.nome()")
+    public CervejaResponseDTO decrementarEstoque(Long id, Integer quantidadeParaDecrementar) {
+        if (quantidadeParaDecrementar <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+
+        if (estoqueEmMemoria != null) {
+            CervejaResponseDTO cerveja = estoqueEmMemoria.decrementar(id, quantidadeParaDecrementar);
+            registrarMudancaEstoque(TipoEventoEstoque.DECREMENTO, cerveja, -quantidadeParaDecrementar);
+            versaoCatalogo.avancar();
+            return cerveja;
+        }
+
+        // Cada tentativa do @Retryable é uma transação nova: o conflito de versão aparece no commit
+        return transactionTemplate.execute(status -> decrementarNoBanco(id, quantidadeParaDecrementar));
+    }
+
+    private CervejaResponseDTO decrementarNoBanco(Long id, Integer quantidadeParaDecrementar) {
         Cerveja cerveja = repository.findById(id)
                 .orElseThrow(() -> new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id));
 
-        // Calcula a quantidade após incremento
-        int quantidadeAposIncremento = cerveja.getQuantidade() + quantidadeParaIncrementar;
+        // O estoque nunca fica negativo nem abaixo do que está reservado
+        int quantidadeAposDecremento = cerveja.getQuantidade() - quantidadeParaDecrementar;
+        if (quantidadeAposDecremento < cerveja.getReservado()) {
+            throw new EstoqueInsuficienteException(id, quantidadeParaDecrementar);
+        }
+
+        cerveja.setQuantidade(quantidadeAposDecremento);
+        Cerveja salva = repository.save(cerveja);
+        livroEstoque.registrar(id, -quantidadeParaDecrementar, MotivoMovimento.DECREMENTO);
+        CervejaResponseDTO resultado = CervejaMapper.toDTO(salva);
+        registrarMudancaEstoque(TipoEventoEstoque.DECREMENTO, resultado, -quantidadeParaDecrementar);
+        versaoCatalogo.avancar();
+        return resultado;
+    }
+
+    @CacheEvict(cacheNames = CACHE_POR_NOME, allEntries = true)
+    public List<IncrementoEstoqueResultadoDTO> incrementarEstoqueEmLote(List<IncrementoEstoqueItemDTO> itens) {
+        if (estoqueEmMemoria != null) {
+            // Sem transação a versão avança na hora: só depois dos incrementos, como nos outros caminhos
+            List<IncrementoEstoqueResultadoDTO> resultados = itens.stream()
+                    .map(this::aplicarIncrementoEmMemoria)
+                    .toList();
+            versaoCatalogo.avancar();
+            return resultados;
+        }
+
+        return transactionTemplate.execute(status -> incrementarNoBancoEmLote(itens));
+    }
+
+    private List<IncrementoEstoqueResultadoDTO> incrementarNoBancoEmLote(List<IncrementoEstoqueItemDTO> itens) {
+        versaoCatalogo.avancar();
+        Set<Long> ids = itens.stream()
+                .map(IncrementoEstoqueItemDTO::id)
+                .collect(Collectors.toSet());
+
+        // Uma única consulta para todas as cervejas do lote
+        Map<Long, Cerveja> cervejas = repository.findAllByIdParaAtualizacao(ids)
+                .stream()
+                .collect(Collectors.toMap(Cerveja::getId, Function.identity()));
+
+        List<IncrementoEstoqueResultadoDTO> resultados = new ArrayList<>(itens.size());
+        List<MovimentoEstoque> movimentos = new ArrayList<>(itens.size());
+        for (IncrementoEstoqueItemDTO item : itens) {
+            IncrementoEstoqueResultadoDTO resultado = aplicarIncremento(cervejas.get(item.id()), item);
+            if (resultado.status() == StatusIncremento.OK) {
+                movimentos.add(MovimentoEstoque.de(item.id(), item.quantidade(), MotivoMovimento.INCREMENTO));
+            }
+            resultados.add(resultado);
+        }
+        livroEstoque.registrarTodos(movimentos);
+
+        // As entidades alteradas são gravadas no commit, em UPDATEs agrupados pelo batch do JDBC
+        return resultados;
+    }
+
+    private IncrementoEstoqueResultadoDTO aplicarIncremento(Cerveja cerveja, IncrementoEstoqueItemDTO item) {
+        if (cerveja == null) {
+            return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.NAO_ENCONTRADA,
+                    "Cerveja não encontrada com id: " + item.id(), null);
+        }
+
+        // Mesma regra de incrementarEstoque: o resultado não pode passar do máximo
+        int quantidadeAposIncremento = cerveja.getQuantidade() + item.quantidade();
+        if (quantidadeAposIncremento > cerveja.getMaximo()) {
+            return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.ESTOQUE_EXCEDIDO,
+                    new EstoqueExcedidoException(item.id(), item.quantidade()).getMessage(), cerveja.getQuantidade());
+        }
+
+        cerveja.setQuantidade(quantidadeAposIncremento);
+        registrarMudancaEstoque(TipoEventoEstoque.INCREMENTO, CervejaMapper.toDTO(cerveja), item.quantidade());
+        return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.OK,
+                null, quantidadeAposIncremento);
+    }
+
+    private IncrementoEstoqueResultadoDTO aplicarIncrementoEmMemoria(IncrementoEstoqueItemDTO item) {
+        try {
+            CervejaResponseDTO cerveja = estoqueEmMemoria.incrementar(item.id(), item.quantidade());
+            registrarMudancaEstoque(TipoEventoEstoque.INCREMENTO, cerveja, item.quantidade());
+            return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.OK,
+                    null, cerveja.quantidade());
+        } catch (CervejaNaoEncontradaException e) {
+            return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.NAO_ENCONTRADA,
+                    e.getMessage(), null);
+        } catch (EstoqueExcedidoException e) {
+            return new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.ESTOQUE_EXCEDIDO,
+                    e.getMessage(), null);
+        }
+    }
+
+    private void validarQuantidades(CervejaRequestDTO dto) {
+        // VALIDAÇÃO 1: Quantidade não pode ser negativa (DEVE VIR PRIMEIRO)
+        if (dto.quantidade() < 0) {
+            throw new IllegalArgumentException("A quantidade não pode ser negativa!");
+        }
+
+        // VALIDAÇÃO 2: Quantidade não pode exceder o máximo
+        if (dto.quantidade() > dto.maximo()) {
+            throw new IllegalArgumentException("A quantidade inicial não pode exceder o máximo permitido!");
+        }
+    }
 
-        // Verifica se não excede o máximo
-        if (quantidadeAposIncremento <= cerveja.getMaximo()) {
-            cerveja.setQuantidade(quantidadeAposIncremento);
-            Cerveja cervejaAtualizada = repository.save(cerveja);
-            return CervejaMapper.toDTO(cervejaAtualizada);
+    // Estruturas e assinantes avisados a cada mudança de estoque; todos só veem o delta depois do commit
+    private void registrarMudancaEstoque(TipoEventoEstoque evento, CervejaResponseDTO cerveja, int delta) {
+        agregados.ajustarUnidades(cerveja.tipo(), delta);
+        estoqueBaixo.ajustarQuantidade(cerveja.id(), delta);
+        eventos.publicar(evento, cerveja.id(), cerveja.nome(), cerveja.tipo(), cerveja.quantidade(), delta);
+    }
+
+    private void validarLimite(int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA);
         }
+    }
+
+    private CervejaPaginaDTO paginar(List<CervejaResponseDTO> cervejas, int limite) {
+        boolean temProxima = cervejas.size() > limite;
+        List<CervejaResponseDTO> itens = cervejas.stream()
+                .limit(limite)
+                .map(this::comEstoqueAtual)
+                .toList();
+        Long proximoCursor = temProxima ? itens.get(itens.size() - 1).id() : null;
+
+        return new CervejaPaginaDTO(itens, proximoCursor);
+    }
 
-        throw new EstoqueExcedidoException(id, quantidadeParaIncrementar);
+    // Com o motor em memória, a quantidade atual está nos contadores e não no banco
+    private CervejaResponseDTO comEstoqueAtual(CervejaResponseDTO dto) {
+        return estoqueEmMemoria == null ? dto : estoqueEmMemoria.comQuantidadeAtual(dto);
     }
 }
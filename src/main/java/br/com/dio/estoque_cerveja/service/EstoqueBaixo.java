@@ -0,0 +1,104 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Cervejas em ordem de ocupação (quantidade / maximo), mantidas a cada escrita: cadastro, exclusão e mudança
+// de estoque custam O(log n), e as N mais perto de acabar são as N primeiras, sem ordenar o catálogo
+@Component
+public class EstoqueBaixo {
+
+    public static final int TOP_MAXIMO = 500;
+
+    // Produto cruzado em vez de divisão: 1/3 e 2/6 empatam de verdade, e o id desempata
+    private static final Comparator<Nivel> POR_OCUPACAO = (a, b) -> {
+        int porOcupacao = Long.compare((long) a.quantidade() * b.maximo(), (long) b.quantidade() * a.maximo());
+        return porOcupacao != 0 ? porOcupacao : Long.compare(a.id(), b.id());
+    };
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Value("${estoque.baixo-estoque.limiar-ocupacao:0.2}")
+    private double limiarPadrao;
+
+    private final ConcurrentSkipListSet<Nivel> porOcupacao = new ConcurrentSkipListSet<>(POR_OCUPACAO);
+    private final Map<Long, Nivel> porId = new ConcurrentHashMap<>();
+
+    private record Nivel(Long id, String nome, int quantidade, int maximo) {
+        double ocupacao() {
+            return (double) quantidade / maximo;
+        }
+    }
+
+    @PostConstruct
+    public void carregar() {
+        repository.listarNiveisEstoque().forEach(nivel -> colocar(
+                new Nivel(nivel.getId(), nivel.getNome(), nivel.getQuantidade(), nivel.getMaximo())));
+    }
+
+    public void registrar(Long id, String nome, int quantidade, int maximo) {
+        Transacoes.aoConfirmar(() -> colocar(new Nivel(id, nome, quantidade, maximo)));
+    }
+
+    public void remover(Long id) {
+        Transacoes.aoConfirmar(() -> porId.computeIfPresent(id, (chave, atual) -> {
+            porOcupacao.remove(atual);
+            return null;
+        }));
+    }
+
+    // Recebe o delta, e não a quantidade final: commits concorrentes da mesma cerveja podem chegar fora de ordem
+    public void ajustarQuantidade(Long id, int delta) {
+        Transacoes.aoConfirmar(() -> porId.computeIfPresent(id, (chave, atual) -> reposicionar(atual,
+                new Nivel(id, atual.nome(), atual.quantidade() + delta, atual.maximo()))));
+    }
+
+    public List<EstoqueBaixoDTO> listar(int top, Double limiar) {
+        if (top <= 0 || top > TOP_MAXIMO) {
+            throw new IllegalArgumentException("O top deve estar entre 1 e " + TOP_MAXIMO);
+        }
+        double limiarOcupacao = limiar == null ? limiarPadrao : limiar;
+        if (limiarOcupacao < 0 || limiarOcupacao > 1) {
+            throw new IllegalArgumentException("O limiar de ocupação deve estar entre 0 e 1");
+        }
+
+        List<EstoqueBaixoDTO> resultado = new ArrayList<>(Math.min(top, porId.size()));
+        for (Nivel nivel : porOcupacao) {
+            if (resultado.size() == top || nivel.ocupacao() > limiarOcupacao) {
+                break;
+            }
+            resultado.add(new EstoqueBaixoDTO(nivel.id(), nivel.nome(), nivel.quantidade(), nivel.maximo(),
+                    nivel.ocupacao()));
+        }
+        return resultado;
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    private void colocar(Nivel novo) {
+        porId.compute(novo.id(), (chave, atual) -> reposicionar(atual, novo));
+    }
+
+    // Roda dentro do compute do mapa, então duas mudanças da mesma cerveja nunca se cruzam no conjunto ordenado
+    private Nivel reposicionar(Nivel atual, Nivel novo) {
+        if (atual != null) {
+            porOcupacao.remove(atual);
+        }
+        porOcupacao.add(novo);
+        return novo;
+    }
+}
@@ -0,0 +1,300 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Motor de estoque em memória (estoque.motor=memoria): contadores atômicos por id, máximo garantido com CAS
+// e gravação periódica no banco, em lote, só das cervejas alteradas desde o último flush
+@Component
+@ConditionalOnProperty(name = "estoque.motor", havingValue = "memoria")
+public class EstoqueEmMemoria {
+
+    static final String SQL_ATUALIZAR_QUANTIDADE = "UPDATE cervejas SET quantidade = ?, versao = versao + 1 WHERE id = ?";
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LivroEstoqueService livroEstoque;
+
+    // Presente com estoque.journal.habilitado=true: a resposta só sai depois do registro no disco
+    @Autowired(required = false)
+    private JournalEstoque journal;
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+    private final Set<Long> alterados = ConcurrentHashMap.newKeySet();
+    // Movimentos do livro-razão aguardando o próximo flush, na ordem em que foram aceitos
+    private final Queue<MovimentoEstoque> movimentosPendentes = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    public void carregar() {
+        repository.findAll().forEach(this::registrar);
+        if (journal != null) {
+            recuperarDoJournal();
+        }
+    }
+
+    public void registrar(Cerveja cerveja) {
+        contadores.put(cerveja.getId(), new Contador(CervejaMapper.toDTO(cerveja)));
+    }
+
+    public void remover(Long id) {
+        contadores.remove(id);
+        alterados.remove(id);
+    }
+
+    public CervejaResponseDTO incrementar(Long id, int quantidadeParaIncrementar) {
+        Contador contador = buscarContador(id);
+        if (journal == null) {
+            int novo = somarAteMaximo(contador, id, quantidadeParaIncrementar);
+            return aceitar(id, contador, quantidadeParaIncrementar, novo, MotivoMovimento.INCREMENTO);
+        }
+
+        // Com journal o incremento também trava o contador: a ordem dos registros de uma cerveja no arquivo
+        // tem que ser a ordem das alterações, senão a recuperação pegaria uma quantidade antiga
+        CervejaResponseDTO resultado;
+        long sequencia;
+        contador.trava.lock();
+        try {
+            int novo = somarAteMaximo(contador, id, quantidadeParaIncrementar);
+            resultado = aceitar(id, contador, quantidadeParaIncrementar, novo, MotivoMovimento.INCREMENTO);
+            sequencia = journal.anexar(id, quantidadeParaIncrementar, novo);
+        } finally {
+            contador.trava.unlock();
+        }
+        journal.aguardarGravacao(sequencia);
+        return resultado;
+    }
+
+    // Decrementos e reservas travam o contador: os dois olham quantidade e reservado juntos.
+    // Incrementos continuam só no CAS, porque aumentar a quantidade nunca invalida uma reserva
+    public CervejaResponseDTO decrementar(Long id, int quantidadeParaDecrementar) {
+        Contador contador = buscarContador(id);
+
+        CervejaResponseDTO resultado;
+        long sequencia;
+        contador.trava.lock();
+        try {
+            int atual;
+            int novo;
+            do {
+                atual = contador.quantidade.get();
+                novo = atual - quantidadeParaDecrementar;
+                if (novo < contador.reservado) {
+                    throw new EstoqueInsuficienteException(id, quantidadeParaDecrementar);
+                }
+            } while (!contador.quantidade.compareAndSet(atual, novo));
+
+            resultado = aceitar(id, contador, -quantidadeParaDecrementar, novo, MotivoMovimento.DECREMENTO);
+            sequencia = anexarAoJournal(id, -quantidadeParaDecrementar, novo);
+        } finally {
+            contador.trava.unlock();
+        }
+        aguardarJournal(sequencia);
+        return resultado;
+    }
+
+    public CervejaResponseDTO reservar(Long id, int quantidadeParaReservar) {
+        Contador contador = buscarContador(id);
+
+        contador.trava.lock();
+        try {
+            if (contador.quantidade.get() - contador.reservado < quantidadeParaReservar) {
+                throw EstoqueInsuficienteException.naReserva(id, quantidadeParaReservar);
+            }
+            contador.reservado += quantidadeParaReservar;
+            return contador.comQuantidade(contador.quantidade.get());
+        } finally {
+            contador.trava.unlock();
+        }
+    }
+
+    public CervejaResponseDTO confirmarReserva(Long id, int quantidadeReservada) {
+        Contador contador = buscarContador(id);
+
+        CervejaResponseDTO resultado;
+        long sequencia;
+        contador.trava.lock();
+        try {
+            contador.reservado -= quantidadeReservada;
+            int novo = contador.quantidade.addAndGet(-quantidadeReservada);
+            resultado = aceitar(id, contador, -quantidadeReservada, novo, MotivoMovimento.RESERVA_CONFIRMADA);
+            sequencia = anexarAoJournal(id, -quantidadeReservada, novo);
+        } finally {
+            contador.trava.unlock();
+        }
+        aguardarJournal(sequencia);
+        return resultado;
+    }
+
+    public void liberarReserva(Long id, int quantidadeReservada) {
+        Contador contador = contadores.get(id);
+        if (contador == null) {
+            // A cerveja foi excluída com a reserva ainda aberta: não há o que devolver
+            return;
+        }
+
+        contador.trava.lock();
+        try {
+            contador.reservado -= quantidadeReservada;
+        } finally {
+            contador.trava.unlock();
+        }
+    }
+
+    // Substitui a quantidade vinda do banco pela do contador, que pode estar à frente do último flush
+    public CervejaResponseDTO comQuantidadeAtual(CervejaResponseDTO dto) {
+        Contador contador = contadores.get(dto.id());
+        return contador == null ? dto : contador.comQuantidade(contador.quantidade.get());
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.memoria.intervalo-flush-ms:500}")
+    public void gravarAlterados() {
+        // Tudo o que o journal registrou até aqui já está nos contadores que vamos gravar
+        long sequenciaCoberta = journal == null ? 0L : journal.ultimaSequencia();
+        List<Long> gravados = new ArrayList<>();
+        List<Object[]> atualizacoes = new ArrayList<>();
+        Iterator<Long> ids = alterados.iterator();
+        while (ids.hasNext()) {
+            Long id = ids.next();
+            // Remove antes de ler: um incremento concorrente volta a marcar o id para o próximo flush
+            ids.remove();
+            Contador contador = contadores.get(id);
+            if (contador != null) {
+                gravados.add(id);
+                atualizacoes.add(new Object[]{contador.quantidade.get(), id});
+            }
+        }
+
+        if (!atualizacoes.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(SQL_ATUALIZAR_QUANTIDADE, atualizacoes);
+            } catch (RuntimeException e) {
+                // O próximo flush tenta de novo; sem isso a cerveja só voltaria a ser gravada na próxima alteração
+                alterados.addAll(gravados);
+                throw e;
+            }
+        }
+
+        // Os movimentos só saem da fila depois de gravados. O flush é o único consumidor, então os primeiros
+        // da fila continuam sendo os desta cópia, na mesma ordem
+        List<MovimentoEstoque> movimentos = new ArrayList<>(movimentosPendentes);
+        livroEstoque.registrarTodos(movimentos);
+        for (int i = 0; i < movimentos.size(); i++) {
+            movimentosPendentes.poll();
+        }
+
+        if (journal != null) {
+            journal.descartarAte(sequenciaCoberta);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravarAlterados();
+    }
+
+    // CAS até conseguir gravar um valor que respeite o máximo
+    private int somarAteMaximo(Contador contador, Long id, int quantidadeParaIncrementar) {
+        int atual;
+        int novo;
+        do {
+            atual = contador.quantidade.get();
+            novo = atual + quantidadeParaIncrementar;
+            if (novo > contador.cerveja.maximo()) {
+                throw new EstoqueExcedidoException(id, quantidadeParaIncrementar);
+            }
+        } while (!contador.quantidade.compareAndSet(atual, novo));
+        return novo;
+    }
+
+    private CervejaResponseDTO aceitar(Long id, Contador contador, int delta, int novo, MotivoMovimento motivo) {
+        alterados.add(id);
+        movimentosPendentes.add(MovimentoEstoque.de(id, delta, motivo));
+        return contador.comQuantidade(novo);
+    }
+
+    // Sequências do journal começam em 1; zero quer dizer que não há journal
+    private long anexarAoJournal(Long id, int delta, int novo) {
+        return journal == null ? 0L : journal.anexar(id, delta, novo);
+    }
+
+    private void aguardarJournal(long sequencia) {
+        if (sequencia > 0) {
+            journal.aguardarGravacao(sequencia);
+        }
+    }
+
+    // O banco pode estar atrás do último flush: vale a quantidade registrada no journal, e a diferença
+    // entra no livro-razão para ele continuar batendo com o estoque
+    private void recuperarDoJournal() {
+        journal.quantidadesRecuperadas().forEach((id, quantidade) -> {
+            Contador contador = contadores.get(id);
+            if (contador == null) {
+                return;
+            }
+            int diferenca = quantidade - contador.quantidade.getAndSet(quantidade);
+            if (diferenca != 0) {
+                alterados.add(id);
+                movimentosPendentes.add(MovimentoEstoque.de(id, diferenca, MotivoMovimento.RECUPERACAO_JOURNAL));
+            }
+        });
+    }
+
+    private Contador buscarContador(Long id) {
+        Contador contador = contadores.get(id);
+        if (contador == null) {
+            throw new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id);
+        }
+        return contador;
+    }
+
+    private static final class Contador {
+        private final CervejaResponseDTO cerveja;
+        private final AtomicInteger quantidade;
+        // ReentrantLock em vez de synchronized: com o journal, a trava cobre a escrita no arquivo,
+        // e com threads virtuais esperar num monitor prende a thread portadora
+        private final ReentrantLock trava = new ReentrantLock();
+        // Reservas vivem só na memória deste processo; sempre começam zeradas. Escrito sob a trava do contador
+        private volatile int reservado;
+
+        private Contador(CervejaResponseDTO cerveja) {
+            this.cerveja = cerveja;
+            this.quantidade = new AtomicInteger(cerveja.quantidade());
+        }
+
+        private CervejaResponseDTO comQuantidade(int quantidade) {
+            int reservadoAtual = reservado;
+            return new CervejaResponseDTO(cerveja.id(), cerveja.nome(), cerveja.marca(),
+                    cerveja.maximo(), quantidade, cerveja.tipo(), reservadoAtual, quantidade - reservadoAtual);
+        }
+    }
+}
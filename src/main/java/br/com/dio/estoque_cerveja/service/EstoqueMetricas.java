@@ -0,0 +1,29 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Gauge com o total de unidades em estoque por tipo, lido dos contadores de AgregadosPorTipo:
+// cada scrape do Prometheus soma os contadores em memória, sem ir ao banco
+@Component
+public class EstoqueMetricas implements MeterBinder {
+
+    public static final String METRICA_UNIDADES = "estoque.unidades";
+
+    @Autowired
+    private AgregadosPorTipo agregados;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (TipoCerveja tipo : TipoCerveja.values()) {
+            Gauge.builder(METRICA_UNIDADES, agregados, contadores -> contadores.unidades(tipo))
+                    .description("Total de unidades em estoque por tipo de cerveja")
+                    .tag("tipo", tipo.name())
+                    .register(registry);
+        }
+    }
+}
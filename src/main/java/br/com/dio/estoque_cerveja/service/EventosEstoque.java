@@ -0,0 +1,327 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.EventoEstoqueDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Mudanças de estoque em Server-Sent Events. Cada evento recebe uma sequência e fica num buffer circular,
+// de onde uma reconexão com Last-Event-ID recupera o que perdeu; o id enviado é "<instância>-<sequência>".
+// A escrita só enfileira: cada assinante tem fila limitada e o envio roda fora da thread da requisição,
+// então um cliente parado não segura ninguém
+@Slf4j
+@Component
+public class EventosEstoque {
+
+    // Enviado quando o Last-Event-ID já saiu do buffer (ou é de antes de um reinício): o cliente
+    // precisa reler o catálogo, e os eventos seguintes voltam a chegar normalmente
+    public static final String EVENTO_LACUNA = "lacuna";
+
+    // A sequência recomeça a cada subida; com o prefixo aleatório um Last-Event-ID de outra instância nunca
+    // passa por um id desta, mesmo que a nova numeração já tenha chegado nele
+    private final String instancia = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final int capacidadeReplay;
+    private final int capacidadeFila;
+    private final long timeoutMs;
+
+    // Só a sequência e o buffer ficam sob esta trava, que todo commit com evento atravessa: ela não cobre a
+    // distribuição aos assinantes, cujo custo cresce com o número de clientes. ReentrantLock para não prender
+    // a thread portadora quando a escrita roda em thread virtual
+    private final ReentrantLock trava = new ReentrantLock();
+    private final ArrayDeque<EventoEstoqueDTO> replay = new ArrayDeque<>();
+    private long sequencia;
+
+    // Eventos já numerados que ainda não chegaram às filas dos assinantes, na ordem da sequência. Quem conseguir
+    // a travaDistribuicao entrega todos; as outras escritas seguem sem esperar. A inscrição de um assinante também
+    // a pega, para o replay de quem chega terminar exatamente no último evento distribuído
+    private final Queue<EventoEstoqueDTO> naoDistribuidos = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock travaDistribuicao = new ReentrantLock();
+    private long distribuidoAte;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService envio;
+
+    private record Lacuna(long id) {
+    }
+
+    public EventosEstoque(@Value("${estoque.eventos.capacidade-replay:1000}") int capacidadeReplay,
+                          @Value("${estoque.eventos.fila-por-assinante:256}") int capacidadeFila,
+                          @Value("${estoque.eventos.timeout-ms:1800000}") long timeoutMs,
+                          @Value("${estoque.eventos.threads-envio:64}") int threadsEnvio,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        if (capacidadeReplay <= 0 || capacidadeFila <= 0 || threadsEnvio <= 0) {
+            throw new IllegalArgumentException("O buffer de replay, a fila por assinante e o envio precisam ter capacidade positiva");
+        }
+        this.capacidadeReplay = capacidadeReplay;
+        this.capacidadeFila = capacidadeFila;
+        this.timeoutMs = timeoutMs;
+        this.envio = criarEnvio(threadsEnvio, threadsVirtuais);
+    }
+
+    // Um cliente que parou de ler prende a thread dele em send() até o socket desistir. Com threads virtuais
+    // isso custa pouco e cada envio ganha a sua; com threads de plataforma o pool tem teto, e acima dele os
+    // envios esperam na fila do executor em vez de abrir uma thread por assinante travado
+    private static ExecutorService criarEnvio(int threadsEnvio, boolean threadsVirtuais) {
+        if (threadsVirtuais) {
+            ThreadFactory virtuais = new VirtualThreadTaskExecutor("eventos-estoque-").getVirtualThreadFactory();
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.SECONDS, new SynchronousQueue<>(), virtuais);
+        }
+        AtomicInteger contadorThreads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), tarefa -> {
+            Thread thread = new Thread(tarefa, "eventos-estoque-" + contadorThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    // Dentro de transação, o evento só sai depois do commit: ninguém é avisado de uma escrita desfeita
+    public void publicar(TipoEventoEstoque evento, Long cervejaId, String nome, TipoCerveja tipo,
+                         int quantidade, int delta) {
+        Transacoes.aoConfirmar(() -> emitir(evento, cervejaId, nome, tipo, quantidade, delta));
+    }
+
+    // ids e tipos vazios não filtram; com os dois, o evento precisa casar com ambos
+    public SseEmitter assinar(String ultimoEventoId, Set<Long> ids, Set<TipoCerveja> tipos) {
+        Long ultimoId = ultimoEventoId == null ? null : sequenciaDesta(ultimoEventoId);
+        Assinante assinante;
+        travaDistribuicao.lock();
+        try {
+            List<Object> pendentes = new ArrayList<>();
+            if (ultimoEventoId != null) {
+                // Quem ainda não foi distribuído fica de fora: chega pela fila, como para os outros assinantes
+                List<EventoEstoqueDTO> distribuidos = distribuidosNoReplay();
+                long maisAntigo = distribuidos.isEmpty() ? distribuidoAte + 1 : distribuidos.get(0).id();
+                if (ultimoId == null || ultimoId > distribuidoAte || ultimoId < maisAntigo - 1) {
+                    pendentes.add(new Lacuna(distribuidoAte));
+                } else {
+                    for (EventoEstoqueDTO evento : distribuidos) {
+                        if (evento.id() > ultimoId && aceita(evento, ids, tipos)) {
+                            pendentes.add(evento);
+                        }
+                    }
+                }
+            }
+            assinante = new Assinante(criarEmitter(), ids, tipos, capacidadeFila + pendentes.size());
+            assinante.fila.addAll(pendentes);
+            assinantes.add(assinante);
+        } finally {
+            travaDistribuicao.unlock();
+        }
+        // Quem publicou enquanto a inscrição segurava a trava não esperou por ela: os eventos dele ficam para cá
+        distribuir();
+
+        SseEmitter emitter = assinante.emitter;
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> {
+            remover(assinante);
+            emitter.complete();
+        });
+        emitter.onError(erro -> remover(assinante));
+        if (!assinante.fila.isEmpty()) {
+            assinante.agendar();
+        }
+        return emitter;
+    }
+
+    public int assinantesAtivos() {
+        return assinantes.size();
+    }
+
+    public long ultimaSequencia() {
+        trava.lock();
+        try {
+            return sequencia;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Valor do campo id do SSE, que o navegador devolve no Last-Event-ID
+    public String idDoEvento(long sequenciaEvento) {
+        return instancia + "-" + sequenciaEvento;
+    }
+
+    // null quando o id é de outra instância (antes de um reinício) ou não segue o formato
+    private Long sequenciaDesta(String ultimoEventoId) {
+        String prefixo = instancia + "-";
+        if (!ultimoEventoId.startsWith(prefixo)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(ultimoEventoId.substring(prefixo.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Separado para os testes observarem o que chega a cada assinante
+    SseEmitter criarEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        assinantes.clear();
+        envio.shutdownNow();
+    }
+
+    private void emitir(TipoEventoEstoque tipoEvento, Long cervejaId, String nome, TipoCerveja tipo,
+                        int quantidade, int delta) {
+        trava.lock();
+        try {
+            EventoEstoqueDTO evento = new EventoEstoqueDTO(++sequencia, tipoEvento, cervejaId, nome, tipo,
+                    quantidade, delta, Instant.now());
+            if (replay.size() == capacidadeReplay) {
+                replay.removeFirst();
+            }
+            replay.addLast(evento);
+            // Ainda sob a trava: a fila de não distribuídos fica na ordem da sequência
+            naoDistribuidos.add(evento);
+        } finally {
+            trava.unlock();
+        }
+        distribuir();
+    }
+
+    // Distribuir fora da trava da sequência, mas um de cada vez: assim cada assinante recebe os eventos em ordem.
+    // Quem não consegue a travaDistribuicao não espera, porque quem está com ela também leva o evento dele. A
+    // condição é revista depois de soltar a trava para um evento que chegou bem no fim não ficar parado
+    private void distribuir() {
+        while (!naoDistribuidos.isEmpty() && travaDistribuicao.tryLock()) {
+            try {
+                EventoEstoqueDTO evento;
+                while ((evento = naoDistribuidos.poll()) != null) {
+                    for (Assinante assinante : assinantes) {
+                        if (aceita(evento, assinante.ids, assinante.tipos)) {
+                            assinante.entregar(evento);
+                        }
+                    }
+                    distribuidoAte = evento.id();
+                }
+            } finally {
+                travaDistribuicao.unlock();
+            }
+        }
+    }
+
+    // Chamado com a travaDistribuicao
+    private List<EventoEstoqueDTO> distribuidosNoReplay() {
+        trava.lock();
+        try {
+            return replay.stream()
+                    .filter(evento -> evento.id() <= distribuidoAte)
+                    .toList();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinante.encerrado = true;
+        assinantes.remove(assinante);
+    }
+
+    private static boolean aceita(EventoEstoqueDTO evento, Set<Long> ids, Set<TipoCerveja> tipos) {
+        return (ids.isEmpty() || ids.contains(evento.cervejaId()))
+                && (tipos.isEmpty() || tipos.contains(evento.tipo()));
+    }
+
+    private final class Assinante {
+        final SseEmitter emitter;
+        final Set<Long> ids;
+        final Set<TipoCerveja> tipos;
+        final BlockingQueue<Object> fila;
+        final AtomicBoolean agendado = new AtomicBoolean();
+        volatile boolean encerrado;
+
+        Assinante(SseEmitter emitter, Set<Long> ids, Set<TipoCerveja> tipos, int capacidade) {
+            this.emitter = emitter;
+            this.ids = ids;
+            this.tipos = tipos;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+
+        // Chamado na thread que publicou: nunca bloqueia nem toca no emitter. Fila cheia encerra o assinante;
+        // o EventSource reconecta sozinho com o Last-Event-ID e o que faltou sai do buffer de replay
+        void entregar(EventoEstoqueDTO evento) {
+            if (!fila.offer(evento)) {
+                log.warn("Assinante de eventos não acompanhou o ritmo ({} eventos na fila); desconectando", fila.size());
+                remover(this);
+            }
+            agendar();
+        }
+
+        void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                envio.execute(this::enviarPendentes);
+            }
+        }
+
+        private void enviarPendentes() {
+            try {
+                Object item;
+                while ((item = fila.poll()) != null) {
+                    emitter.send(paraEvento(item));
+                }
+                if (encerrado) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou ou o emitter já terminou
+                remover(this);
+                return;
+            }
+            agendado.set(false);
+            // Um evento pode ter chegado entre o último poll e a liberação
+            if (!fila.isEmpty() || encerrado) {
+                agendar();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder paraEvento(Object item) {
+            if (item instanceof Lacuna lacuna) {
+                return SseEmitter.event()
+                        .id(idDoEvento(lacuna.id()))
+                        .name(EVENTO_LACUNA)
+                        .data("Eventos anteriores não estão mais disponíveis; releia o catálogo");
+            }
+            EventoEstoqueDTO evento = (EventoEstoqueDTO) item;
+            return SseEmitter.event()
+                    .id(idDoEvento(evento.id()))
+                    .data(evento, MediaType.APPLICATION_JSON);
+        }
+    }
+}
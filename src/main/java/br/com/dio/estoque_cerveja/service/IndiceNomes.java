@@ -0,0 +1,234 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Índice de nomes em memória para a busca e o autocomplete, sem LIKE '%x%' no banco.
+// Prefixo: mapa ordenado pelo nome normalizado, uma descida O(log n) e leitura sequencial dos acertos.
+// Erros de digitação: trigramas escolhem os candidatos e a distância de edição decide quem entra
+@Component
+public class IndiceNomes {
+
+    public static final int LIMITE_MAXIMO = 50;
+    // Quantos candidatos por trigramas passam para o cálculo da distância de edição
+    static final int MAX_CANDIDATOS = 100;
+    // Trigramas presentes em mais de 2% dos nomes (e em pelo menos 500) não ajudam a escolher candidatos
+    // e custariam uma volta por quase todo o índice; ficam de fora da contagem
+    static final int MIN_POSTAGENS_COMUNS = 500;
+
+    private static final char SEPARADOR = '\u0000';
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    @Autowired
+    private CervejaRepository repository;
+
+    // Chave: nome normalizado + separador + id, para nomes que normalizam igual não se sobrescreverem
+    private final ConcurrentSkipListMap<String, Entrada> porPrefixo = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> porTrigrama = new ConcurrentHashMap<>();
+
+    private record Entrada(Long id, String nome, String normalizado) {
+        String chave() {
+            return normalizado + SEPARADOR + id;
+        }
+    }
+
+    @PostConstruct
+    public void carregar() {
+        repository.listarNomes().forEach(nome -> indexar(nome.getId(), nome.getNome()));
+    }
+
+    // Dentro de transação, o índice só muda depois do commit: um cadastro desfeito não aparece na busca
+    public void adicionar(Long id, String nome) {
+        Transacoes.aoConfirmar(() -> indexar(id, nome));
+    }
+
+    public void remover(Long id) {
+        Transacoes.aoConfirmar(() -> desindexar(id));
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    public List<SugestaoNomeDTO> buscar(String termo, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        String consulta = termo == null ? "" : normalizar(termo);
+        if (consulta.isEmpty()) {
+            throw new IllegalArgumentException("O termo de busca não pode ser vazio");
+        }
+
+        // 1) Acertos de prefixo, em ordem alfabética
+        List<SugestaoNomeDTO> resultado = new ArrayList<>(limite);
+        Set<Long> vistos = new HashSet<>();
+        for (Entrada entrada : porPrefixo.subMap(consulta, true, consulta + Character.MAX_VALUE, true).values()) {
+            resultado.add(new SugestaoNomeDTO(entrada.id(), entrada.nome(), 0));
+            vistos.add(entrada.id());
+            if (resultado.size() == limite) {
+                return resultado;
+            }
+        }
+
+        // 2) Completa com nomes parecidos; com menos de 3 letras não há trigramas suficientes para escolher
+        if (consulta.length() >= 3) {
+            completarComParecidos(consulta, limite, resultado, vistos);
+        }
+        return resultado;
+    }
+
+    private void completarComParecidos(String consulta, int limite, List<SugestaoNomeDTO> resultado, Set<Long> vistos) {
+        int tolerancia = consulta.length() <= 4 ? 1 : consulta.length() <= 8 ? 2 : 3;
+        Set<String> trigramasConsulta = trigramas(consulta);
+
+        int limiteComum = Math.max(MIN_POSTAGENS_COMUNS, porId.size() / 50);
+        int ignorados = 0;
+        Map<Long, Integer> emComum = new HashMap<>();
+        for (String trigrama : trigramasConsulta) {
+            Set<Long> ids = porTrigrama.get(trigrama);
+            if (ids == null) {
+                continue;
+            }
+            if (ids.size() > limiteComum) {
+                ignorados++;
+                continue;
+            }
+            for (Long id : ids) {
+                emComum.merge(id, 1, Integer::sum);
+            }
+        }
+
+        // Cada erro de digitação destrói no máximo 3 trigramas: abaixo disso o candidato nem é considerado
+        int minimoEmComum = Math.max(1, trigramasConsulta.size() - 3 * tolerancia - ignorados);
+
+        List<Map.Entry<Long, Integer>> candidatos = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidato : emComum.entrySet()) {
+            if (candidato.getValue() >= minimoEmComum && !vistos.contains(candidato.getKey())) {
+                candidatos.add(candidato);
+            }
+        }
+        if (candidatos.size() > MAX_CANDIDATOS) {
+            candidatos.sort(Map.Entry.<Long, Integer>comparingByValue().reversed());
+            candidatos = candidatos.subList(0, MAX_CANDIDATOS);
+        }
+
+        List<SugestaoNomeDTO> parecidos = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidato : candidatos) {
+            Entrada entrada = porId.get(candidato.getKey());
+            if (entrada == null) {
+                continue;
+            }
+            int distancia = distanciaAoPrefixo(consulta, entrada.normalizado(), tolerancia);
+            if (distancia <= tolerancia) {
+                parecidos.add(new SugestaoNomeDTO(entrada.id(), entrada.nome(), distancia));
+            }
+        }
+
+        parecidos.sort(Comparator.comparingInt(SugestaoNomeDTO::distancia).thenComparing(SugestaoNomeDTO::nome));
+        for (SugestaoNomeDTO parecido : parecidos) {
+            if (resultado.size() == limite) {
+                return;
+            }
+            resultado.add(parecido);
+        }
+    }
+
+    private void indexar(Long id, String nome) {
+        desindexar(id);
+        Entrada entrada = new Entrada(id, nome, normalizar(nome));
+        porId.put(id, entrada);
+        porPrefixo.put(entrada.chave(), entrada);
+        for (String trigrama : trigramas(entrada.normalizado())) {
+            porTrigrama.compute(trigrama, (chave, ids) -> {
+                Set<Long> conjunto = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                conjunto.add(id);
+                return conjunto;
+            });
+        }
+    }
+
+    private void desindexar(Long id) {
+        Entrada entrada = porId.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        porPrefixo.remove(entrada.chave());
+        for (String trigrama : trigramas(entrada.normalizado())) {
+            porTrigrama.computeIfPresent(trigrama, (chave, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    // Sem acento, minúsculo e com espaços colapsados: "Bohemia  Weiß" e "bohemia weiß" caem no mesmo lugar
+    static String normalizar(String texto) {
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    // O espaço inicial dá peso ao começo do nome, que é onde o autocomplete olha
+    static Set<String> trigramas(String normalizado) {
+        String texto = " " + normalizado;
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    // Menor distância de edição (com transposição de vizinhos, "hieneken" está a 1 de "heineken") entre a consulta
+    // e um começo do nome. Uma única tabela basta: a última linha traz a distância para cada tamanho de prefixo.
+    // Só as colunas até consulta + tolerância importam, e três linhas bastam para a transposição
+    static int distanciaAoPrefixo(String consulta, String nome, int tolerancia) {
+        int linhas = consulta.length();
+        int colunas = Math.min(nome.length(), linhas + tolerancia);
+        int[] antesDaAnterior = new int[colunas + 1];
+        int[] anterior = new int[colunas + 1];
+        int[] atual = new int[colunas + 1];
+        for (int j = 0; j <= colunas; j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= linhas; i++) {
+            char a = consulta.charAt(i - 1);
+            atual[0] = i;
+            for (int j = 1; j <= colunas; j++) {
+                char b = nome.charAt(j - 1);
+                int valor = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + (a == b ? 0 : 1));
+                if (i > 1 && j > 1 && a == nome.charAt(j - 2) && consulta.charAt(i - 2) == b) {
+                    valor = Math.min(valor, antesDaAnterior[j - 2] + 1);
+                }
+                atual[j] = valor;
+            }
+            int[] livre = antesDaAnterior;
+            antesDaAnterior = anterior;
+            anterior = atual;
+            atual = livre;
+        }
+
+        int melhor = anterior[colunas];
+        for (int j = Math.max(1, linhas - tolerancia); j < colunas; j++) {
+            melhor = Math.min(melhor, anterior[j]);
+        }
+        return melhor;
+    }
+}
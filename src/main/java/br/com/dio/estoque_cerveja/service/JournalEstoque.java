@@ -0,0 +1,502 @@
+package br.com.dio.estoque_cerveja.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Journal local do motor em memória: cada alteração aceita vira um registro binário de tamanho fixo num segmento
+// mapeado em memória. O force() é feito em grupo (por intervalo ou volume) e quem grava espera só por ele, sem
+// transação no banco. Na subida, os segmentos são relidos e a última quantidade de cada cerveja é recuperada
+@Slf4j
+@Component
+@ConditionalOnExpression("'${estoque.motor:banco}' == 'memoria' and ${estoque.journal.habilitado:false}")
+public class JournalEstoque {
+
+    // marcador(4) quantidade(4) sequencia(8) cervejaId(8) delta(4) crc(4)
+    static final int TAMANHO_REGISTRO = 32;
+    static final int MARCADOR = 0xCE5A0001;
+    private static final int TAMANHO_SEM_CRC = TAMANHO_REGISTRO - Integer.BYTES;
+    private static final String PREFIXO_SEGMENTO = "journal-";
+    private static final String SUFIXO_SEGMENTO = ".seg";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int registrosPorSegmento;
+    private final long intervaloForceNanos;
+    private final int loteForceBytes;
+
+    // ReentrantLock em vez de synchronized: é a trava de todo anexar(), e com threads virtuais esperar num
+    // monitor prende a thread portadora. Sob ela só há cópia para o mapa; force(), close() e map() ficam fora
+    private final ReentrantLock trava = new ReentrantLock();
+    // Primeira sequência de cada segmento -> arquivo; o último é o ativo
+    private final TreeMap<Long, Path> segmentos = new TreeMap<>();
+    private final Map<Long, Integer> quantidadesRecuperadas = new HashMap<>();
+    private final ByteBuffer registro = ByteBuffer.allocate(TAMANHO_REGISTRO);
+    private final CRC32 crc = new CRC32();
+
+    // Estado protegido pela trava: o segmento ativo, o próximo já mapeado pelo gravador e os cheios
+    // que ainda esperam o último force() e o fechamento
+    private Segmento segmento;
+    private Segmento preparado;
+    private final List<Segmento> fechados = new ArrayList<>();
+    private long proximaSequencia = 1;
+
+    // Quem espera o force() é a thread da requisição: Condition em vez de wait(), pelo mesmo motivo da trava
+    private final ReentrantLock travaGravado = new ReentrantLock();
+    private final Condition gravado = travaGravado.newCondition();
+    // Um force() por vez: o fechamento não corre junto com o gravador periódico
+    private final ReentrantLock travaForce = new ReentrantLock();
+    private volatile long ultimaForcada;
+    private volatile boolean ativo;
+    private Thread gravador;
+
+    public JournalEstoque(@Value("${estoque.journal.diretorio:data/journal}") Path diretorio,
+                          @Value("${estoque.journal.tamanho-segmento-bytes:67108864}") int tamanhoSegmento,
+                          @Value("${estoque.journal.intervalo-force-micros:1000}") long intervaloForceMicros,
+                          @Value("${estoque.journal.lote-force-bytes:65536}") int loteForceBytes) {
+        if (tamanhoSegmento < TAMANHO_REGISTRO) {
+            throw new IllegalArgumentException("O segmento deve comportar ao menos um registro de " + TAMANHO_REGISTRO + " bytes");
+        }
+        this.diretorio = diretorio;
+        // Só registros inteiros por segmento
+        this.tamanhoSegmento = tamanhoSegmento - tamanhoSegmento % TAMANHO_REGISTRO;
+        this.registrosPorSegmento = this.tamanhoSegmento / TAMANHO_REGISTRO;
+        this.intervaloForceNanos = TimeUnit.MICROSECONDS.toNanos(intervaloForceMicros);
+        this.loteForceBytes = loteForceBytes;
+    }
+
+    @PostConstruct
+    public void abrir() {
+        trava.lock();
+        try {
+            Files.createDirectories(diretorio);
+            try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+                for (Path arquivo : arquivos) {
+                    segmentos.put(primeiraSequencia(arquivo), arquivo);
+                }
+            }
+
+            if (segmentos.isEmpty()) {
+                segmento = mapear(1L);
+                segmentos.put(1L, segmento.arquivo);
+            } else {
+                for (Map.Entry<Long, Path> existente : segmentos.entrySet()) {
+                    proximaSequencia = Math.max(proximaSequencia, existente.getKey());
+                    recuperar(existente.getKey(), existente.getValue(), existente.getKey().equals(segmentos.lastKey()));
+                }
+            }
+            ultimaForcada = proximaSequencia - 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o journal em " + diretorio, e);
+        } finally {
+            trava.unlock();
+        }
+
+        ativo = true;
+        gravador = new Thread(this::gravarPeriodicamente, "journal-estoque-force");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    @PreDestroy
+    public void fechar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(gravador);
+        gravador.join(TimeUnit.SECONDS.toMillis(5));
+        forcar();
+        trava.lock();
+        try {
+            segmento.fechar();
+            // O próximo segmento nunca chegou a ser usado: não fica para trás como um arquivo vazio
+            if (preparado != null) {
+                descartar(preparado);
+                preparado = null;
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Última quantidade conhecida de cada cerveja, relida dos segmentos na abertura
+    public Map<Long, Integer> quantidadesRecuperadas() {
+        return Collections.unmodifiableMap(quantidadesRecuperadas);
+    }
+
+    // Grava o registro no segmento mapeado e devolve a sequência; não espera o force()
+    public long anexar(Long cervejaId, int delta, int quantidadeApos) {
+        trava.lock();
+        try {
+            if (segmento.posicao + TAMANHO_REGISTRO > tamanhoSegmento) {
+                rolarSegmento();
+            }
+
+            long sequencia = proximaSequencia++;
+            registro.clear();
+            registro.putInt(MARCADOR)
+                    .putInt(quantidadeApos)
+                    .putLong(sequencia)
+                    .putLong(cervejaId)
+                    .putInt(delta);
+            crc.reset();
+            crc.update(registro.array(), 0, TAMANHO_SEM_CRC);
+            registro.putInt((int) crc.getValue());
+            segmento.mapa.put(segmento.posicao, registro.array());
+            segmento.posicao += TAMANHO_REGISTRO;
+
+            if (segmento.posicao - segmento.posicaoForcada >= loteForceBytes) {
+                LockSupport.unpark(gravador);
+            }
+            return sequencia;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Bloqueia até o registro da sequência estar no disco; várias threads esperando compartilham o mesmo force().
+    // Quem chama não deve estar com transação aberta: a conexão do pool ficaria presa durante a espera
+    public void aguardarGravacao(long sequencia) {
+        if (ultimaForcada >= sequencia) {
+            return;
+        }
+        travaGravado.lock();
+        try {
+            while (ultimaForcada < sequencia) {
+                gravado.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a gravação do journal", e);
+        } finally {
+            travaGravado.unlock();
+        }
+    }
+
+    public long ultimaSequencia() {
+        trava.lock();
+        try {
+            return proximaSequencia - 1;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // Chamado depois que o banco recebeu o estado até a sequência: segmentos fechados inteiramente cobertos são
+    // apagados. Só a escolha é feita sob a trava; apagar o arquivo não segura quem está gravando
+    public void descartarAte(long sequencia) {
+        List<Map.Entry<Long, Path>> cobertos = new ArrayList<>();
+        trava.lock();
+        try {
+            Long anterior = null;
+            for (Map.Entry<Long, Path> existente : segmentos.entrySet()) {
+                if (anterior != null) {
+                    if (existente.getKey() - 1 > sequencia) {
+                        break;
+                    }
+                    cobertos.add(Map.entry(anterior, segmentos.get(anterior)));
+                }
+                anterior = existente.getKey();
+            }
+        } finally {
+            trava.unlock();
+        }
+
+        for (Map.Entry<Long, Path> coberto : cobertos) {
+            try {
+                Files.deleteIfExists(coberto.getValue());
+            } catch (IOException e) {
+                // Para no primeiro que falhar: um segmento antigo que fica sem os seguintes faria a recuperação
+                // voltar a uma quantidade velha
+                log.warn("Falha ao apagar o segmento {} do journal", coberto.getValue(), e);
+                return;
+            }
+            trava.lock();
+            try {
+                segmentos.remove(coberto.getKey());
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    int quantidadeSegmentos() {
+        trava.lock();
+        try {
+            return segmentos.size();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void gravarPeriodicamente() {
+        while (ativo) {
+            LockSupport.parkNanos(intervaloForceNanos);
+            try {
+                forcar();
+                prepararProximoSegmento();
+            } catch (RuntimeException e) {
+                log.error("Falha no force() do journal de estoque", e);
+            }
+        }
+    }
+
+    private void forcar() {
+        travaForce.lock();
+        try {
+            List<Segmento> cheios;
+            Segmento alvo;
+            int fim;
+            long ate;
+            trava.lock();
+            try {
+                ate = proximaSequencia - 1;
+                cheios = List.copyOf(fechados);
+                alvo = segmento;
+                fim = alvo.posicao;
+            } finally {
+                trava.unlock();
+            }
+            if (ate <= ultimaForcada && cheios.isEmpty()) {
+                return;
+            }
+
+            // Fora da trava: novas gravações continuam enquanto o pendente vai para o disco. Os segmentos
+            // cheios vêm antes do ativo, e só saem da lista depois de forçados e fechados
+            for (Segmento cheio : cheios) {
+                cheio.forcarAte(cheio.posicao);
+                cheio.fechar();
+                trava.lock();
+                try {
+                    fechados.remove(cheio);
+                } finally {
+                    trava.unlock();
+                }
+            }
+            alvo.forcarAte(fim);
+            marcarForcada(ate);
+        } finally {
+            travaForce.unlock();
+        }
+    }
+
+    // Só depois de um force() que cobre tudo até a sequência ter retornado
+    private void marcarForcada(long sequencia) {
+        travaGravado.lock();
+        try {
+            if (sequencia > ultimaForcada) {
+                ultimaForcada = sequencia;
+            }
+            gravado.signalAll();
+        } finally {
+            travaGravado.unlock();
+        }
+    }
+
+    // No gravador, fora da trava: cria e mapeia o arquivo do próximo segmento antes de o ativo encher. Como os
+    // registros têm tamanho fixo, a primeira sequência do próximo já é conhecida
+    private void prepararProximoSegmento() {
+        long primeira;
+        trava.lock();
+        try {
+            if (preparado != null) {
+                return;
+            }
+            primeira = segmento.primeiraSequencia + registrosPorSegmento;
+        } finally {
+            trava.unlock();
+        }
+
+        Segmento novo;
+        try {
+            novo = mapear(primeira);
+        } catch (IOException e) {
+            log.warn("Falha ao preparar o próximo segmento do journal; ele será aberto na hora da troca", e);
+            return;
+        }
+
+        trava.lock();
+        try {
+            if (preparado == null && segmento.primeiraSequencia + registrosPorSegmento == primeira) {
+                preparado = novo;
+                return;
+            }
+        } finally {
+            trava.unlock();
+        }
+        // O ativo trocou enquanto o arquivo era mapeado: este já não serve
+        descartar(novo);
+    }
+
+    // Chamado com a trava: troca o segmento cheio pelo já mapeado e acorda o gravador, que força e fecha o cheio.
+    // Só se o gravador ainda não tiver preparado o próximo (segmentos pequenos ou disco lento) o map() é feito aqui
+    private void rolarSegmento() {
+        Segmento proximo = preparado;
+        preparado = null;
+        if (proximo == null || proximo.primeiraSequencia != proximaSequencia) {
+            if (proximo != null) {
+                descartar(proximo);
+            }
+            try {
+                proximo = mapear(proximaSequencia);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Não foi possível abrir um novo segmento do journal", e);
+            }
+        }
+        fechados.add(segmento);
+        segmento = proximo;
+        segmentos.put(proximo.primeiraSequencia, proximo.arquivo);
+        LockSupport.unpark(gravador);
+    }
+
+    private Segmento mapear(long primeiraSequencia) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%s%020d%s", PREFIXO_SEGMENTO, primeiraSequencia, SUFIXO_SEGMENTO));
+        return mapear(primeiraSequencia, arquivo);
+    }
+
+    private Segmento mapear(long primeiraSequencia, Path arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Mapear além do fim estende o arquivo com zeros: um segmento truncado volta ao tamanho cheio
+            return new Segmento(primeiraSequencia, arquivo, canal, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento));
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    // Um segmento mapeado que nunca entrou em uso; o arquivo só é apagado se nenhum segmento conhecido o usa
+    private void descartar(Segmento naoUsado) {
+        naoUsado.fechar();
+        boolean emUso;
+        trava.lock();
+        try {
+            emUso = segmentos.containsKey(naoUsado.primeiraSequencia);
+        } finally {
+            trava.unlock();
+        }
+        if (emUso) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(naoUsado.arquivo);
+        } catch (IOException e) {
+            log.warn("Falha ao apagar o segmento não usado {} do journal", naoUsado.arquivo, e);
+        }
+    }
+
+    // Lê registro a registro até o primeiro inválido (zeros ou gravação interrompida no meio)
+    private void recuperar(long primeiraSequencia, Path arquivo, boolean segmentoAtivo) throws IOException {
+        ByteBuffer conteudo;
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            conteudo = ByteBuffer.allocate((int) Math.min(leitura.size(), tamanhoSegmento));
+            while (conteudo.hasRemaining() && leitura.read(conteudo) >= 0) {
+                // lê até encher ou chegar ao fim do arquivo
+            }
+        }
+
+        int posicaoValida = 0;
+        conteudo.flip();
+        while (conteudo.remaining() >= TAMANHO_REGISTRO) {
+            int inicio = conteudo.position();
+            crc.reset();
+            crc.update(conteudo.array(), inicio, TAMANHO_SEM_CRC);
+            int marcador = conteudo.getInt();
+            int quantidade = conteudo.getInt();
+            long sequencia = conteudo.getLong();
+            long cervejaId = conteudo.getLong();
+            conteudo.getInt(); // delta: a recuperação só precisa da quantidade resultante
+            int crcGravado = conteudo.getInt();
+            if (marcador != MARCADOR || crcGravado != (int) crc.getValue()) {
+                break;
+            }
+            quantidadesRecuperadas.put(cervejaId, quantidade);
+            proximaSequencia = Math.max(proximaSequencia, sequencia + 1);
+            posicaoValida = conteudo.position();
+        }
+
+        // Os segmentos são escritos em sequência: depois do primeiro registro inválido só pode haver o resto
+        // de uma gravação interrompida, e logo depois dele só zeros
+        int fimDescartado = Math.min(posicaoValida + TAMANHO_REGISTRO, conteudo.limit());
+        boolean interrompido = false;
+        for (int i = posicaoValida; i < fimDescartado; i++) {
+            interrompido |= conteudo.get(i) != 0;
+        }
+        if (interrompido) {
+            log.warn("Journal {} termina com um registro incompleto ou inválido na posição {}; descartado", arquivo, posicaoValida);
+        }
+
+        if (segmentoAtivo) {
+            segmento = mapear(primeiraSequencia, arquivo);
+            // Zera o registro descartado para as próximas gravações começarem num trecho limpo
+            for (int i = posicaoValida; i < fimDescartado; i++) {
+                segmento.mapa.put(i, (byte) 0);
+            }
+            segmento.posicao = posicaoValida;
+            segmento.posicaoForcada = posicaoValida;
+        }
+    }
+
+    private static long primeiraSequencia(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+
+    private static final class Segmento {
+        private final long primeiraSequencia;
+        private final Path arquivo;
+        private final FileChannel canal;
+        private final MappedByteBuffer mapa;
+        // Até onde há registros; escrito sob a trava do journal
+        private int posicao;
+        // Até onde o force() já retornou; escrito só sob a travaForce
+        private volatile int posicaoForcada;
+
+        private Segmento(long primeiraSequencia, Path arquivo, FileChannel canal, MappedByteBuffer mapa) {
+            this.primeiraSequencia = primeiraSequencia;
+            this.arquivo = arquivo;
+            this.canal = canal;
+            this.mapa = mapa;
+        }
+
+        // Avança a posição forçada só depois do force(): se ele falhar, o próximo tenta o mesmo trecho de novo
+        private void forcarAte(int fim) {
+            int inicio = posicaoForcada;
+            if (fim > inicio) {
+                mapa.force(inicio, fim - inicio);
+                posicaoForcada = fim;
+            }
+        }
+
+        // O mapa continua válido depois do close() do canal; só o descritor do arquivo é liberado
+        private void fechar() {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                log.warn("Falha ao fechar o segmento {} do journal", arquivo, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import br.com.dio.estoque_cerveja.entity.SnapshotEstoque;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.repository.MovimentoEstoqueRepository;
+import br.com.dio.estoque_cerveja.repository.SnapshotEstoqueRepository;
+import br.com.dio.estoque_cerveja.repository.SomaMovimentos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Histórico das alterações de estoque (movimentos só inseridos) e consolidação periódica em snapshots por cerveja
+@Service
+public class LivroEstoqueService {
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoRepository;
+
+    @Autowired
+    private SnapshotEstoqueRepository snapshotRepository;
+
+    // Maior id visto na rodada anterior. Ids vêm da sequência antes do commit, então um movimento recém-lido
+    // pode ter vizinhos de id menor ainda em transações abertas; consolidar só até o limite da rodada anterior
+    // dá um intervalo inteiro para elas terminarem
+    private volatile Long limiteProximaConsolidacao;
+
+    // Entra na transação de quem chamou: o movimento só existe se a alteração de estoque também for gravada
+    public void registrar(Long cervejaId, int delta, MotivoMovimento motivo) {
+        if (delta != 0) {
+            movimentoRepository.save(MovimentoEstoque.de(cervejaId, delta, motivo));
+        }
+    }
+
+    public void registrarTodos(Collection<MovimentoEstoque> movimentos) {
+        if (!movimentos.isEmpty()) {
+            movimentoRepository.saveAll(movimentos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${estoque.livro.intervalo-consolidacao-ms:60000}")
+    @Transactional
+    public int consolidar() {
+        Long ate = limiteProximaConsolidacao;
+        limiteProximaConsolidacao = movimentoRepository.findUltimoId();
+        if (ate == null) {
+            return 0;
+        }
+
+        Long consolidado = snapshotRepository.findUltimoMovimentoConsolidado();
+        long desde = consolidado == null ? 0L : consolidado;
+        if (ate <= desde) {
+            return 0;
+        }
+
+        List<SomaMovimentos> somas = movimentoRepository.somarPorCerveja(desde, ate);
+        Map<Long, SnapshotEstoque> snapshots = snapshotRepository.findAllById(
+                        somas.stream().map(SomaMovimentos::getCervejaId).toList())
+                .stream()
+                .collect(Collectors.toMap(SnapshotEstoque::getCervejaId, Function.identity()));
+
+        Instant agora = Instant.now();
+        List<SnapshotEstoque> atualizados = new ArrayList<>(somas.size());
+        for (SomaMovimentos soma : somas) {
+            SnapshotEstoque snapshot = snapshots.get(soma.getCervejaId());
+            if (snapshot == null) {
+                snapshot = new SnapshotEstoque(soma.getCervejaId(), 0L, 0L, agora);
+            }
+            snapshot.setQuantidade(snapshot.getQuantidade() + soma.getDelta());
+            snapshot.setUltimoMovimentoId(soma.getUltimoMovimentoId());
+            snapshot.setGeradoEm(agora);
+            atualizados.add(snapshot);
+        }
+        snapshotRepository.saveAll(atualizados);
+        return atualizados.size();
+    }
+
+    // Quantidade refeita a partir do histórico: snapshot mais os movimentos posteriores a ele
+    @Transactional(readOnly = true)
+    public int reconstruirQuantidade(Long cervejaId) {
+        SnapshotEstoque snapshot = snapshotRepository.findById(cervejaId).orElse(null);
+        long base = snapshot == null ? 0L : snapshot.getQuantidade();
+        long desde = snapshot == null ? 0L : snapshot.getUltimoMovimentoId();
+        return Math.toIntExact(base + movimentoRepository.somarDesde(cervejaId, desde));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Reserva aberta; implementa Delayed para ficar na DelayQueue ordenada pelo vencimento
+final class Reserva implements Delayed {
+
+    private final UUID id;
+    private final Long cervejaId;
+    private final String nomeCerveja;
+    private final int quantidade;
+    private final Instant expiraEm;
+    // Relógio monotônico: o vencimento não anda se o relógio do sistema for ajustado
+    private final long venceEmNanos;
+
+    private Reserva(UUID id, Long cervejaId, String nomeCerveja, int quantidade, Instant expiraEm, long venceEmNanos) {
+        this.id = id;
+        this.cervejaId = cervejaId;
+        this.nomeCerveja = nomeCerveja;
+        this.quantidade = quantidade;
+        this.expiraEm = expiraEm;
+        this.venceEmNanos = venceEmNanos;
+    }
+
+    static Reserva nova(Long cervejaId, String nomeCerveja, int quantidade, Duration duracao) {
+        return new Reserva(UUID.randomUUID(), cervejaId, nomeCerveja, quantidade,
+                Instant.now().plus(duracao), System.nanoTime() + duracao.toNanos());
+    }
+
+    // Mesma reserva com novo vencimento, usada quando a liberação falha e precisa ser repetida
+    Reserva adiada(Duration atraso) {
+        return new Reserva(id, cervejaId, nomeCerveja, quantidade, expiraEm, System.nanoTime() + atraso.toNanos());
+    }
+
+    boolean vencida() {
+        return venceEmNanos - System.nanoTime() <= 0;
+    }
+
+    UUID id() { return id; }
+    Long cervejaId() { return cervejaId; }
+    String nomeCerveja() { return nomeCerveja; }
+    int quantidade() { return quantidade; }
+
+    ReservaResponseDTO toDTO() {
+        return new ReservaResponseDTO(id, cervejaId, quantidade, expiraEm);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(venceEmNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed outra) {
+        if (outra instanceof Reserva reserva) {
+            return Long.compare(venceEmNanos, reserva.venceEmNanos);
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), outra.getDelay(TimeUnit.NANOSECONDS));
+    }
+}
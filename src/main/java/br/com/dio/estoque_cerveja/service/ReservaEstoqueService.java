@@ -0,0 +1,283 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.exception.ReservaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+
+// Reservas de estoque com prazo (checkout): a reserva tira unidades do disponível até ser confirmada,
+// cancelada ou vencer. Os vencimentos ficam numa DelayQueue, sem varrer a tabela periodicamente
+@Slf4j
+@Service
+public class ReservaEstoqueService {
+
+    public static final String METRICA_RESERVAS_ATIVAS = "estoque.reservas.ativas";
+    static final Duration ATRASO_NOVA_TENTATIVA = Duration.ofSeconds(1);
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private LivroEstoqueService livroEstoque;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private AgregadosPorTipo agregados;
+
+    @Autowired
+    private EstoqueBaixo estoqueBaixo;
+
+    @Autowired
+    private EventosEstoque eventos;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private EstoqueEmMemoria estoqueEmMemoria;
+
+    @Value("${estoque.reserva.duracao-padrao-segundos:300}")
+    private int duracaoPadraoSegundos;
+
+    @Value("${estoque.reserva.duracao-maxima-segundos:1800}")
+    private int duracaoMaximaSegundos;
+
+    private final Map<UUID, Reserva> reservas = new ConcurrentHashMap<>();
+    private final DelayQueue<Reserva> vencimentos = new DelayQueue<>();
+    private Thread varredor;
+
+    @PostConstruct
+    public void iniciar() {
+        // As reservas só existem na memória do processo: o que ficou reservado no banco de uma execução anterior volta ao disponível
+        if (estoqueEmMemoria == null) {
+            transactionTemplate.executeWithoutResult(status -> repository.zerarReservas());
+        }
+
+        Gauge.builder(METRICA_RESERVAS_ATIVAS, reservas, Map::size)
+                .description("Reservas de estoque abertas")
+                .register(meterRegistry);
+
+        varredor = new Thread(this::varrerVencimentos, "expiracao-reservas");
+        varredor.setDaemon(true);
+        varredor.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        varredor.interrupt();
+        varredor.join(Duration.ofSeconds(5).toMillis());
+    }
+
+    public ReservaResponseDTO criarReserva(Long cervejaId, Integer quantidade, Integer duracaoSegundos) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+        int segundos = duracaoSegundos == null ? duracaoPadraoSegundos : duracaoSegundos;
+        if (segundos <= 0 || segundos > duracaoMaximaSegundos) {
+            throw new IllegalArgumentException("A duração da reserva deve estar entre 1 e " + duracaoMaximaSegundos + " segundos");
+        }
+
+        CervejaResponseDTO cerveja = estoqueEmMemoria != null
+                ? estoqueEmMemoria.reservar(cervejaId, quantidade)
+                : transactionTemplate.execute(status -> reservarNoBanco(cervejaId, quantidade));
+
+        Reserva reserva = Reserva.nova(cervejaId, cerveja.nome(), quantidade, Duration.ofSeconds(segundos));
+        reservas.put(reserva.id(), reserva);
+        vencimentos.offer(reserva);
+        invalidarCache(cerveja.nome());
+        return reserva.toDTO();
+    }
+
+    public ReservaResponseDTO buscarReserva(UUID id) {
+        Reserva reserva = reservas.get(id);
+        if (reserva == null || reserva.vencida()) {
+            throw new ReservaNaoEncontradaException(id);
+        }
+        return reserva.toDTO();
+    }
+
+    public CervejaResponseDTO confirmarReserva(UUID id) {
+        Reserva reserva = retirar(id);
+
+        CervejaResponseDTO cerveja;
+        try {
+            cerveja = estoqueEmMemoria != null
+                    ? estoqueEmMemoria.confirmarReserva(reserva.cervejaId(), reserva.quantidade())
+                    : transactionTemplate.execute(status -> confirmarNoBanco(reserva));
+        } catch (CervejaNaoEncontradaException e) {
+            // A cerveja foi excluída com a reserva aberta: as unidades reservadas sumiram junto
+            throw e;
+        } catch (RuntimeException e) {
+            // Falha transitória ou rollback: a reserva volta a valer, com o mesmo prazo. Sem isso as unidades
+            // ficariam reservadas no banco sem ninguém para confirmar, cancelar ou deixar vencer
+            devolver(reserva);
+            throw e;
+        }
+
+        // Reservar não muda as unidades em estoque; confirmar tira as reservadas de fato
+        agregados.ajustarUnidades(cerveja.tipo(), -reserva.quantidade());
+        estoqueBaixo.ajustarQuantidade(reserva.cervejaId(), -reserva.quantidade());
+        eventos.publicar(TipoEventoEstoque.RESERVA_CONFIRMADA, cerveja.id(), cerveja.nome(), cerveja.tipo(),
+                cerveja.quantidade(), -reserva.quantidade());
+        invalidarCache(reserva.nomeCerveja());
+        return cerveja;
+    }
+
+    public void cancelarReserva(UUID id) {
+        Reserva reserva = retirar(id);
+        liberar(List.of(reserva));
+    }
+
+    public int reservasAtivas() {
+        return reservas.size();
+    }
+
+    // Quem remove a reserva do mapa é o dono dela: confirmação, cancelamento e vencimento nunca atuam duas vezes.
+    // A entrada na DelayQueue fica para trás e é descartada quando vencer (remover da fila custaria O(n))
+    private Reserva retirar(UUID id) {
+        Reserva reserva = reservas.remove(id);
+        if (reserva == null) {
+            throw new ReservaNaoEncontradaException(id);
+        }
+        if (reserva.vencida()) {
+            // Venceu e o varredor ainda não passou: devolve aqui mesmo
+            liberar(List.of(reserva));
+            throw new ReservaNaoEncontradaException(id);
+        }
+        return reserva;
+    }
+
+    // Uma entrada a mais na DelayQueue não tem efeito: só quem remove a reserva do mapa atua sobre ela
+    private void devolver(Reserva reserva) {
+        reservas.put(reserva.id(), reserva);
+        vencimentos.offer(reserva);
+    }
+
+    private CervejaResponseDTO reservarNoBanco(Long cervejaId, Integer quantidade) {
+        if (repository.reservarEstoque(cervejaId, quantidade) == 0) {
+            if (!repository.existsById(cervejaId)) {
+                throw new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + cervejaId);
+            }
+            throw EstoqueInsuficienteException.naReserva(cervejaId, quantidade);
+        }
+        return buscarCerveja(cervejaId);
+    }
+
+    private CervejaResponseDTO confirmarNoBanco(Reserva reserva) {
+        if (repository.confirmarReserva(reserva.cervejaId(), reserva.quantidade()) == 0) {
+            // Só acontece se a cerveja foi excluída com a reserva aberta
+            throw new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + reserva.cervejaId());
+        }
+        livroEstoque.registrar(reserva.cervejaId(), -reserva.quantidade(), MotivoMovimento.RESERVA_CONFIRMADA);
+        return buscarCerveja(reserva.cervejaId());
+    }
+
+    private CervejaResponseDTO buscarCerveja(Long id) {
+        Cerveja cerveja = repository.findById(id)
+                .orElseThrow(() -> new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id));
+        return CervejaMapper.toDTO(cerveja);
+    }
+
+    private void varrerVencimentos() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Bloqueia até a primeira vencer e leva junto todas as que já venceram
+                List<Reserva> vencidas = new ArrayList<>();
+                vencidas.add(vencimentos.take());
+                vencimentos.drainTo(vencidas);
+                expirar(vencidas);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void expirar(List<Reserva> vencidas) {
+        List<Reserva> donas = new ArrayList<>(vencidas.size());
+        for (Reserva reserva : vencidas) {
+            // Confirmadas ou canceladas já saíram do mapa
+            if (reservas.remove(reserva.id(), reserva)) {
+                donas.add(reserva);
+            }
+        }
+        if (donas.isEmpty()) {
+            return;
+        }
+
+        try {
+            liberar(donas);
+        } catch (RuntimeException e) {
+            log.error("Falha ao liberar {} reservas vencidas; nova tentativa em {}", donas.size(), ATRASO_NOVA_TENTATIVA, e);
+            for (Reserva reserva : donas) {
+                Reserva adiada = reserva.adiada(ATRASO_NOVA_TENTATIVA);
+                reservas.put(adiada.id(), adiada);
+                vencimentos.offer(adiada);
+            }
+        }
+    }
+
+    // Soma as quantidades por cerveja: um lote de vencimentos vira um UPDATE por cerveja, numa transação só
+    private void liberar(List<Reserva> liberadas) {
+        Map<Long, Integer> quantidadePorCerveja = new HashMap<>();
+        Set<String> nomes = new HashSet<>();
+        for (Reserva reserva : liberadas) {
+            quantidadePorCerveja.merge(reserva.cervejaId(), reserva.quantidade(), Integer::sum);
+            nomes.add(reserva.nomeCerveja());
+        }
+
+        if (estoqueEmMemoria != null) {
+            quantidadePorCerveja.forEach(estoqueEmMemoria::liberarReserva);
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                    quantidadePorCerveja.forEach(repository::liberarReserva));
+        }
+
+        nomes.forEach(this::invalidarCache);
+    }
+
+    // O DTO em cache traz reservado/disponível; qualquer mudança de reserva derruba a entrada daquela cerveja
+    // e muda a versão do catálogo (as transações acima já terminaram aqui)
+    private void invalidarCache(String nome) {
+        versaoCatalogo.avancar();
+        Cache cache = cacheManager.getCache(CervejaService.CACHE_POR_NOME);
+        if (cache != null) {
+            cache.evict(nome);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.dio.estoque_cerveja.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// Catálogo completo já serializado em JSON, cru e em gzip. É refeito sob demanda na primeira leitura depois
+// que a versão do catálogo muda; até lá, listar tudo é só devolver um dos dois arrays de bytes
+@Component
+public class SnapshotCatalogo {
+
+    @Autowired
+    private CervejaService service;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public record Snapshot(long versao, byte[] json, byte[] gzip) {
+    }
+
+    public Snapshot atual() {
+        Snapshot atual = snapshot;
+        if (atual != null && atual.versao() == versaoCatalogo.atual()) {
+            return atual;
+        }
+        return reconstruir();
+    }
+
+    // Um único leitor refaz o snapshot; os demais que chegam durante a reconstrução esperam e reaproveitam.
+    // ReentrantLock em vez de synchronized: a consulta e o gzip levam tempo, e com threads virtuais
+    // quem espera num monitor fica preso ao carrier
+    private Snapshot reconstruir() {
+        trava.lock();
+        try {
+            // A versão é lida antes da consulta, como nas ETags: uma escrita concorrente só força outra reconstrução
+            long versao = versaoCatalogo.atual();
+            Snapshot atual = snapshot;
+            if (atual != null && atual.versao() == versao) {
+                return atual;
+            }
+
+            byte[] json = serializar();
+            Snapshot novo = new Snapshot(versao, json, comprimir(json));
+            snapshot = novo;
+            return novo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private byte[] serializar() {
+        try {
+            return objectMapper.writeValueAsBytes(service.listarTudo());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
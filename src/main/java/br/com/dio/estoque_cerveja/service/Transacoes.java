@@ -0,0 +1,25 @@
+package br.com.dio.estoque_cerveja.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Estruturas em memória que espelham o banco (índices, contadores) só mudam depois do commit:
+// uma escrita desfeita não deixa rastro. Fora de transação a ação roda na hora
+final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    static void aoConfirmar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.dio.estoque_cerveja.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versão do catálogo inteiro, usada como ETag nas leituras: qualquer escrita que muda o que as leituras
+// devolvem avança o contador, e um If-None-Match com a versão atual é respondido sem tocar no banco
+@Component
+public class VersaoCatalogo {
+
+    // O contador recomeça a cada subida; o prefixo aleatório impede que uma ETag antiga case com a nova numeração
+    private final String instancia = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong versao = new AtomicLong();
+
+    // Dentro de transação, avança só depois do commit/rollback: quem lê captura a ETag antes de consultar,
+    // então uma leitura que cruza a escrita sai marcada com a versão anterior e é revalidada na próxima vez
+    public void avancar() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versao.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                versao.incrementAndGet();
+            }
+        });
+    }
+
+    public long atual() {
+        return versao.get();
+    }
+
+    public String etag() {
+        return "\"" + instancia + "-" + versao.get() + "\"";
+    }
+}
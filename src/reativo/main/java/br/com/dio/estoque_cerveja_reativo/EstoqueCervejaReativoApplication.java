@@ -0,0 +1,40 @@
+package br.com.dio.estoque_cerveja_reativo;
+
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+// Mesma API de /api/cervejas sobre WebFlux (Netty) e R2DBC: nenhuma thread fica presa esperando o banco,
+// e poucas threads de event loop atendem milhares de conexões. Fica num pacote irmão do servlet para as duas
+// aplicações não se enxergarem no component scan; DTOs, enums e exceções são os mesmos
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+@Import(VersaoCatalogo.class)
+public class EstoqueCervejaReativoApplication {
+
+	public static final String PROFILE = "reativo";
+
+	public static void main(String[] args) {
+		aplicacao().run(args);
+	}
+
+	// Com Tomcat e Netty no classpath a aplicação seria servlet; aqui ela é sempre reativa
+	public static SpringApplicationBuilder aplicacao() {
+		return new SpringApplicationBuilder(EstoqueCervejaReativoApplication.class)
+				.web(WebApplicationType.REACTIVE)
+				.profiles(PROFILE);
+	}
+
+	// O Tomcat continua no classpath (é da aplicação servlet) e o Spring Boot o escolheria também para o
+	// WebFlux; o servidor aqui é o Netty, com event loop de poucas threads
+	@Bean
+	public NettyReactiveWebServerFactory servidorNetty() {
+		return new NettyReactiveWebServerFactory();
+	}
+
+}
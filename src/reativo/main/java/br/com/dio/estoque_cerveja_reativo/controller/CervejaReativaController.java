@@ -0,0 +1,147 @@
+package br.com.dio.estoque_cerveja_reativo.controller;
+
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueDecrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueIncrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CervejasLoteRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementosEstoqueRequestDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
+import br.com.dio.estoque_cerveja_reativo.service.CervejaReativaService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+// Contrato de /api/cervejas do CervejaController (rotas, status, headers e corpos) em WebFlux.
+// Busca por nome aproximada, agregados, baixo estoque e eventos dependem das estruturas em memória da
+// aplicação servlet e ficam só lá
+@RestController
+@RequestMapping("/api/cervejas")
+public class CervejaReativaController {
+
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    @Autowired
+    private CervejaReativaService service;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @PostMapping
+    public Mono<ResponseEntity<CervejaResponseDTO>> criar(@Valid @RequestBody CervejaRequestDTO dto) {
+        return service.criarCerveja(dto)
+                .map(novaCerveja -> ResponseEntity.created(URI.create("/api/cervejas/" + novaCerveja.id()))
+                        .body(novaCerveja));
+    }
+
+    @PostMapping("/lote")
+    public Mono<ResponseEntity<List<CriacaoLoteResultadoDTO>>> criarEmLote(@Valid @RequestBody CervejasLoteRequestDTO dto) {
+        return service.criarCervejasEmLote(dto.itens()).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/nome/{nome}")
+    public Mono<ResponseEntity<CervejaResponseDTO>> buscarPorNome(@PathVariable String nome, ServerWebExchange exchange) {
+        String etag = versaoCatalogo.etag();
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(naoModificado(etag));
+        }
+        return service.encontrarPorNome(nome)
+                .map(cerveja -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(cerveja));
+    }
+
+    // O catálogo sai em streaming como um array JSON, sem montar a lista inteira em memória
+    @GetMapping(params = {"!limit", "!after", "!tipo", "!marca", "!quantidadeMin", "!quantidadeMax"})
+    public Mono<ResponseEntity<Flux<CervejaResponseDTO>>> listarTudo(ServerWebExchange exchange) {
+        String etag = versaoCatalogo.etag();
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(naoModificado(etag));
+        }
+        return Mono.just(ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.listarTudo()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<CervejaResponseDTO>>> listarPagina(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) TipoCerveja tipo,
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) Integer quantidadeMin,
+            @RequestParam(required = false) Integer quantidadeMax,
+            ServerWebExchange exchange) {
+
+        String etag = versaoCatalogo.etag();
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(naoModificado(etag));
+        }
+
+        int limite = limit == null ? CervejaReativaService.LIMITE_MAXIMO_PAGINA : limit;
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(tipo, marca, quantidadeMin, quantidadeMax);
+        Mono<CervejaPaginaDTO> pagina = filtro.vazio()
+                ? service.listarPagina(after, limite)
+                : service.filtrar(filtro, after, limite);
+        return pagina.map(resultado -> {
+            ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache());
+            if (resultado.proximoCursor() != null) {
+                resposta.header(HEADER_PROXIMO_CURSOR, resultado.proximoCursor().toString());
+            }
+            return resposta.body(resultado.itens());
+        });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CervejaResponseDTO> exportar() {
+        return service.exportarTudo();
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletar(@PathVariable Long id) {
+        return service.deletarPorId(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @PatchMapping("/{id}/incrementar")
+    public Mono<ResponseEntity<CervejaResponseDTO>> incrementarEstoque(
+            @PathVariable Long id,
+            @RequestBody @Valid CervejaEstoqueIncrementadoDTO cervejaEstoqueIncrementadoDTO) {
+
+        return service.incrementarEstoque(id, cervejaEstoqueIncrementadoDTO.quantidade()).map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{id}/decrementar")
+    public Mono<ResponseEntity<CervejaResponseDTO>> decrementarEstoque(
+            @PathVariable Long id,
+            @RequestBody @Valid CervejaEstoqueDecrementadoDTO cervejaEstoqueDecrementadoDTO) {
+
+        return service.decrementarEstoque(id, cervejaEstoqueDecrementadoDTO.quantidade()).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/estoque/incrementos")
+    public Mono<ResponseEntity<List<IncrementoEstoqueResultadoDTO>>> incrementarEstoqueEmLote(
+            @RequestBody @Valid IncrementosEstoqueRequestDTO incrementosEstoqueRequestDTO) {
+
+        return service.incrementarEstoqueEmLote(incrementosEstoqueRequestDTO.itens()).map(ResponseEntity::ok);
+    }
+
+    // Nem consulta nem serialização: o cliente já tem a versão atual do catálogo
+    private <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+    }
+}
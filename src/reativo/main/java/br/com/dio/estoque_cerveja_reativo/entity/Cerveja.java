@@ -0,0 +1,36 @@
+package br.com.dio.estoque_cerveja_reativo.entity;
+
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Mesma tabela da entidade JPA; o schema está em reativo/schema.sql
+@Table("cervejas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Cerveja {
+    public static final String UK_NOME = "uk_cervejas_nome";
+
+    @Id
+    private Long id;
+
+    private String nome;
+    private String marca;
+    private Integer maximo;
+    private Integer quantidade;
+
+    @Builder.Default
+    private Integer reservado = 0;
+
+    private TipoCerveja tipo;
+
+    @Version
+    private Long versao;
+}
@@ -0,0 +1,118 @@
+package br.com.dio.estoque_cerveja_reativo.exception;
+
+import br.com.dio.estoque_cerveja.exception.ApiException;
+import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+
+// Mesmos status e corpo (ApiException) do GlobalExceptionHandler da aplicação servlet; muda só a forma
+// como o WebFlux sinaliza erros de entrada
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(CervejaNaoEncontradaException.class)
+    public ResponseEntity<ApiException> handleNotFound(CervejaNaoEncontradaException ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.NOT_FOUND, "Recurso não encontrado", ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(CervejaJaExisteException.class)
+    public ResponseEntity<ApiException> handleDuplicate(CervejaJaExisteException ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.CONFLICT, "Conflito de dados", ex.getMessage(), exchange);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiException> handleDataIntegrity(DataIntegrityViolationException ex, ServerWebExchange exchange) {
+        // Violações do índice único de nome que chegam aqui sem terem sido traduzidas pelo service
+        String mensagem = CervejaJaExisteException.causadaPorNomeDuplicado(ex)
+                ? "Já existe uma cerveja cadastrada com esse nome."
+                : "A operação viola uma restrição de integridade dos dados.";
+        return erro(HttpStatus.CONFLICT, "Conflito de dados", mensagem, exchange);
+    }
+
+    @ExceptionHandler({IllegalArgumentException.class, EstoqueExcedidoException.class, EstoqueInsuficienteException.class})
+    public ResponseEntity<ApiException> handleValidation(RuntimeException ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.BAD_REQUEST, "Erro de validação", ex.getMessage(), exchange);
+    }
+
+    // Só aparece se uma escrita futura usar o @Version da entidade; os UPDATEs condicionais não conflitam
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiException> handleConflitoDeVersao(OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.CONFLICT, "Conflito de dados",
+                "O estoque foi alterado por outra operação ao mesmo tempo. Tente novamente.", exchange);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiException> handleValidationExceptions(WebExchangeBindException ex, ServerWebExchange exchange) {
+        String mensagem = ex.getBindingResult().getFieldErrors()
+                .stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .reduce((msg1, msg2) -> msg1 + "; " + msg2)
+                .orElse(ex.getReason());
+        return erro(HttpStatus.BAD_REQUEST, "Erro de validação", mensagem, exchange);
+    }
+
+    @ExceptionHandler(MissingRequestValueException.class)
+    public ResponseEntity<ApiException> handleMissingParam(MissingRequestValueException ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.BAD_REQUEST, "Parâmetro Ausente",
+                "O parâmetro '" + ex.getName() + "' é obrigatório.", exchange);
+    }
+
+    // No WebFlux, JSON mal formado e parâmetro com tipo errado chegam como ServerWebInputException; a causa diferencia
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiException> handleInput(ServerWebInputException ex, ServerWebExchange exchange) {
+        if (ex.getCause() instanceof TypeMismatchException tipoErrado) {
+            String mensagem = String.format("O parâmetro '%s' deve ser do tipo '%s'. Valor fornecido: '%s'",
+                    ex.getMethodParameter() == null ? tipoErrado.getPropertyName() : ex.getMethodParameter().getParameterName(),
+                    tipoErrado.getRequiredType() == null ? "?" : tipoErrado.getRequiredType().getSimpleName(),
+                    tipoErrado.getValue());
+            return erro(HttpStatus.BAD_REQUEST, "Argumento de Método Inválido", mensagem, exchange);
+        }
+        return erro(HttpStatus.BAD_REQUEST, "Erro de desserialização JSON",
+                "O corpo da requisição JSON está mal formado ou contém tipo(s) de dado(s) inválido(s).", exchange);
+    }
+
+    @ExceptionHandler(UnsupportedMediaTypeStatusException.class)
+    public ResponseEntity<ApiException> handleUnsupportedMediaType(UnsupportedMediaTypeStatusException ex, ServerWebExchange exchange) {
+        String supported = ex.getSupportedMediaTypes().stream()
+                .map(MediaType::toString)
+                .reduce((s1, s2) -> s1 + ", " + s2)
+                .orElse("Nenhum");
+        return erro(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de Mídia Não Suportado",
+                "O Content-Type enviado (" + ex.getContentType() + ") não é suportado. Tipos suportados: " + supported,
+                exchange);
+    }
+
+    // Demais erros do próprio WebFlux (rota inexistente, método não suportado) mantêm o status que trazem
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiException> handleResponseStatus(ResponseStatusException ex, ServerWebExchange exchange) {
+        return erro(ex.getStatusCode(), ex.getStatusCode().toString(), ex.getReason(), exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiException> handleGeneric(Exception ex, ServerWebExchange exchange) {
+        return erro(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno no servidor", ex.getMessage(), exchange);
+    }
+
+    private static ResponseEntity<ApiException> erro(HttpStatusCode status, String erro, String mensagem,
+                                                     ServerWebExchange exchange) {
+        ApiException corpo = new ApiException(status.value(), erro, mensagem,
+                exchange.getRequest().getPath().value());
+        return ResponseEntity.status(status).body(corpo);
+    }
+}
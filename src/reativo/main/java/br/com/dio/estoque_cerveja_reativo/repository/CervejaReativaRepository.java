@@ -0,0 +1,53 @@
+package br.com.dio.estoque_cerveja_reativo.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja_reativo.entity.Cerveja;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+public interface CervejaReativaRepository extends R2dbcRepository<Cerveja, Long>, FiltroCervejaReativaRepository {
+
+    // Leituras que montam o DTO direto da linha, como as projeções do repositório JPA
+    String COLUNAS_DTO = "id, nome, marca, maximo, quantidade, tipo, reservado, quantidade - reservado AS disponivel ";
+    String SELECT_DTO = "SELECT " + COLUNAS_DTO + "FROM cervejas ";
+
+    @Query(SELECT_DTO + "WHERE nome = :nome")
+    Mono<CervejaResponseDTO> buscarDTOPorNome(@Param("nome") String nome);
+
+    // Sem LIMIT: o Flux é consumido sob demanda e as linhas vão para a resposta à medida que chegam
+    @Query(SELECT_DTO + "ORDER BY id")
+    Flux<CervejaResponseDTO> listarDTOs();
+
+    // Paginação por keyset: parte do último id visto em vez de usar OFFSET
+    @Query(SELECT_DTO + "WHERE id > :id ORDER BY id LIMIT :limite")
+    Flux<CervejaResponseDTO> listarDTOsAposId(@Param("id") Long id, @Param("limite") int limite);
+
+    @Query("SELECT nome FROM cervejas WHERE nome IN (:nomes)")
+    Flux<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    // Soma e checagem do máximo na mesma instrução, e a linha já atualizada volta no mesmo round trip
+    // (FINAL TABLE do H2). Vazio se a cerveja não existe ou se o máximo seria excedido
+    @Query("SELECT " + COLUNAS_DTO + "FROM FINAL TABLE (UPDATE cervejas " +
+            "SET quantidade = quantidade + :quantidade, versao = versao + 1 " +
+            "WHERE id = :id AND quantidade + :quantidade <= maximo)")
+    Mono<CervejaResponseDTO> incrementarEstoqueAteMaximo(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    // Mesma ideia na saída: o estoque nunca fica negativo nem abaixo do reservado. Sem leitura antes da escrita,
+    // não há conflito de versão para tentar de novo como no decremento com lock otimista do servlet
+    @Query("SELECT " + COLUNAS_DTO + "FROM FINAL TABLE (UPDATE cervejas " +
+            "SET quantidade = quantidade - :quantidade, versao = versao + 1 " +
+            "WHERE id = :id AND quantidade - :quantidade >= reservado)")
+    Mono<CervejaResponseDTO> decrementarEstoque(@Param("id") Long id, @Param("quantidade") Integer quantidade);
+
+    @Modifying
+    @Query("DELETE FROM cervejas WHERE id = :id")
+    Mono<Integer> excluir(@Param("id") Long id);
+}
@@ -0,0 +1,11 @@
+package br.com.dio.estoque_cerveja_reativo.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import reactor.core.publisher.Flux;
+
+public interface FiltroCervejaReativaRepository {
+
+    // Consulta dinâmica com paginação por keyset (id > aposId, ordenado por id)
+    Flux<CervejaResponseDTO> filtrarDTOs(FiltroCervejaDTO filtro, Long aposId, int limite);
+}
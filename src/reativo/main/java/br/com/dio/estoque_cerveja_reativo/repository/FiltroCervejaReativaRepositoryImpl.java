@@ -0,0 +1,42 @@
+package br.com.dio.estoque_cerveja_reativo.repository;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja_reativo.entity.Cerveja;
+import br.com.dio.estoque_cerveja_reativo.mapper.CervejaReativaMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+// Fragmento do CervejaReativaRepository: só os filtros informados entram no WHERE, como no
+// CervejaSpecifications da aplicação servlet
+public class FiltroCervejaReativaRepositoryImpl implements FiltroCervejaReativaRepository {
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Override
+    public Flux<CervejaResponseDTO> filtrarDTOs(FiltroCervejaDTO filtro, Long aposId, int limite) {
+        Criteria criterio = Criteria.where("id").greaterThan(aposId);
+        if (filtro.tipo() != null) {
+            criterio = criterio.and("tipo").is(filtro.tipo().name());
+        }
+        if (filtro.marca() != null) {
+            criterio = criterio.and("marca").is(filtro.marca());
+        }
+        if (filtro.quantidadeMin() != null) {
+            criterio = criterio.and("quantidade").greaterThanOrEquals(filtro.quantidadeMin());
+        }
+        if (filtro.quantidadeMax() != null) {
+            criterio = criterio.and("quantidade").lessThanOrEquals(filtro.quantidadeMax());
+        }
+
+        return template.select(Cerveja.class)
+                .matching(Query.query(criterio).sort(Sort.by("id")).limit(limite))
+                .all()
+                .map(CervejaReativaMapper::toDTO);
+    }
+}
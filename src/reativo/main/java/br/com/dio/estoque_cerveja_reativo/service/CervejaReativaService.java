@@ -0,0 +1,234 @@
+package br.com.dio.estoque_cerveja_reativo.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
+import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.service.CervejaService;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
+import br.com.dio.estoque_cerveja_reativo.entity.Cerveja;
+import br.com.dio.estoque_cerveja_reativo.mapper.CervejaReativaMapper;
+import br.com.dio.estoque_cerveja_reativo.repository.CervejaReativaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Mesmas regras do CervejaService, sem bloquear: cada método devolve um Mono/Flux e as validações viram
+// sinal de erro. O máximo e o saldo são garantidos por UPDATEs condicionais, sem ler antes de escrever
+@Service
+public class CervejaReativaService {
+
+    public static final int LIMITE_MAXIMO_PAGINA = CervejaService.LIMITE_MAXIMO_PAGINA;
+
+    @Autowired
+    private CervejaReativaRepository repository;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @Autowired
+    private TransactionalOperator transacao;
+
+    public Mono<CervejaResponseDTO> criarCerveja(CervejaRequestDTO dto) {
+        return Mono.defer(() -> {
+                    validarQuantidades(dto);
+                    return repository.save(CervejaReativaMapper.toEntity(dto));
+                })
+                .map(CervejaReativaMapper::toDTO)
+                // Nome duplicado é barrado pelo índice único, sem consulta prévia
+                .onErrorMap(DataIntegrityViolationException.class, e -> CervejaJaExisteException.causadaPorNomeDuplicado(e)
+                        ? new CervejaJaExisteException("Já existe uma cerveja cadastrada com o nome: " + dto.nome())
+                        : e)
+                .transform(this::escrita);
+    }
+
+    public Mono<List<CriacaoLoteResultadoDTO>> criarCervejasEmLote(List<CervejaRequestDTO> dtos) {
+        // Uma única consulta IN para saber quais nomes do lote já estão cadastrados
+        Set<String> nomes = dtos.stream().map(CervejaRequestDTO::nome).collect(Collectors.toSet());
+        Mono<List<CriacaoLoteResultadoDTO>> lote = repository.findNomesExistentes(nomes)
+                .collect(Collectors.toSet())
+                .flatMap(nomesExistentes -> {
+                    Set<String> nomesNoLote = new HashSet<>();
+                    CriacaoLoteResultadoDTO[] resultados = new CriacaoLoteResultadoDTO[dtos.size()];
+                    List<Cerveja> novas = new ArrayList<>();
+                    List<Integer> posicoesNovas = new ArrayList<>();
+
+                    for (int i = 0; i < dtos.size(); i++) {
+                        CervejaRequestDTO dto = dtos.get(i);
+                        try {
+                            validarQuantidades(dto);
+                        } catch (IllegalArgumentException e) {
+                            resultados[i] = new CriacaoLoteResultadoDTO(dto.nome(), StatusCriacao.INVALIDA, e.getMessage(), null);
+                            continue;
+                        }
+                        if (nomesExistentes.contains(dto.nome()) || !nomesNoLote.add(dto.nome())) {
+                            resultados[i] = new CriacaoLoteResultadoDTO(dto.nome(), StatusCriacao.JA_EXISTE,
+                                    "Já existe uma cerveja cadastrada com o nome: " + dto.nome(), null);
+                            continue;
+                        }
+                        novas.add(CervejaReativaMapper.toEntity(dto));
+                        posicoesNovas.add(i);
+                    }
+
+                    return repository.saveAll(novas).collectList().map(salvas -> {
+                        for (int j = 0; j < salvas.size(); j++) {
+                            Cerveja salva = salvas.get(j);
+                            resultados[posicoesNovas.get(j)] = new CriacaoLoteResultadoDTO(salva.getNome(),
+                                    StatusCriacao.CRIADA, null, CervejaReativaMapper.toDTO(salva));
+                        }
+                        return Arrays.asList(resultados);
+                    });
+                });
+        return lote.as(transacao::transactional).transform(this::escrita);
+    }
+
+    public Mono<CervejaResponseDTO> encontrarPorNome(String nome) {
+        return repository.buscarDTOPorNome(nome)
+                .switchIfEmpty(Mono.error(() -> new CervejaNaoEncontradaException("Cerveja não encontrada com o nome: " + nome)));
+    }
+
+    public Flux<CervejaResponseDTO> listarTudo() {
+        return repository.listarDTOs();
+    }
+
+    public Mono<CervejaPaginaDTO> listarPagina(Long apos, int limite) {
+        return Mono.defer(() -> {
+            validarLimite(limite);
+
+            // Busca um item a mais só para saber se existe próxima página
+            return repository.listarDTOsAposId(apos == null ? 0L : apos, limite + 1)
+                    .collectList()
+                    .map(cervejas -> paginar(cervejas, limite));
+        });
+    }
+
+    public Mono<CervejaPaginaDTO> filtrar(FiltroCervejaDTO filtro, Long apos, int limite) {
+        return Mono.defer(() -> {
+            validarLimite(limite);
+            if (filtro.quantidadeMin() != null && filtro.quantidadeMax() != null
+                    && filtro.quantidadeMin() > filtro.quantidadeMax()) {
+                throw new IllegalArgumentException("quantidadeMin não pode ser maior que quantidadeMax");
+            }
+
+            return repository.filtrarDTOs(filtro, apos == null ? 0L : apos, limite + 1)
+                    .collectList()
+                    .map(cervejas -> paginar(cervejas, limite));
+        });
+    }
+
+    // As linhas seguem para o cliente conforme chegam do banco, com a contrapressão do próprio Flux
+    public Flux<CervejaResponseDTO> exportarTudo() {
+        return repository.listarDTOs();
+    }
+
+    public Mono<Void> deletarPorId(Long id) {
+        return repository.excluir(id)
+                .flatMap(linhas -> linhas == 0
+                        ? Mono.<Void>error(new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id))
+                        : Mono.<Void>empty())
+                .transform(this::escrita);
+    }
+
+    public Mono<CervejaResponseDTO> incrementarEstoque(Long id, Integer quantidadeParaIncrementar) {
+        return Mono.defer(() -> {
+                    validarQuantidadePositiva(quantidadeParaIncrementar);
+                    return repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)
+                            // Nenhuma linha alterada: ou a cerveja não existe ou o máximo seria excedido
+                            .switchIfEmpty(naoAlterada(id, new EstoqueExcedidoException(id, quantidadeParaIncrementar)));
+                })
+                .transform(this::escrita);
+    }
+
+    public Mono<CervejaResponseDTO> decrementarEstoque(Long id, Integer quantidadeParaDecrementar) {
+        return Mono.defer(() -> {
+                    validarQuantidadePositiva(quantidadeParaDecrementar);
+                    return repository.decrementarEstoque(id, quantidadeParaDecrementar)
+                            .switchIfEmpty(naoAlterada(id, new EstoqueInsuficienteException(id, quantidadeParaDecrementar)));
+                })
+                .transform(this::escrita);
+    }
+
+    // Itens em sequência e numa transação só, como no servlet; o mesmo id repetido acumula os incrementos
+    public Mono<List<IncrementoEstoqueResultadoDTO>> incrementarEstoqueEmLote(List<IncrementoEstoqueItemDTO> itens) {
+        return Flux.fromIterable(itens)
+                .concatMap(this::aplicarIncremento)
+                .collectList()
+                .as(transacao::transactional)
+                .transform(this::escrita);
+    }
+
+    private Mono<IncrementoEstoqueResultadoDTO> aplicarIncremento(IncrementoEstoqueItemDTO item) {
+        return repository.incrementarEstoqueAteMaximo(item.id(), item.quantidade())
+                .map(cerveja -> new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(), StatusIncremento.OK,
+                        null, cerveja.quantidade()))
+                .switchIfEmpty(Mono.defer(() -> repository.findById(item.id())
+                        .map(cerveja -> new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(),
+                                StatusIncremento.ESTOQUE_EXCEDIDO,
+                                new EstoqueExcedidoException(item.id(), item.quantidade()).getMessage(),
+                                cerveja.getQuantidade()))
+                        .defaultIfEmpty(new IncrementoEstoqueResultadoDTO(item.id(), item.quantidade(),
+                                StatusIncremento.NAO_ENCONTRADA, "Cerveja não encontrada com id: " + item.id(), null))));
+    }
+
+    // O UPDATE condicional não diz por que não alterou nada: só então vale a consulta extra
+    private Mono<CervejaResponseDTO> naoAlterada(Long id, RuntimeException regraViolada) {
+        return Mono.defer(() -> repository.existsById(id))
+                .flatMap(existe -> Mono.error(existe
+                        ? regraViolada
+                        : new CervejaNaoEncontradaException("Cerveja não encontrada com id: " + id)));
+    }
+
+    // A versão do catálogo avança depois que a escrita termina (com o commit, quando há transação):
+    // quem lê captura a ETag antes de consultar, então uma leitura que cruza a escrita é revalidada depois
+    private <T> Mono<T> escrita(Mono<T> escrita) {
+        return escrita.doFinally(sinal -> versaoCatalogo.avancar());
+    }
+
+    private void validarQuantidades(CervejaRequestDTO dto) {
+        if (dto.quantidade() < 0) {
+            throw new IllegalArgumentException("A quantidade não pode ser negativa!");
+        }
+        if (dto.quantidade() > dto.maximo()) {
+            throw new IllegalArgumentException("A quantidade inicial não pode exceder o máximo permitido!");
+        }
+    }
+
+    private void validarQuantidadePositiva(Integer quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+    }
+
+    private void validarLimite(int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA);
+        }
+    }
+
+    private CervejaPaginaDTO paginar(List<CervejaResponseDTO> cervejas, int limite) {
+        boolean temProxima = cervejas.size() > limite;
+        List<CervejaResponseDTO> itens = temProxima ? cervejas.subList(0, limite) : cervejas;
+        Long proximoCursor = temProxima ? itens.get(itens.size() - 1).id() : null;
+
+        return new CervejaPaginaDTO(itens, proximoCursor);
+    }
+}
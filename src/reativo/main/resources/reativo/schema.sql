@@ -0,0 +1,16 @@
+-- Mesma tabela e índices que o Hibernate gera para a entidade Cerveja da aplicação servlet
+CREATE TABLE IF NOT EXISTS cervejas (
+    id         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nome       VARCHAR(255) NOT NULL,
+    marca      VARCHAR(255) NOT NULL,
+    maximo     INTEGER      NOT NULL,
+    quantidade INTEGER      NOT NULL,
+    reservado  INTEGER      NOT NULL DEFAULT 0,
+    tipo       VARCHAR(20)  NOT NULL,
+    versao     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_cervejas_nome UNIQUE (nome)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cervejas_marca_tipo_quantidade ON cervejas (marca, tipo, quantidade);
+CREATE INDEX IF NOT EXISTS idx_cervejas_tipo_quantidade ON cervejas (tipo, quantidade);
+CREATE INDEX IF NOT EXISTS idx_cervejas_quantidade ON cervejas (quantidade);
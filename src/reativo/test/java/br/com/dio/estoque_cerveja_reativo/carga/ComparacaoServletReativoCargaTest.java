@@ -0,0 +1,161 @@
+package br.com.dio.estoque_cerveja_reativo.carga;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import br.com.dio.estoque_cerveja_reativo.EstoqueCervejaReativoApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Mesma carga na aplicação servlet (Tomcat + JPA) e na reativa (Netty + R2DBC): muitas conexões abertas ao
+// mesmo tempo em PATCH /{id}/incrementar e GET /nome/{nome}. Além de vazão e latência, conta as threads do
+// servidor ao fim de cada rodada. Fora do build normal:
+// ./mvnw -Preativo test -Dgroups=carga -DexcludedGroups= -Dtest=ComparacaoServletReativoCargaTest
+@Tag("carga")
+public class ComparacaoServletReativoCargaTest {
+
+    private static final int CONEXOES = Integer.getInteger("carga.conexoes", 2_000);
+    private static final int REQUISICOES = Integer.getInteger("carga.requisicoes", 40_000);
+    private static final int AQUECIMENTO = Integer.getInteger("carga.aquecimento", 5_000);
+    private static final Path RELATORIO = Path.of("target", "carga-servlet-reativo.txt");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @Test
+    void compararServletEReativo() throws Exception {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("Java " + Runtime.version() + " | conexoes=" + CONEXOES + " | requisicoes=" + REQUISICOES);
+        linhas.add(String.format("%-8s %-12s %12s %10s %10s %8s %8s", "pilha", "endpoint", "req/s", "p50 ms", "p99 ms",
+                "threads", "erros"));
+
+        List<Resultado> resultados = new ArrayList<>();
+        try (ConfigurableApplicationContext servlet = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga-servlet",
+                        "logging.level.root=WARN")
+                .run()) {
+            resultados.addAll(medir("servlet", servlet, "http-nio-"));
+        }
+        try (ConfigurableApplicationContext reativo = EstoqueCervejaReativoApplication.aplicacao()
+                .properties(
+                        "server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///carga-reativo;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run()) {
+            resultados.addAll(medir("reativo", reativo, "reactor-http-"));
+        }
+
+        for (Resultado resultado : resultados) {
+            linhas.add(resultado.formatar());
+        }
+        Files.createDirectories(RELATORIO.getParent());
+        Files.write(RELATORIO, linhas);
+        linhas.forEach(System.out::println);
+
+        for (Resultado resultado : resultados) {
+            assertEquals(0, resultado.erros, "Requisições com erro em " + resultado.pilha + "/" + resultado.endpoint);
+        }
+    }
+
+    private List<Resultado> medir(String pilha, ConfigurableApplicationContext contexto, String prefixoThreads)
+            throws Exception {
+        String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/cervejas";
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // A cerveja da carga é cadastrada pela própria API, igual nas duas pilhas
+        HttpResponse<String> criada = cliente.send(HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"nome\":\"Carga\",\"marca\":\"Carga\"," +
+                                "\"maximo\":" + Integer.MAX_VALUE / 2 + ",\"quantidade\":0,\"tipo\":\"LAGER\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, criada.statusCode(), criada.body());
+        Matcher id = ID.matcher(criada.body());
+        assertTrue(id.find());
+
+        HttpRequest incrementar = HttpRequest.newBuilder(URI.create(base + "/" + id.group(1) + "/incrementar"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantidade\":1}"))
+                .build();
+        HttpRequest buscarPorNome = HttpRequest.newBuilder(URI.create(base + "/nome/Carga")).GET().build();
+
+        return List.of(
+                disparar(pilha, "incrementar", cliente, incrementar, prefixoThreads),
+                disparar(pilha, "nome", cliente, buscarPorNome, prefixoThreads));
+    }
+
+    // Até CONEXOES requisições em voo, sem uma thread de cliente por conexão: o limite de concorrência é a
+    // quantidade de conexões, e não o tamanho de um pool de threads do lado do teste
+    private Resultado disparar(String pilha, String endpoint, HttpClient cliente, HttpRequest requisicao,
+                               String prefixoThreads) throws Exception {
+        rodar(cliente, requisicao, AQUECIMENTO, new long[AQUECIMENTO], new AtomicInteger());
+
+        long[] latencias = new long[REQUISICOES];
+        AtomicInteger erros = new AtomicInteger();
+        long inicio = System.nanoTime();
+        rodar(cliente, requisicao, REQUISICOES, latencias, erros);
+        long duracao = System.nanoTime() - inicio;
+
+        long threads = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(prefixoThreads))
+                .count();
+        Arrays.sort(latencias);
+        return new Resultado(pilha, endpoint,
+                REQUISICOES / (duracao / 1e9),
+                latencias[(int) (REQUISICOES * 0.50)] / 1e6,
+                latencias[(int) (REQUISICOES * 0.99)] / 1e6,
+                threads,
+                erros.get());
+    }
+
+    private void rodar(HttpClient cliente, HttpRequest requisicao, int total, long[] latencias, AtomicInteger erros)
+            throws InterruptedException {
+        Semaphore emVoo = new Semaphore(CONEXOES);
+        CountDownLatch concluidas = new CountDownLatch(total);
+        for (int i = 0; i < total; i++) {
+            emVoo.acquire();
+            int indice = i;
+            long t0 = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+                latencias[indice] = System.nanoTime() - t0;
+                if (erro != null || resposta.statusCode() != 200) {
+                    erros.incrementAndGet();
+                }
+                emVoo.release();
+                concluidas.countDown();
+            });
+        }
+        assertTrue(concluidas.await(10, TimeUnit.MINUTES), "Carga não terminou a tempo");
+    }
+
+    private record Resultado(String pilha, String endpoint, double porSegundo, double p50, double p99, long threads,
+                             int erros) {
+        String formatar() {
+            return String.format("%-8s %-12s %12.0f %10.2f %10.2f %8d %8d", pilha, endpoint, porSegundo, p50, p99,
+                    threads, erros);
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package br.com.dio.estoque_cerveja_reativo.controller;
+
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueDecrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueIncrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CervejasLoteRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementosEstoqueRequestDTO;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
+import br.com.dio.estoque_cerveja_reativo.service.CervejaReativaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// Os cenários do CervejaControllerTest contra o controller WebFlux: mesmas rotas, status, headers e corpos de erro
+@WebFluxTest(CervejaReativaController.class)
+public class CervejaReativaControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CervejaReativaService cervejaService;
+
+    @MockitoBean
+    private VersaoCatalogo versaoCatalogo;
+
+    private static final String ETAG = "\"teste-7\"";
+
+    private static final CervejaRequestDTO HEINEKEN_REQUEST = new CervejaRequestDTO(
+            "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+
+    private static final CervejaResponseDTO HEINEKEN = new CervejaResponseDTO(
+            1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+
+    @BeforeEach
+    void setUp() {
+        when(versaoCatalogo.etag()).thenReturn(ETAG);
+    }
+
+    @Test
+    void deveRetornar201_QuandoCriarCervejaComSucesso() {
+        // Arrange
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class))).thenReturn(Mono.just(HEINEKEN));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(HEINEKEN_REQUEST)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals("Location", "/api/cervejas/1")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.nome").isEqualTo("Heineken")
+                .jsonPath("$.marca").isEqualTo("Heineken")
+                .jsonPath("$.maximo").isEqualTo(100)
+                .jsonPath("$.quantidade").isEqualTo(50)
+                .jsonPath("$.tipo").isEqualTo("LAGER");
+
+        verify(cervejaService, times(1)).criarCerveja(any(CervejaRequestDTO.class));
+    }
+
+    @Test
+    void deveRetornar400_QuandoQuantidadeNegativa() {
+        // Act & Assert - @Min(0) no DTO: o service nunca é chamado
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaRequestDTO("Heineken", "Heineken", 100, -5, TipoCerveja.LAGER))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Erro de validação")
+                .jsonPath("$.mensagem").isEqualTo("quantidade: A quantidade inicial não pode ser negativa");
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveRetornar400_QuandoRequestBodyInvalido() {
+        // Act & Assert - JSON mal formado
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{ \"nome\": \"Heineken\", \"marca\": }")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Erro de desserialização JSON");
+
+        verify(cervejaService, never()).criarCerveja(any(CervejaRequestDTO.class));
+    }
+
+    @Test
+    void deveRetornar415_QuandoContentTypeInvalido() throws Exception {
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.TEXT_PLAIN)
+                .bodyValue(objectMapper.writeValueAsString(HEINEKEN_REQUEST))
+                .exchange()
+                .expectStatus().isEqualTo(415)
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Tipo de Mídia Não Suportado");
+
+        verify(cervejaService, never()).criarCerveja(any(CervejaRequestDTO.class));
+    }
+
+    @Test
+    void deveRetornar500_QuandoErroInterno() {
+        // Arrange
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class)))
+                .thenReturn(Mono.error(new RuntimeException("Erro interno inesperado")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(HEINEKEN_REQUEST)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Erro interno inesperado");
+    }
+
+    @Test
+    void deveRetornar200_QuandoCriarCervejasEmLote() {
+        // Arrange
+        when(cervejaService.criarCervejasEmLote(anyList())).thenReturn(Mono.just(List.of(
+                new CriacaoLoteResultadoDTO("Heineken", StatusCriacao.CRIADA, null, HEINEKEN),
+                new CriacaoLoteResultadoDTO("Skol", StatusCriacao.JA_EXISTE,
+                        "Já existe uma cerveja cadastrada com o nome: Skol", null)
+        )));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejasLoteRequestDTO(List.of(HEINEKEN_REQUEST,
+                        new CervejaRequestDTO("Skol", "Ambev", 120, 80, TipoCerveja.PILSEN))))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo("CRIADA")
+                .jsonPath("$[0].cerveja.id").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo("JA_EXISTE");
+
+        verify(cervejaService, never()).criarCerveja(any(CervejaRequestDTO.class));
+    }
+
+    @Test
+    void deveRetornar400_QuandoLoteDeCriacaoTemItemInvalido() {
+        // Act & Assert - nome em branco
+        webTestClient.post().uri("/api/cervejas/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejasLoteRequestDTO(List.of(
+                        new CervejaRequestDTO("", "Heineken", 100, 50, TipoCerveja.LAGER))))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(cervejaService, never()).criarCervejasEmLote(anyList());
+    }
+
+    @Test
+    void deveRetornar200_QuandoBuscarPorNomeComSucesso() {
+        // Arrange
+        when(cervejaService.encontrarPorNome("Heineken")).thenReturn(Mono.just(HEINEKEN));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas/nome/{nome}", "Heineken")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.nome").isEqualTo("Heineken")
+                .jsonPath("$.tipo").isEqualTo("LAGER");
+    }
+
+    @Test
+    void deveRetornar404_QuandoBuscarPorNomeNaoEncontrado() {
+        // Arrange
+        when(cervejaService.encontrarPorNome("CervejaInexistente")).thenReturn(Mono.error(
+                new CervejaNaoEncontradaException("Cerveja não encontrada com o nome: CervejaInexistente")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas/nome/{nome}", "CervejaInexistente")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas/nome/CervejaInexistente");
+    }
+
+    @Test
+    void deveRetornar304SemConsultarService_QuandoBuscarPorNomeComETagAtual() {
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas/nome/{nome}", "Heineken")
+                .header("If-None-Match", ETAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectBody().isEmpty();
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveRetornar304SemConsultarService_QuandoListarTudoComETagAtual() {
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas")
+                .header("If-None-Match", ETAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveRetornar200_QuandoListarTudoComETagDesatualizada() {
+        // Arrange
+        when(cervejaService.listarPagina(null, 10)).thenReturn(Mono.just(new CervejaPaginaDTO(List.of(), null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas?limit=10")
+                .header("If-None-Match", "\"teste-6\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG);
+    }
+
+    @Test
+    void deveRetornar200_QuandoListarTodasCervejasComSucesso() {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(Flux.just(
+                HEINEKEN,
+                new CervejaResponseDTO(2L, "Skol", "Ambev", 120, 80, TipoCerveja.PILSEN),
+                new CervejaResponseDTO(3L, "Colorado", "Colorado", 60, 25, TipoCerveja.IPA)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].nome").isEqualTo("Heineken")
+                .jsonPath("$[1].marca").isEqualTo("Ambev")
+                .jsonPath("$[2].tipo").isEqualTo("IPA");
+
+        verify(cervejaService, never()).listarPagina(any(), anyInt());
+    }
+
+    @Test
+    void deveRetornar200_QuandoListaVazia() {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(Flux.empty());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void deveRetornarPaginaComHeaderDeCursor_QuandoInformarLimit() {
+        // Arrange
+        when(cervejaService.listarPagina(2L, 2)).thenReturn(Mono.just(new CervejaPaginaDTO(List.of(
+                new CervejaResponseDTO(3L, "Colorado", "Colorado", 60, 25, TipoCerveja.IPA),
+                new CervejaResponseDTO(4L, "Skol", "Ambev", 120, 80, TipoCerveja.PILSEN)
+        ), 4L)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas?limit=2&after=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CervejaReativaController.HEADER_PROXIMO_CURSOR, "4")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(3)
+                .jsonPath("$[1].id").isEqualTo(4);
+
+        verify(cervejaService, never()).listarTudo();
+    }
+
+    @Test
+    void deveOmitirHeaderDeCursor_QuandoUltimaPagina() {
+        // Arrange
+        when(cervejaService.listarPagina(null, 10)).thenReturn(Mono.just(new CervejaPaginaDTO(List.of(), null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas?limit=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(CervejaReativaController.HEADER_PROXIMO_CURSOR)
+                .expectBody().json("[]");
+    }
+
+    @Test
+    void deveFiltrarPorTipoMarcaEQuantidade_QuandoInformarFiltros() {
+        // Arrange
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(TipoCerveja.IPA, "Colorado", null, 10);
+        when(cervejaService.filtrar(filtro, null, CervejaReativaService.LIMITE_MAXIMO_PAGINA)).thenReturn(Mono.just(
+                new CervejaPaginaDTO(List.of(
+                        new CervejaResponseDTO(3L, "Colorado Indica", "Colorado", 60, 5, TipoCerveja.IPA)), null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas?tipo=IPA&marca=Colorado&quantidadeMax=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].nome").isEqualTo("Colorado Indica");
+
+        verify(cervejaService, never()).listarTudo();
+        verify(cervejaService, never()).listarPagina(any(), anyInt());
+    }
+
+    @Test
+    void deveRetornar400_QuandoTipoDoFiltroInvalido() {
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas?tipo=CHOPP")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Argumento de Método Inválido");
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveExportarCatalogoEmNdjson() throws Exception {
+        // Arrange
+        when(cervejaService.exportarTudo()).thenReturn(Flux.just(
+                HEINEKEN, new CervejaResponseDTO(2L, "Skol", "Ambev", 120, 80, TipoCerveja.PILSEN)));
+
+        // Act
+        String corpo = webTestClient.get().uri("/api/cervejas/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        String[] linhas = corpo.split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals(1L, objectMapper.readValue(linhas[0], CervejaResponseDTO.class).id());
+        assertEquals("Skol", objectMapper.readValue(linhas[1], CervejaResponseDTO.class).nome());
+        verify(cervejaService, never()).listarTudo();
+    }
+
+    @Test
+    void deveRetornar204_QuandoDeletarCervejaComSucesso() {
+        // Arrange
+        when(cervejaService.deletarPorId(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/cervejas/{id}", 1L)
+                .exchange()
+                .expectStatus().isNoContent()
+                .expectBody().isEmpty();
+
+        verify(cervejaService, times(1)).deletarPorId(1L);
+    }
+
+    @Test
+    void deveRetornar404_QuandoDeletarCervejaInexistente() {
+        // Arrange
+        when(cervejaService.deletarPorId(999L)).thenReturn(Mono.error(
+                new CervejaNaoEncontradaException("Cerveja não encontrada com id: 999")));
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/cervejas/{id}", 999L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.erro").isEqualTo("Recurso não encontrado")
+                .jsonPath("$.mensagem").isEqualTo("Cerveja não encontrada com id: 999")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas/999")
+                .jsonPath("$.timestamp").exists();
+    }
+
+    @Test
+    void deveRetornar400_QuandoQuantidadeExcedeMaximo() {
+        // Arrange
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class))).thenReturn(Mono.error(
+                new IllegalArgumentException("A quantidade inicial não pode exceder o máximo permitido!")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaRequestDTO("Heineken", "Heineken", 100, 150, TipoCerveja.LAGER))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.erro").isEqualTo("Erro de validação")
+                .jsonPath("$.mensagem").isEqualTo("A quantidade inicial não pode exceder o máximo permitido!")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas")
+                .jsonPath("$.timestamp").exists();
+    }
+
+    @Test
+    void deveRetornar409_QuandoCervejaJaExiste() {
+        // Arrange
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class))).thenReturn(Mono.error(
+                new CervejaJaExisteException("Já existe uma cerveja cadastrada com o nome: Heineken")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(HEINEKEN_REQUEST)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.erro").isEqualTo("Conflito de dados")
+                .jsonPath("$.mensagem").isEqualTo("Já existe uma cerveja cadastrada com o nome: Heineken");
+    }
+
+    @Test
+    void deveRetornar409_QuandoIndiceUnicoDeNomeViolado() {
+        // Arrange
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class))).thenReturn(Mono.error(
+                new DataIntegrityViolationException("Unique index violation: PUBLIC.UK_CERVEJAS_NOME_INDEX_A")));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(HEINEKEN_REQUEST)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Já existe uma cerveja cadastrada com esse nome.");
+    }
+
+    @Test
+    void deveRetornar500_QuandoErroInternoAoListar() {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(Flux.error(new RuntimeException("Erro de conexão com o banco de dados")));
+
+        // Act & Assert
+        webTestClient.get().uri("/api/cervejas")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(500)
+                .jsonPath("$.erro").isEqualTo("Erro interno no servidor")
+                .jsonPath("$.mensagem").isEqualTo("Erro de conexão com o banco de dados")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas");
+    }
+
+    @Test
+    void deveRetornar500_QuandoErroInternoAoDeletar() {
+        // Arrange
+        when(cervejaService.deletarPorId(1L)).thenReturn(Mono.error(new RuntimeException("Erro de conexão com o banco")));
+
+        // Act & Assert
+        webTestClient.delete().uri("/api/cervejas/{id}", 1L)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Erro de conexão com o banco")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas/1");
+    }
+
+    @Test
+    void deveRetornar200_QuandoIncrementarEstoqueComSucesso() {
+        // Arrange
+        when(cervejaService.incrementarEstoque(1L, 10)).thenReturn(Mono.just(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 60, TipoCerveja.LAGER)));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/incrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueIncrementadoDTO(10))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.quantidade").isEqualTo(60);
+
+        verify(cervejaService, times(1)).incrementarEstoque(1L, 10);
+    }
+
+    @Test
+    void deveRetornar404_QuandoIncrementarCervejaInexistente() {
+        // Arrange
+        when(cervejaService.incrementarEstoque(99L, 10)).thenReturn(Mono.error(
+                new CervejaNaoEncontradaException("Cerveja não encontrada com id: 99")));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/incrementar", 99L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueIncrementadoDTO(10))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Cerveja não encontrada com id: 99")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas/99/incrementar");
+    }
+
+    @Test
+    void deveRetornar400_QuandoIncrementarEstoqueExcedeMaximo() {
+        // Arrange
+        when(cervejaService.incrementarEstoque(1L, 1000)).thenReturn(Mono.error(new EstoqueExcedidoException(1L, 1000)));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/incrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueIncrementadoDTO(1000))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Erro de validação")
+                .jsonPath("$.mensagem").isEqualTo("Não é possível incrementar 1000 unidades. Estoque máximo excedido para a cerveja com id: 1");
+    }
+
+    @Test
+    void deveRetornar400_QuandoQuantidadeParaIncrementarInvalida() {
+        // Act & Assert - @Positive
+        webTestClient.patch().uri("/api/cervejas/{id}/incrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueIncrementadoDTO(0))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(cervejaService, never()).incrementarEstoque(anyLong(), anyInt());
+    }
+
+    @Test
+    void deveRetornar500_QuandoErroInternoAoIncrementar() {
+        // Arrange
+        when(cervejaService.incrementarEstoque(1L, 5)).thenReturn(Mono.error(new RuntimeException("Erro inesperado no banco de dados")));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/incrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueIncrementadoDTO(5))
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Erro inesperado no banco de dados");
+    }
+
+    @Test
+    void deveRetornar200_QuandoDecrementarEstoqueComSucesso() {
+        // Arrange
+        when(cervejaService.decrementarEstoque(1L, 10)).thenReturn(Mono.just(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 40, TipoCerveja.LAGER)));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/decrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueDecrementadoDTO(10))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantidade").isEqualTo(40);
+    }
+
+    @Test
+    void deveRetornar400_QuandoDecrementoDeixariaEstoqueNegativo() {
+        // Arrange
+        when(cervejaService.decrementarEstoque(1L, 500)).thenReturn(Mono.error(new EstoqueInsuficienteException(1L, 500)));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/decrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueDecrementadoDTO(500))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.mensagem").isEqualTo("Não é possível decrementar 500 unidades. Estoque insuficiente para a cerveja com id: 1")
+                .jsonPath("$.caminho").isEqualTo("/api/cervejas/1/decrementar");
+    }
+
+    @Test
+    void deveRetornar409_QuandoConflitoDeVersao() {
+        // Arrange
+        when(cervejaService.decrementarEstoque(1L, 1)).thenReturn(Mono.error(
+                new OptimisticLockingFailureException("Versão desatualizada")));
+
+        // Act & Assert
+        webTestClient.patch().uri("/api/cervejas/{id}/decrementar", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CervejaEstoqueDecrementadoDTO(1))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.erro").isEqualTo("Conflito de dados");
+    }
+
+    @Test
+    void deveRetornar200_QuandoIncrementarEstoqueEmLoteComFalhaParcial() {
+        // Arrange
+        when(cervejaService.incrementarEstoqueEmLote(anyList())).thenReturn(Mono.just(List.of(
+                new IncrementoEstoqueResultadoDTO(1L, 10, StatusIncremento.OK, null, 60),
+                new IncrementoEstoqueResultadoDTO(99L, 5, StatusIncremento.NAO_ENCONTRADA,
+                        "Cerveja não encontrada com id: 99", null))));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/cervejas/estoque/incrementos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new IncrementosEstoqueRequestDTO(List.of(
+                        new IncrementoEstoqueItemDTO(1L, 10), new IncrementoEstoqueItemDTO(99L, 5))))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].quantidadeAtual").isEqualTo(60)
+                .jsonPath("$[1].status").isEqualTo("NAO_ENCONTRADA");
+    }
+
+    @Test
+    void deveRetornar400_QuandoLoteDeIncrementosInvalido() {
+        // Act & Assert - quantidade zero em um dos itens
+        webTestClient.post().uri("/api/cervejas/estoque/incrementos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new IncrementosEstoqueRequestDTO(List.of(
+                        new IncrementoEstoqueItemDTO(1L, 10), new IncrementoEstoqueItemDTO(2L, 0))))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(cervejaService, never()).incrementarEstoqueEmLote(anyList());
+    }
+}
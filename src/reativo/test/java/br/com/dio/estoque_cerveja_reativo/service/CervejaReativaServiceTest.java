@@ -0,0 +1,191 @@
+package br.com.dio.estoque_cerveja_reativo.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
+import br.com.dio.estoque_cerveja_reativo.EstoqueCervejaReativoApplication;
+import br.com.dio.estoque_cerveja_reativo.repository.CervejaReativaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contra o H2 de verdade via R2DBC: o que interessa aqui são os UPDATEs condicionais e as consultas
+@SpringBootTest(classes = EstoqueCervejaReativoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles(EstoqueCervejaReativoApplication.PROFILE)
+public class CervejaReativaServiceTest {
+
+    @Autowired
+    private CervejaReativaService service;
+
+    @Autowired
+    private CervejaReativaRepository repository;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAll().block();
+    }
+
+    @Test
+    void deveCriarEBuscarPorNome() {
+        // Arrange
+        long versaoAntes = versaoCatalogo.atual();
+
+        // Act
+        CervejaResponseDTO criada = service.criarCerveja(
+                new CervejaRequestDTO("Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)).block();
+        CervejaResponseDTO encontrada = service.encontrarPorNome("Heineken").block();
+
+        // Assert
+        assertNotNull(criada.id());
+        assertEquals(new CervejaResponseDTO(criada.id(), "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER), encontrada);
+        assertTrue(versaoCatalogo.atual() > versaoAntes);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoNomeJaExiste() {
+        // Arrange
+        CervejaRequestDTO dto = new CervejaRequestDTO("Skol", "Ambev", 100, 10, TipoCerveja.LAGER);
+        service.criarCerveja(dto).block();
+
+        // Act & Assert
+        assertThrows(CervejaJaExisteException.class, () -> service.criarCerveja(dto).block());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoQuantidadeInicialExcedeMaximo() {
+        assertThrows(IllegalArgumentException.class, () -> service.criarCerveja(
+                new CervejaRequestDTO("Brahma", "Ambev", 10, 11, TipoCerveja.LAGER)).block());
+    }
+
+    @Test
+    void deveRespeitarMaximo_QuandoIncrementosConcorrentes() {
+        // Arrange
+        Long id = service.criarCerveja(new CervejaRequestDTO("Disputada", "Marca", 100, 0, TipoCerveja.IPA)).block().id();
+
+        // Act - 300 incrementos de 1 em paralelo para 100 unidades livres
+        List<Boolean> aceitos = Flux.range(0, 300)
+                .flatMap(i -> service.incrementarEstoque(id, 1)
+                        .map(cerveja -> true)
+                        .onErrorResume(EstoqueExcedidoException.class, e -> Mono.just(false)), 64)
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(100, aceitos.stream().filter(aceito -> aceito).count());
+        assertEquals(100, service.encontrarPorNome("Disputada").block().quantidade());
+    }
+
+    @Test
+    void deveDevolverCervejaAtualizada_QuandoIncrementarEDecrementar() {
+        // Arrange
+        Long id = service.criarCerveja(new CervejaRequestDTO("Bohemia", "Ambev", 50, 10, TipoCerveja.PILSEN)).block().id();
+
+        // Act
+        CervejaResponseDTO incrementada = service.incrementarEstoque(id, 15).block();
+        CervejaResponseDTO decrementada = service.decrementarEstoque(id, 20).block();
+
+        // Assert
+        assertEquals(25, incrementada.quantidade());
+        assertEquals(5, decrementada.quantidade());
+        assertEquals(5, decrementada.disponivel());
+    }
+
+    @Test
+    void deveDistinguirInexistenteDeRegraViolada_QuandoUpdateNaoAlteraNada() {
+        // Arrange
+        Long id = service.criarCerveja(new CervejaRequestDTO("Stella", "AB InBev", 20, 5, TipoCerveja.LAGER)).block().id();
+
+        // Act & Assert
+        assertThrows(EstoqueExcedidoException.class, () -> service.incrementarEstoque(id, 16).block());
+        assertThrows(EstoqueInsuficienteException.class, () -> service.decrementarEstoque(id, 6).block());
+        assertThrows(CervejaNaoEncontradaException.class, () -> service.incrementarEstoque(id + 1000, 1).block());
+        assertThrows(CervejaNaoEncontradaException.class, () -> service.decrementarEstoque(id + 1000, 1).block());
+        assertThrows(IllegalArgumentException.class, () -> service.incrementarEstoque(id, 0).block());
+        assertEquals(5, service.encontrarPorNome("Stella").block().quantidade());
+    }
+
+    @Test
+    void devePaginarEFiltrarPorKeyset() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            service.criarCerveja(new CervejaRequestDTO("Pagina " + i, i % 2 == 0 ? "Par" : "Impar", 100, i * 10,
+                    TipoCerveja.ALE)).block();
+        }
+
+        // Act
+        CervejaPaginaDTO primeira = service.listarPagina(null, 2).block();
+        CervejaPaginaDTO ultima = service.listarPagina(primeira.proximoCursor(), 10).block();
+        CervejaPaginaDTO filtrada = service.filtrar(new FiltroCervejaDTO(TipoCerveja.ALE, "Impar", 20, null), null, 10).block();
+
+        // Assert
+        assertEquals(List.of("Pagina 1", "Pagina 2"), primeira.itens().stream().map(CervejaResponseDTO::nome).toList());
+        assertNotNull(primeira.proximoCursor());
+        assertEquals(3, ultima.itens().size());
+        assertNull(ultima.proximoCursor());
+        assertEquals(List.of("Pagina 3", "Pagina 5"), filtrada.itens().stream().map(CervejaResponseDTO::nome).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.listarPagina(null, 0).block());
+        assertThrows(IllegalArgumentException.class, () -> service.filtrar(
+                new FiltroCervejaDTO(null, null, 10, 5), null, 10).block());
+    }
+
+    @Test
+    void deveExcluirUmaVez_ELancarExcecaoNaSegunda() {
+        // Arrange
+        Long id = service.criarCerveja(new CervejaRequestDTO("Efemera", "Marca", 10, 1, TipoCerveja.STOUT)).block().id();
+
+        // Act
+        service.deletarPorId(id).block();
+
+        // Assert
+        assertThrows(CervejaNaoEncontradaException.class, () -> service.deletarPorId(id).block());
+        assertEquals(0, service.exportarTudo().count().block());
+    }
+
+    @Test
+    void deveDevolverResultadoPorItem_QuandoCriarEIncrementarEmLote() {
+        // Arrange
+        service.criarCerveja(new CervejaRequestDTO("Existente", "Marca", 10, 1, TipoCerveja.LAGER)).block();
+
+        // Act
+        List<CriacaoLoteResultadoDTO> criacao = service.criarCervejasEmLote(List.of(
+                new CervejaRequestDTO("Nova", "Marca", 10, 8, TipoCerveja.LAGER),
+                new CervejaRequestDTO("Existente", "Marca", 10, 1, TipoCerveja.LAGER),
+                new CervejaRequestDTO("Invalida", "Marca", 10, 11, TipoCerveja.LAGER))).block();
+        Long novaId = criacao.get(0).cerveja().id();
+        List<IncrementoEstoqueResultadoDTO> incrementos = service.incrementarEstoqueEmLote(List.of(
+                new IncrementoEstoqueItemDTO(novaId, 1),
+                new IncrementoEstoqueItemDTO(novaId, 1),
+                new IncrementoEstoqueItemDTO(novaId, 1),
+                new IncrementoEstoqueItemDTO(novaId + 1000, 1))).block();
+
+        // Assert
+        assertEquals(List.of(StatusCriacao.CRIADA, StatusCriacao.JA_EXISTE, StatusCriacao.INVALIDA),
+                criacao.stream().map(CriacaoLoteResultadoDTO::status).toList());
+        assertEquals(List.of(StatusIncremento.OK, StatusIncremento.OK, StatusIncremento.ESTOQUE_EXCEDIDO,
+                StatusIncremento.NAO_ENCONTRADA), incrementos.stream().map(IncrementoEstoqueResultadoDTO::status).toList());
+        assertEquals(10, incrementos.get(2).quantidadeAtual());
+    }
+}
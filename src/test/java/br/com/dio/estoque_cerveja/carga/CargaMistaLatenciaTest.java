@@ -0,0 +1,254 @@
+package br.com.dio.estoque_cerveja.carga;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Carga ponta a ponta numa taxa de chegada fixa (modelo aberto): as requisições saem no horário previsto,
+// responda o servidor rápido ou não, numa mistura configurável de cadastro, busca por nome, listagem e
+// incremento. A latência é medida a partir do horário previsto, e não do envio: se o disparador atrasar
+// (servidor lento, limite de requisições em voo, pausa de GC), a espera entra na conta e o histograma não
+// sofre de omissão coordenada. Fora do build normal: ./mvnw -Pcarga test -Dtest=CargaMistaLatenciaTest
+@Tag("carga")
+public class CargaMistaLatenciaTest {
+
+    private static final int TAXA = Integer.getInteger("carga.taxa", 200);
+    private static final int DURACAO_SEGUNDOS = Integer.getInteger("carga.duracao-segundos", 30);
+    private static final int AQUECIMENTO_SEGUNDOS = Integer.getInteger("carga.aquecimento-segundos", 10);
+    private static final String MIX = System.getProperty("carga.mix", "criar=10,nome=50,listar=10,incrementar=30");
+    private static final int MAX_EM_VOO = Integer.getInteger("carga.max-em-voo", 2_000);
+    private static final long SEMENTE = Long.getLong("carga.semente", 42L);
+    private static final String ROTULO = System.getProperty("carga.rotulo", "local");
+    private static final Path SAIDA = Path.of(System.getProperty("carga.saida", "target/carga"));
+    private static final int CERVEJAS_INICIAIS = 200;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // Uma operação da mistura: peso relativo, como montar a próxima requisição e o status de sucesso
+    private record Operacao(String nome, int peso, Supplier<HttpRequest> requisicao, int statusEsperado) {
+    }
+
+    // Latência desde o horário previsto (corrigida) e desde o envio de fato (só para comparação), em microssegundos
+    private static final class Medicao {
+        final Histogram latencia = new ConcurrentHistogram(3);
+        final Histogram servico = new ConcurrentHistogram(3);
+        final LongAdder erros = new LongAdder();
+
+        void reiniciar() {
+            latencia.reset();
+            servico.reset();
+            erros.reset();
+        }
+    }
+
+    @Test
+    void medirLatenciasComTaxaDeChegadaFixa() throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga-mista",
+                        "logging.level.root=WARN")
+                .run()) {
+
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/cervejas";
+            List<Operacao> operacoes = montarMistura(base, cadastrarIniciais(base));
+            Map<String, Medicao> medicoes = new LinkedHashMap<>();
+            operacoes.forEach(operacao -> medicoes.put(operacao.nome(), new Medicao()));
+
+            disparar(operacoes, medicoes, AQUECIMENTO_SEGUNDOS, new Random(SEMENTE));
+            medicoes.values().forEach(Medicao::reiniciar);
+            long duracaoNanos = disparar(operacoes, medicoes, DURACAO_SEGUNDOS, new Random(SEMENTE + 1));
+
+            List<String> linhas = relatorio(medicoes, duracaoNanos);
+            Files.createDirectories(SAIDA);
+            Files.write(SAIDA.resolve("latencias.txt"), linhas);
+            for (Map.Entry<String, Medicao> medicao : medicoes.entrySet()) {
+                try (PrintStream saida = new PrintStream(SAIDA.resolve(medicao.getKey() + ".hgrm").toFile())) {
+                    // Distribuição completa em milissegundos, no formato que o HdrHistogram plotter lê
+                    medicao.getValue().latencia.outputPercentileDistribution(saida, 1000.0);
+                }
+            }
+            linhas.forEach(System.out::println);
+
+            medicoes.forEach((nome, medicao) ->
+                    assertEquals(0, medicao.erros.sum(), "Requisições com erro em " + nome));
+        }
+    }
+
+    // Devolve o tempo do primeiro horário previsto até a última resposta
+    private long disparar(List<Operacao> operacoes, Map<String, Medicao> medicoes, int segundos, Random sorteio)
+            throws InterruptedException {
+        int pesoTotal = operacoes.stream().mapToInt(Operacao::peso).sum();
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / TAXA;
+        long total = (long) TAXA * segundos;
+        Semaphore emVoo = new Semaphore(MAX_EM_VOO);
+
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera;
+            while ((espera = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            Operacao operacao = sortear(operacoes, pesoTotal, sorteio);
+            Medicao medicao = medicoes.get(operacao.nome());
+            HttpRequest requisicao = operacao.requisicao().get();
+            // Com o limite atingido o disparador espera, mas o relógio da requisição já está correndo desde 'previsto'
+            emVoo.acquire();
+            long envio = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).whenComplete((resposta, erro) -> {
+                long fim = System.nanoTime();
+                medicao.latencia.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - previsto));
+                medicao.servico.recordValue(TimeUnit.NANOSECONDS.toMicros(fim - envio));
+                if (erro != null || resposta.statusCode() != operacao.statusEsperado()) {
+                    medicao.erros.increment();
+                }
+                emVoo.release();
+            });
+        }
+
+        assertTrue(emVoo.tryAcquire(MAX_EM_VOO, 2, TimeUnit.MINUTES), "Requisições ainda em voo depois de 2 minutos");
+        return System.nanoTime() - inicio;
+    }
+
+    private List<Operacao> montarMistura(String base, List<Long> ids) {
+        Random escolha = new Random(SEMENTE);
+        long[] cadastradas = {0};
+        Map<String, Operacao> disponiveis = new LinkedHashMap<>();
+        disponiveis.put("criar", new Operacao("criar", 0, () -> json(base, "POST",
+                cerveja("Carga " + ++cadastradas[0], 1_000, 0)), 201));
+        disponiveis.put("nome", new Operacao("nome", 0, () -> HttpRequest.newBuilder(
+                URI.create(base + "/nome/Inicial%20" + escolha.nextInt(CERVEJAS_INICIAIS))).GET().build(), 200));
+        disponiveis.put("listar", new Operacao("listar", 0, () -> HttpRequest.newBuilder(
+                URI.create(base + "?limit=50&after=" + ids.get(escolha.nextInt(ids.size())))).GET().build(), 200));
+        disponiveis.put("incrementar", new Operacao("incrementar", 0, () -> json(
+                base + "/" + ids.get(escolha.nextInt(ids.size())) + "/incrementar", "PATCH", "{\"quantidade\":1}"), 200));
+
+        List<Operacao> mistura = new ArrayList<>();
+        for (String parte : MIX.split(",")) {
+            String[] nomeEPeso = parte.trim().split("=");
+            Operacao operacao = disponiveis.get(nomeEPeso[0].trim());
+            if (operacao == null || nomeEPeso.length != 2) {
+                throw new IllegalArgumentException("carga.mix inválido: '" + parte + "'. Operações: " + disponiveis.keySet());
+            }
+            int peso = Integer.parseInt(nomeEPeso[1].trim());
+            if (peso > 0) {
+                mistura.add(new Operacao(operacao.nome(), peso, operacao.requisicao(), operacao.statusEsperado()));
+            }
+        }
+        if (mistura.isEmpty()) {
+            throw new IllegalArgumentException("carga.mix sem nenhuma operação com peso positivo");
+        }
+        return mistura;
+    }
+
+    // Catálogo inicial pela própria API, com máximo folgado para os incrementos nunca esbarrarem nele
+    private List<Long> cadastrarIniciais(String base) throws Exception {
+        StringBuilder itens = new StringBuilder();
+        for (int i = 0; i < CERVEJAS_INICIAIS; i++) {
+            itens.append(i == 0 ? "" : ",").append(cerveja("Inicial " + i, Integer.MAX_VALUE / 2, 0));
+        }
+        HttpResponse<String> resposta = cliente.send(json(base + "/lote", "POST", "{\"itens\":[" + itens + "]}"),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, resposta.statusCode(), resposta.body());
+
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode resultado : objectMapper.readTree(resposta.body())) {
+            ids.add(resultado.path("cerveja").path("id").asLong());
+        }
+        return ids;
+    }
+
+    private List<String> relatorio(Map<String, Medicao> medicoes, long duracaoNanos) {
+        double segundos = duracaoNanos / 1e9;
+        List<String> linhas = new ArrayList<>();
+        linhas.add(ROTULO + " | " + Instant.now() + " | Java " + Runtime.version() + " | "
+                + Runtime.getRuntime().availableProcessors() + " CPUs");
+        linhas.add("taxa=" + TAXA + " req/s | duracao=" + DURACAO_SEGUNDOS + " s | aquecimento=" + AQUECIMENTO_SEGUNDOS
+                + " s | mix=" + MIX + " | max-em-voo=" + MAX_EM_VOO + " | semente=" + SEMENTE);
+        linhas.add("Latências em ms desde o horário previsto; 'p99 envio' mede desde o envio e mostra quanto a "
+                + "correção de omissão coordenada acrescenta");
+        linhas.add(String.format("%-12s %10s %10s %10s %10s %10s %11s %8s",
+                "endpoint", "req/s", "p50", "p99", "p99.9", "max", "p99 envio", "erros"));
+
+        Histogram total = new Histogram(3);
+        long erros = 0;
+        for (Map.Entry<String, Medicao> medicao : medicoes.entrySet()) {
+            Medicao valores = medicao.getValue();
+            linhas.add(linha(medicao.getKey(), valores.latencia, valores.servico, valores.erros.sum(), segundos));
+            total.add(valores.latencia);
+            erros += valores.erros.sum();
+        }
+        linhas.add(String.format("%-12s %10.1f %10.2f %10.2f %10.2f %10.2f %11s %8d", "total",
+                total.getTotalCount() / segundos, ms(total, 50), ms(total, 99), ms(total, 99.9),
+                total.getMaxValue() / 1000.0, "-", erros));
+        return linhas;
+    }
+
+    private static String linha(String endpoint, Histogram latencia, Histogram servico, long erros, double segundos) {
+        return String.format("%-12s %10.1f %10.2f %10.2f %10.2f %10.2f %11.2f %8d", endpoint,
+                latencia.getTotalCount() / segundos, ms(latencia, 50), ms(latencia, 99), ms(latencia, 99.9),
+                latencia.getMaxValue() / 1000.0, ms(servico, 99), erros);
+    }
+
+    private static double ms(Histogram histograma, double percentil) {
+        return histograma.getValueAtPercentile(percentil) / 1000.0;
+    }
+
+    private static Operacao sortear(List<Operacao> operacoes, int pesoTotal, Random sorteio) {
+        int alvo = sorteio.nextInt(pesoTotal);
+        for (Operacao operacao : operacoes) {
+            alvo -= operacao.peso();
+            if (alvo < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException("Peso total inconsistente");
+    }
+
+    private static HttpRequest json(String uri, String metodo, String corpo) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method(metodo, HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    private static String cerveja(String nome, int maximo, int quantidade) {
+        return "{\"nome\":\"" + nome + "\",\"marca\":\"Carga\",\"maximo\":" + maximo
+                + ",\"quantidade\":" + quantidade + ",\"tipo\":\"LAGER\"}";
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.dio.estoque_cerveja.carga;
+
+import br.com.dio.estoque_cerveja.EstoqueCervejaApplication;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara threads de plataforma e virtuais no Tomcat com muitos clientes simultâneos em
+// PATCH /{id}/incrementar e GET /nome/{nome}. Fora do build normal:
+// ./mvnw -Pjava21 test -Dgroups=carga -DexcludedGroups= -Dtest=ComparacaoThreadsCargaTest
+@Tag("carga")
+public class ComparacaoThreadsCargaTest {
+
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 400);
+    private static final int REQUISICOES = Integer.getInteger("carga.requisicoes", 40_000);
+    private static final Path RELATORIO = Path.of("target", "carga-threads.txt");
+
+    @Test
+    void compararThreadsDePlataformaEVirtuais() throws Exception {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("Java " + Runtime.version() + " | clientes=" + CLIENTES + " | requisicoes=" + REQUISICOES);
+        linhas.add(String.format("%-10s %-10s %12s %10s %10s %10s", "modo", "endpoint", "req/s", "p50 ms", "p99 ms", "erros"));
+
+        for (boolean virtuais : new boolean[]{false, true}) {
+            if (virtuais && Runtime.version().feature() < 21) {
+                linhas.add("virtual    não medido: o profile 'virtual' exige Java 21");
+                continue;
+            }
+            for (Resultado resultado : medir(virtuais)) {
+                linhas.add(resultado.formatar());
+                assertEquals(0, resultado.erros, "Requisições com erro em " + resultado.modo + "/" + resultado.endpoint);
+            }
+        }
+
+        Files.createDirectories(RELATORIO.getParent());
+        Files.write(RELATORIO, linhas);
+        linhas.forEach(System.out::println);
+    }
+
+    // O modo virtual sobe com o profile 'virtual' inteiro (threads virtuais e o pool Hikari ajustado), e não só
+    // com a flag. Os profiles vão como argumentos de linha de comando: com -Pjava21 o surefire já ativa 'virtual'
+    // por propriedade de sistema, que passaria por cima de qualquer valor dado em properties()
+    private List<Resultado> medir(boolean virtuais) throws Exception {
+        String modo = virtuais ? "virtual" : "plataforma";
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(EstoqueCervejaApplication.class)
+                .run(
+                        "--spring.profiles.active=" + (virtuais ? "virtual" : "default"),
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + modo,
+                        "--logging.level.root=WARN")) {
+
+            assertEquals(virtuais, contexto.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false),
+                    "Modo " + modo + " subiu com a configuração de threads errada");
+            int porta = Integer.parseInt(contexto.getEnvironment().getProperty("local.server.port"));
+            Cerveja cerveja = contexto.getBean(CervejaRepository.class).save(Cerveja.builder()
+                    .nome("Carga")
+                    .marca("Carga")
+                    .maximo(Integer.MAX_VALUE / 2)
+                    .quantidade(0)
+                    .tipo(TipoCerveja.LAGER)
+                    .build());
+
+            String base = "http://localhost:" + porta + "/api/cervejas";
+            HttpRequest incrementar = HttpRequest.newBuilder(URI.create(base + "/" + cerveja.getId() + "/incrementar"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantidade\":1}"))
+                    .build();
+            HttpRequest buscarPorNome = HttpRequest.newBuilder(URI.create(base + "/nome/Carga")).GET().build();
+
+            return List.of(
+                    disparar(modo, "incrementar", incrementar),
+                    disparar(modo, "nome", buscarPorNome));
+        }
+    }
+
+    private Resultado disparar(String modo, String endpoint, HttpRequest requisicao) throws Exception {
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] latencias = new long[REQUISICOES];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+
+        long inicio = System.nanoTime();
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int c = 0; c < CLIENTES; c++) {
+            futuros.add(clientes.submit(() -> {
+                int i;
+                while ((i = proxima.getAndIncrement()) < REQUISICOES) {
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                        if (resposta.statusCode() != 200) {
+                            erros.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        erros.incrementAndGet();
+                    }
+                    latencias[i] = System.nanoTime() - t0;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get(10, TimeUnit.MINUTES);
+        }
+        long duracao = System.nanoTime() - inicio;
+        clientes.shutdown();
+
+        Arrays.sort(latencias);
+        return new Resultado(modo, endpoint,
+                REQUISICOES / (duracao / 1e9),
+                latencias[(int) (REQUISICOES * 0.50)] / 1e6,
+                latencias[(int) (REQUISICOES * 0.99)] / 1e6,
+                erros.get());
+    }
+
+    private record Resultado(String modo, String endpoint, double porSegundo, double p50, double p99, int erros) {
+        String formatar() {
+            return String.format("%-10s %-10s %12.0f %10.2f %10.2f %10d", modo, endpoint, porSegundo, p50, p99, erros);
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package br.com.dio.estoque_cerveja.controller;
 
 
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaEstoqueDecrementadoDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaEstoqueIncrementadoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CervejasLoteRequestDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.DivergenciaAgregadoDTO;
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.dto.EventoEstoqueDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementosEstoqueRequestDTO;
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
 import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
 import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
 import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
 import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
 import br.com.dio.estoque_cerveja.service.CervejaService;
+import br.com.dio.estoque_cerveja.service.EventosEstoque;
+import br.com.dio.estoque_cerveja.service.SnapshotCatalogo;
+import br.com.dio.estoque_cerveja.service.VersaoCatalogo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.mockito.Mockito.*;
@@ -16,23 +38,40 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CervejaController.class)
+@Import(SnapshotCatalogo.class)
 public class CervejaControllerTest {
 
     @Autowired
@@ -44,6 +83,23 @@ public class CervejaControllerTest {
     @MockitoBean
     private CervejaService cervejaService;
 
+    @MockitoBean
+    private VersaoCatalogo versaoCatalogo;
+
+    @MockitoBean
+    private EventosEstoque eventosEstoque;
+
+    private static final String ETAG = "\"teste-7\"";
+    private static final String ETAG_GZIP = "\"teste-7-gzip\"";
+
+    // O snapshot do catálogo sobrevive entre os testes (contexto compartilhado); cada teste vê uma versão nova
+    private static final AtomicLong VERSAO = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        when(versaoCatalogo.etag()).thenReturn(ETAG);
+        when(versaoCatalogo.atual()).thenReturn(VERSAO.incrementAndGet());
+    }
 
     @Test
     void deveRetornar201_QuandoCriarCervejaComSucesso() throws Exception {
@@ -163,6 +219,49 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).criarCerveja(any(CervejaRequestDTO.class));
     }
 
+    @Test
+    void deveRetornar200_QuandoCriarCervejasEmLote() throws Exception {
+        // Arrange
+        CervejasLoteRequestDTO requestDTO = new CervejasLoteRequestDTO(List.of(
+                new CervejaRequestDTO("Heineken", "Heineken", 100, 50, TipoCerveja.LAGER),
+                new CervejaRequestDTO("Skol", "Ambev", 120, 80, TipoCerveja.PILSEN)
+        ));
+
+        when(cervejaService.criarCervejasEmLote(anyList())).thenReturn(List.of(
+                new CriacaoLoteResultadoDTO("Heineken", StatusCriacao.CRIADA, null,
+                        new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)),
+                new CriacaoLoteResultadoDTO("Skol", StatusCriacao.JA_EXISTE,
+                        "Já existe uma cerveja cadastrada com o nome: Skol", null)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cervejas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$[0].cerveja.id").value(1))
+                .andExpect(jsonPath("$[1].status").value("JA_EXISTE"));
+
+        verify(cervejaService, never()).criarCerveja(any(CervejaRequestDTO.class));
+    }
+
+    @Test
+    void deveRetornar400_QuandoLoteDeCriacaoTemItemInvalido() throws Exception {
+        // Arrange - nome em branco
+        CervejasLoteRequestDTO requestDTO = new CervejasLoteRequestDTO(List.of(
+                new CervejaRequestDTO("", "Heineken", 100, 50, TipoCerveja.LAGER)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cervejas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(cervejaService, never()).criarCervejasEmLote(anyList());
+    }
+
     @Test
     void deveRetornar200_QuandoBuscarPorNomeComSucesso() throws Exception {
         // Arrange
@@ -208,8 +307,250 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).encontrarPorNome(nomeCerveja);
     }
 
+    @Test
+    void deveRetornar304SemConsultarService_QuandoBuscarPorNomeComETagAtual() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/nome/{nome}", "Heineken")
+                        .header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verify(cervejaService, never()).encontrarPorNome(anyString());
+    }
+
+    @Test
+    void deveRetornarSugestoes_QuandoBuscarPorParteDoNome() throws Exception {
+        // Arrange
+        when(cervejaService.buscarPorNome("hein", 5)).thenReturn(List.of(
+                new SugestaoNomeDTO(1L, "Heineken", 0),
+                new SugestaoNomeDTO(2L, "Heineken Zero", 0)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/busca").param("q", "hein").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Heineken"))
+                .andExpect(jsonPath("$[0].distancia").value(0));
+    }
+
+    @Test
+    void deveRetornarTotaisPorTipo_QuandoConsultarAgregados() throws Exception {
+        // Arrange
+        when(cervejaService.agregadosPorTipo()).thenReturn(List.of(
+                AgregadoTipoDTO.de(TipoCerveja.LAGER, 2, 150, 200),
+                AgregadoTipoDTO.de(TipoCerveja.IPA, 0, 0, 0)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/agregados"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].tipo").value("LAGER"))
+                .andExpect(jsonPath("$[0].unidades").value(150))
+                .andExpect(jsonPath("$[0].capacidade").value(200))
+                .andExpect(jsonPath("$[0].ocupacao").value(0.75))
+                .andExpect(jsonPath("$[1].ocupacao").value(0.0));
+    }
+
+    @Test
+    void deveRetornarDivergencias_QuandoConciliarAgregados() throws Exception {
+        // Arrange
+        when(cervejaService.conciliarAgregados()).thenReturn(new ConciliacaoAgregadosDTO(false, List.of(
+                new DivergenciaAgregadoDTO(TipoCerveja.STOUT,
+                        AgregadoTipoDTO.de(TipoCerveja.STOUT, 1, 10, 50),
+                        AgregadoTipoDTO.de(TipoCerveja.STOUT, 1, 12, 50)))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/agregados/conciliacao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistente").value(false))
+                .andExpect(jsonPath("$.divergencias[0].tipo").value("STOUT"))
+                .andExpect(jsonPath("$.divergencias[0].contadores.unidades").value(10))
+                .andExpect(jsonPath("$.divergencias[0].banco.unidades").value(12));
+    }
+
+    @Test
+    void deveRetornarCervejasPertoDeAcabar_QuandoConsultarBaixoEstoque() throws Exception {
+        // Arrange
+        when(cervejaService.listarEstoqueBaixo(2, 0.3)).thenReturn(List.of(
+                new EstoqueBaixoDTO(2L, "Skol", 3, 120, 0.025),
+                new EstoqueBaixoDTO(3L, "Colorado", 6, 60, 0.1)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/baixo-estoque").param("top", "2").param("limiar", "0.3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Skol"))
+                .andExpect(jsonPath("$[0].ocupacao").value(0.025))
+                .andExpect(jsonPath("$[1].quantidade").value(6));
+    }
+
+    @Test
+    void deveUsarTop50ELimiarConfigurado_QuandoParametrosOmitidos() throws Exception {
+        // Arrange
+        when(cervejaService.listarEstoqueBaixo(50, null)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/baixo-estoque"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        verify(cervejaService).listarEstoqueBaixo(50, null);
+    }
+
+    @Test
+    void deveAbrirStreamDeEventos_ComFiltrosELastEventId() throws Exception {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(eventosEstoque.assinar("9f3a-41", Set.of(1L, 2L), Set.of(TipoCerveja.IPA))).thenReturn(emitter);
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/cervejas/eventos")
+                        .param("id", "1", "2")
+                        .param("tipo", "IPA")
+                        .header("Last-Event-ID", "9f3a-41")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("9f3a-42").data(new EventoEstoqueDTO(42L, TipoEventoEstoque.INCREMENTO, 1L,
+                "Colorado Appia", TipoCerveja.IPA, 30, 5, Instant.EPOCH), MediaType.APPLICATION_JSON));
+        emitter.complete();
+
+        // Assert
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertTrue(corpo.startsWith("id:9f3a-42\ndata:{"), corpo);
+        assertTrue(corpo.contains("\"evento\":\"INCREMENTO\""), corpo);
+        assertTrue(corpo.contains("\"delta\":5"), corpo);
+    }
+
+    @Test
+    void deveRetornar400_QuandoBuscarSemTermo() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas/busca"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cervejaService);
+    }
+
     // ===== TESTES PARA listarTudo() =====
 
+    @Test
+    void deveRetornarETag_QuandoListarTudo() throws Exception {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(List.of(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void deveServirSnapshotEmGzip_QuandoClienteAceitaGzip() throws Exception {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(List.of(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/cervejas")
+                        .header("Accept-Encoding", "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", ETAG_GZIP))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andReturn();
+
+        // Assert
+        byte[] comprimido = resultado.getResponse().getContentAsByteArray();
+        String json;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        CervejaResponseDTO[] cervejas = objectMapper.readValue(json, CervejaResponseDTO[].class);
+        assertEquals(1, cervejas.length);
+        assertEquals("Heineken", cervejas[0].nome());
+    }
+
+    @Test
+    void deveServirSnapshotSemCompressao_QuandoGzipRecusado() throws Exception {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(List.of(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas")
+                        .header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(jsonPath("$[0].nome").value("Heineken"));
+    }
+
+    @Test
+    void deveReaproveitarSnapshot_QuandoVersaoNaoMuda() throws Exception {
+        // Arrange
+        when(cervejaService.listarTudo()).thenReturn(List.of(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER)));
+
+        // Act
+        mockMvc.perform(get("/api/cervejas")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/cervejas").header("Accept-Encoding", "gzip")).andExpect(status().isOk());
+
+        // Assert - o catálogo foi lido e serializado uma única vez
+        verify(cervejaService, times(1)).listarTudo();
+    }
+
+    @Test
+    void deveRetornar304SemConsultarService_QuandoListarTudoComETagAtual() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas")
+                        .header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveRetornar304ComETagGzip_QuandoListarTudoEmGzipComQualquerETagAtual() throws Exception {
+        // Act & Assert - a ETag do JSON cru também valida a versão atual, mas a resposta leva a da representação gzip
+        mockMvc.perform(get("/api/cervejas")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"outra-1\", " + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG_GZIP));
+        mockMvc.perform(get("/api/cervejas")
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "W/" + ETAG_GZIP))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG_GZIP));
+
+        verifyNoInteractions(cervejaService);
+    }
+
+    @Test
+    void deveRetornar200_QuandoListarTudoComETagDesatualizada() throws Exception {
+        // Arrange
+        when(cervejaService.listarPagina(null, 10)).thenReturn(new CervejaPaginaDTO(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas")
+                        .param("limit", "10")
+                        .header("If-None-Match", "\"teste-6\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG));
+
+        verify(cervejaService, times(1)).listarPagina(null, 10);
+    }
+
     @Test
     void deveRetornar200_QuandoListarTodasCervejasComSucesso() throws Exception {
         // Arrange
@@ -248,6 +589,70 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).listarTudo();
     }
 
+    @Test
+    void deveRetornarPaginaComHeaderDeCursor_QuandoInformarLimit() throws Exception {
+        // Arrange
+        CervejaPaginaDTO pagina = new CervejaPaginaDTO(List.of(
+                new CervejaResponseDTO(3L, "Colorado", "Colorado", 60, 25, TipoCerveja.IPA),
+                new CervejaResponseDTO(4L, "Skol", "Ambev", 120, 80, TipoCerveja.PILSEN)
+        ), 4L);
+
+        when(cervejaService.listarPagina(2L, 2)).thenReturn(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas")
+                        .param("limit", "2")
+                        .param("after", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CervejaController.HEADER_PROXIMO_CURSOR, "4"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[1].id").value(4));
+
+        verify(cervejaService, never()).listarTudo();
+    }
+
+    @Test
+    void deveOmitirHeaderDeCursor_QuandoUltimaPagina() throws Exception {
+        // Arrange
+        when(cervejaService.listarPagina(null, 10)).thenReturn(new CervejaPaginaDTO(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CervejaController.HEADER_PROXIMO_CURSOR))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void deveFiltrarPorTipoMarcaEQuantidade_QuandoInformarFiltros() throws Exception {
+        // Arrange
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(TipoCerveja.IPA, "Colorado", null, 10);
+        when(cervejaService.filtrar(filtro, null, CervejaService.LIMITE_MAXIMO_PAGINA)).thenReturn(new CervejaPaginaDTO(
+                List.of(new CervejaResponseDTO(3L, "Colorado Indica", "Colorado", 60, 5, TipoCerveja.IPA)), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas")
+                        .param("tipo", "IPA")
+                        .param("marca", "Colorado")
+                        .param("quantidadeMax", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Colorado Indica"));
+
+        verify(cervejaService, never()).listarTudo();
+        verify(cervejaService, never()).listarPagina(any(), anyInt());
+    }
+
+    @Test
+    void deveRetornar400_QuandoTipoDoFiltroInvalido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/cervejas").param("tipo", "CHOPP"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(cervejaService);
+    }
+
     @Test
     void deveRetornar200_QuandoListaVazia() throws Exception {
         // Arrange
@@ -287,6 +692,39 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).listarTudo();
     }
 
+    // ===== TESTES PARA exportar() =====
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveExportarCatalogoEmNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<CervejaResponseDTO> consumidor = invocation.getArgument(0);
+            consumidor.accept(new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER));
+            consumidor.accept(new CervejaResponseDTO(2L, "Skol", "Ambev", 120, 80, TipoCerveja.PILSEN));
+            return null;
+        }).when(cervejaService).exportarTudo(any(Consumer.class));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/cervejas/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals(1L, objectMapper.readValue(linhas[0], CervejaResponseDTO.class).id());
+        assertEquals("Skol", objectMapper.readValue(linhas[1], CervejaResponseDTO.class).nome());
+        verify(cervejaService, never()).listarTudo();
+    }
+
     @Test
     void deveRetornar204_QuandoDeletarCervejaComSucesso() throws Exception {
         // Arrange
@@ -380,6 +818,26 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).criarCerveja(any(CervejaRequestDTO.class));
     }
 
+    @Test
+    void deveRetornar409_QuandoIndiceUnicoDeNomeViolado() throws Exception {
+        // Arrange
+        CervejaRequestDTO requestDTO = new CervejaRequestDTO(
+                "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER
+        );
+
+        when(cervejaService.criarCerveja(any(CervejaRequestDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("Unique index violation: PUBLIC.UK_CERVEJAS_NOME_INDEX_A"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cervejas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.erro").value("Conflito de dados"))
+                .andExpect(jsonPath("$.mensagem").value("Já existe uma cerveja cadastrada com esse nome."));
+    }
+
     @Test
     void deveRetornar500_QuandoErroInternoAoListar() throws Exception {
         // Arrange
@@ -537,4 +995,95 @@ public class CervejaControllerTest {
         verify(cervejaService, times(1)).incrementarEstoque(id, 5);
     }
 
+    @Test
+    void deveRetornar200_QuandoDecrementarEstoqueComSucesso() throws Exception {
+        // Arrange
+        when(cervejaService.decrementarEstoque(eq(1L), eq(10))).thenReturn(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 40, TipoCerveja.LAGER));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/cervejas/{id}/decrementar", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CervejaEstoqueDecrementadoDTO(10))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidade").value(40));
+
+        verify(cervejaService, times(1)).decrementarEstoque(1L, 10);
+    }
+
+    @Test
+    void deveRetornar400_QuandoDecrementoDeixariaEstoqueNegativo() throws Exception {
+        // Arrange
+        when(cervejaService.decrementarEstoque(eq(1L), eq(500)))
+                .thenThrow(new EstoqueInsuficienteException(1L, 500));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/cervejas/{id}/decrementar", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CervejaEstoqueDecrementadoDTO(500))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Não é possível decrementar 500 unidades. Estoque insuficiente para a cerveja com id: 1"))
+                .andExpect(jsonPath("$.caminho").value("/api/cervejas/1/decrementar"));
+    }
+
+    @Test
+    void deveRetornar409_QuandoConflitoDeVersaoPersiste() throws Exception {
+        // Arrange
+        when(cervejaService.decrementarEstoque(eq(1L), eq(1)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Cerveja.class, 1L));
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/cervejas/{id}/decrementar", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CervejaEstoqueDecrementadoDTO(1))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.erro").value("Conflito de dados"));
+    }
+
+    @Test
+    void deveRetornar200_QuandoIncrementarEstoqueEmLoteComFalhaParcial() throws Exception {
+        // Arrange
+        IncrementosEstoqueRequestDTO requestDTO = new IncrementosEstoqueRequestDTO(List.of(
+                new IncrementoEstoqueItemDTO(1L, 10),
+                new IncrementoEstoqueItemDTO(99L, 5)
+        ));
+
+        when(cervejaService.incrementarEstoqueEmLote(anyList())).thenReturn(List.of(
+                new IncrementoEstoqueResultadoDTO(1L, 10, StatusIncremento.OK, null, 60),
+                new IncrementoEstoqueResultadoDTO(99L, 5, StatusIncremento.NAO_ENCONTRADA,
+                        "Cerveja não encontrada com id: 99", null)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cervejas/estoque/incrementos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("OK"))
+                .andExpect(jsonPath("$[0].quantidadeAtual").value(60))
+                .andExpect(jsonPath("$[1].status").value("NAO_ENCONTRADA"))
+                .andExpect(jsonPath("$[1].mensagem").value("Cerveja não encontrada com id: 99"));
+
+        verify(cervejaService, times(1)).incrementarEstoqueEmLote(anyList());
+    }
+
+    @Test
+    void deveRetornar400_QuandoLoteDeIncrementosInvalido() throws Exception {
+        // Arrange - quantidade zero em um dos itens
+        IncrementosEstoqueRequestDTO requestDTO = new IncrementosEstoqueRequestDTO(List.of(
+                new IncrementoEstoqueItemDTO(1L, 10),
+                new IncrementoEstoqueItemDTO(2L, 0)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/cervejas/estoque/incrementos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(cervejaService, never()).incrementarEstoqueEmLote(anyList());
+    }
+
 }
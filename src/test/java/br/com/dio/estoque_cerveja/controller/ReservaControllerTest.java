@@ -0,0 +1,117 @@
+package br.com.dio.estoque_cerveja.controller;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.exception.ReservaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.service.ReservaEstoqueService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReservaController.class)
+public class ReservaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ReservaEstoqueService reservaService;
+
+    private static final UUID ID_RESERVA = UUID.fromString("7b0c3f52-1c1e-4f43-9a55-2d7a3f1f4b10");
+
+    @Test
+    void deveRetornar201_QuandoReservarComSucesso() throws Exception {
+        // Arrange
+        when(reservaService.criarReserva(eq(1L), eq(5), isNull()))
+                .thenReturn(new ReservaResponseDTO(ID_RESERVA, 1L, 5, Instant.parse("2030-01-01T00:05:00Z")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/reservas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservaRequestDTO(1L, 5, null))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/api/reservas/" + ID_RESERVA))
+                .andExpect(jsonPath("$.id").value(ID_RESERVA.toString()))
+                .andExpect(jsonPath("$.cervejaId").value(1))
+                .andExpect(jsonPath("$.quantidade").value(5));
+    }
+
+    @Test
+    void deveRetornar400_QuandoQuantidadeDaReservaInvalida() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/reservas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservaRequestDTO(1L, 0, null))))
+                .andExpect(status().isBadRequest());
+
+        verify(reservaService, never()).criarReserva(any(), any(), any());
+    }
+
+    @Test
+    void deveRetornar400_QuandoEstoqueDisponivelInsuficiente() throws Exception {
+        // Arrange
+        when(reservaService.criarReserva(eq(1L), eq(500), eq(60)))
+                .thenThrow(EstoqueInsuficienteException.naReserva(1L, 500));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/reservas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReservaRequestDTO(1L, 500, 60))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.mensagem").value("Não é possível reservar 500 unidades. Estoque disponível insuficiente para a cerveja com id: 1"));
+    }
+
+    @Test
+    void deveRetornar200_QuandoConfirmarReserva() throws Exception {
+        // Arrange
+        when(reservaService.confirmarReserva(ID_RESERVA)).thenReturn(
+                new CervejaResponseDTO(1L, "Heineken", "Heineken", 100, 45, TipoCerveja.LAGER, 10, 35));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/reservas/{id}/confirmar", ID_RESERVA))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidade").value(45))
+                .andExpect(jsonPath("$.reservado").value(10))
+                .andExpect(jsonPath("$.disponivel").value(35));
+    }
+
+    @Test
+    void deveRetornar404_QuandoReservaExpirada() throws Exception {
+        // Arrange
+        when(reservaService.confirmarReserva(ID_RESERVA)).thenThrow(new ReservaNaoEncontradaException(ID_RESERVA));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/reservas/{id}/confirmar", ID_RESERVA))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.mensagem").value("Reserva não encontrada ou já expirada: " + ID_RESERVA));
+    }
+
+    @Test
+    void deveRetornar204_QuandoCancelarReserva() throws Exception {
+        // Act & Assert
+        mockMvc.perform(delete("/api/reservas/{id}", ID_RESERVA))
+                .andExpect(status().isNoContent());
+
+        verify(reservaService, times(1)).cancelarReserva(ID_RESERVA);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.TotaisPorTipo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgregadosPorTipoTest {
+
+    @Mock
+    private CervejaRepository repository;
+
+    @InjectMocks
+    private AgregadosPorTipo agregados;
+
+    @Test
+    void deveTrazerTotaisDoBanco_QuandoCarregar() {
+        // Arrange
+        when(repository.totalizarPorTipo()).thenReturn(List.of(totais(TipoCerveja.IPA, 2, 30, 120)));
+
+        // Act
+        agregados.carregar();
+
+        // Assert - todos os tipos aparecem, mesmo os sem cerveja
+        List<AgregadoTipoDTO> resultado = agregados.listar();
+        assertEquals(TipoCerveja.values().length, resultado.size());
+        assertEquals(new AgregadoTipoDTO(TipoCerveja.IPA, 2, 30, 120, 0.25), agregado(resultado, TipoCerveja.IPA));
+        assertEquals(new AgregadoTipoDTO(TipoCerveja.LAGER, 0, 0, 0, 0.0), agregado(resultado, TipoCerveja.LAGER));
+    }
+
+    @Test
+    void deveAtualizarContadores_QuandoCadastrarAjustarERemover() {
+        // Act
+        agregados.registrarCerveja(TipoCerveja.STOUT, 10, 50);
+        agregados.registrarCerveja(TipoCerveja.STOUT, 0, 30);
+        agregados.ajustarUnidades(TipoCerveja.STOUT, 25);
+        agregados.ajustarUnidades(TipoCerveja.STOUT, -5);
+        agregados.removerCerveja(TipoCerveja.STOUT, 10, 50);
+
+        // Assert - sobra a segunda cerveja, com 0 + 25 - 5 - (10 - 10) unidades
+        assertEquals(new AgregadoTipoDTO(TipoCerveja.STOUT, 1, 20, 30, 20.0 / 30),
+                agregado(agregados.listar(), TipoCerveja.STOUT));
+    }
+
+    @Test
+    void deveAplicarSoDepoisDoCommit_QuandoDentroDeTransacao() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            agregados.registrarCerveja(TipoCerveja.WEISS, 10, 50);
+
+            // Assert - nada muda antes do commit, e um rollback não deixaria rastro
+            assertEquals(0, agregado(agregados.listar(), TipoCerveja.WEISS).cervejas());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, agregado(agregados.listar(), TipoCerveja.WEISS).cervejas());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveApontarDivergencia_QuandoContadoresNaoBatemComBanco() {
+        // Arrange
+        agregados.registrarCerveja(TipoCerveja.IPA, 30, 100);
+        agregados.registrarCerveja(TipoCerveja.PILSEN, 5, 10);
+        when(repository.totalizarPorTipo()).thenReturn(List.of(
+                totais(TipoCerveja.IPA, 1, 30, 100),
+                totais(TipoCerveja.PILSEN, 1, 7, 10)));
+
+        // Act
+        ConciliacaoAgregadosDTO conciliacao = agregados.conciliar();
+
+        // Assert
+        assertFalse(conciliacao.consistente());
+        assertEquals(1, conciliacao.divergencias().size());
+        assertEquals(TipoCerveja.PILSEN, conciliacao.divergencias().get(0).tipo());
+        assertEquals(5, conciliacao.divergencias().get(0).contadores().unidades());
+        assertEquals(7, conciliacao.divergencias().get(0).banco().unidades());
+    }
+
+    @Test
+    void deveCorrigirDivergencia_SoQuandoSeRepeteEmDuasConciliacoes() {
+        // Arrange
+        agregados.registrarCerveja(TipoCerveja.PILSEN, 5, 10);
+        when(repository.totalizarPorTipo()).thenReturn(List.of(totais(TipoCerveja.PILSEN, 1, 7, 10)));
+
+        // Act & Assert - a primeira vez só anota; a segunda, igual, corrige
+        agregados.conciliarECorrigir();
+        assertEquals(5, agregado(agregados.listar(), TipoCerveja.PILSEN).unidades());
+
+        agregados.conciliarECorrigir();
+        assertEquals(7, agregado(agregados.listar(), TipoCerveja.PILSEN).unidades());
+        assertTrue(agregados.conciliar().consistente());
+    }
+
+    @Test
+    void deveIgnorarDivergenciaMomentanea_QuandoMudaEntreConciliacoes() {
+        // Arrange - uma escrita em andamento: o banco anda entre as duas conciliações
+        agregados.registrarCerveja(TipoCerveja.PILSEN, 5, 10);
+        when(repository.totalizarPorTipo())
+                .thenReturn(List.of(totais(TipoCerveja.PILSEN, 1, 7, 10)))
+                .thenReturn(List.of(totais(TipoCerveja.PILSEN, 1, 9, 10)));
+
+        // Act
+        agregados.conciliarECorrigir();
+        agregados.conciliarECorrigir();
+
+        // Assert
+        assertEquals(5, agregado(agregados.listar(), TipoCerveja.PILSEN).unidades());
+    }
+
+    private AgregadoTipoDTO agregado(List<AgregadoTipoDTO> agregados, TipoCerveja tipo) {
+        return agregados.stream().filter(agregado -> agregado.tipo() == tipo).findFirst().orElseThrow();
+    }
+
+    private TotaisPorTipo totais(TipoCerveja tipo, long cervejas, long unidades, long capacidade) {
+        return new TotaisPorTipo() {
+            @Override
+            public TipoCerveja getTipo() {
+                return tipo;
+            }
+
+            @Override
+            public Long getCervejas() {
+                return cervejas;
+            }
+
+            @Override
+            public Long getUnidades() {
+                return unidades;
+            }
+
+            @Override
+            public Long getCapacidade() {
+                return capacidade;
+            }
+        };
+    }
+}
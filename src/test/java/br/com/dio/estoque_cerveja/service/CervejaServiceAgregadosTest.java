@@ -0,0 +1,79 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.AgregadoTipoDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ConciliacaoAgregadosDTO;
+import br.com.dio.estoque_cerveja.dto.DivergenciaAgregadoDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CervejaServiceAgregadosTest {
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private ReservaEstoqueService reservaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveManterContadoresIguaisAoBanco_AposCadastrosMovimentosEExclusoes() {
+        // Arrange - outros testes gravam direto pelo repositório; compara só o que muda daqui em diante
+        Map<TipoCerveja, String> diferencaInicial = diferencas(cervejaService.conciliarAgregados());
+        AgregadoTipoDTO weissAntes = weiss();
+
+        // Act
+        CervejaResponseDTO primeira = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Agregada 1", "Marca", 100, 40, TipoCerveja.WEISS));
+        CervejaResponseDTO segunda = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Agregada 2", "Marca", 50, 10, TipoCerveja.WEISS));
+        cervejaService.incrementarEstoque(primeira.id(), 15);
+        cervejaService.decrementarEstoque(primeira.id(), 5);
+        cervejaService.incrementarEstoqueEmLote(List.of(new IncrementoEstoqueItemDTO(segunda.id(), 20)));
+        UUID reserva = reservaService.criarReserva(primeira.id(), 8, 60).id();
+        reservaService.confirmarReserva(reserva);
+        cervejaService.deletarPorId(segunda.id());
+
+        // Assert - sobra a primeira: 40 + 15 - 5 - 8 unidades em 100 de capacidade
+        AgregadoTipoDTO weissDepois = weiss();
+        assertEquals(weissAntes.cervejas() + 1, weissDepois.cervejas());
+        assertEquals(weissAntes.unidades() + 42, weissDepois.unidades());
+        assertEquals(weissAntes.capacidade() + 100, weissDepois.capacidade());
+        assertEquals(diferencaInicial, diferencas(cervejaService.conciliarAgregados()));
+    }
+
+    private AgregadoTipoDTO weiss() {
+        return cervejaService.agregadosPorTipo().stream()
+                .filter(agregado -> agregado.tipo() == TipoCerveja.WEISS)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Map<TipoCerveja, String> diferencas(ConciliacaoAgregadosDTO conciliacao) {
+        return conciliacao.divergencias().stream().collect(Collectors.toMap(DivergenciaAgregadoDTO::tipo,
+                divergencia -> (divergencia.banco().cervejas() - divergencia.contadores().cervejas()) + "/"
+                        + (divergencia.banco().unidades() - divergencia.contadores().unidades()) + "/"
+                        + (divergencia.banco().capacidade() - divergencia.contadores().capacidade())));
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+public class CervejaServiceCacheTest {
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private LivroEstoqueService livroEstoque;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CervejaService.CACHE_POR_NOME);
+        cache.clear();
+    }
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+        cache.clear();
+    }
+
+    @Test
+    void deveGuardarCervejaNoCache_QuandoCriada() {
+        // Act
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Baden", "Baden Baden", 100, 10, TipoCerveja.ALE));
+
+        // Assert
+        assertEquals(criada, cache.get("Baden", CervejaResponseDTO.class));
+    }
+
+    @Test
+    void deveResponderDoCache_QuandoBuscarMesmoNomeDuasVezes() {
+        // Arrange
+        cervejaService.criarCerveja(new CervejaRequestDTO("Eisenbahn", "Eisenbahn", 100, 10, TipoCerveja.PILSEN));
+        cache.clear();
+        double hitsAntes = contagem("hit");
+        double missesAntes = contagem("miss");
+
+        // Act
+        CervejaResponseDTO primeira = cervejaService.encontrarPorNome("Eisenbahn");
+        CervejaResponseDTO segunda = cervejaService.encontrarPorNome("Eisenbahn");
+
+        // Assert
+        assertEquals(primeira, segunda);
+        assertEquals(1, contagem("miss") - missesAntes);
+        assertEquals(1, contagem("hit") - hitsAntes);
+    }
+
+    @Test
+    void deveAtualizarCache_QuandoIncrementarEstoque() {
+        // Arrange
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Bohemia", "Ambev", 100, 10, TipoCerveja.PILSEN));
+
+        // Act
+        cervejaService.incrementarEstoque(criada.id(), 15);
+
+        // Assert
+        assertEquals(25, cervejaService.encontrarPorNome("Bohemia").quantidade());
+        assertEquals(25, cache.get("Bohemia", CervejaResponseDTO.class).quantidade());
+    }
+
+    @Test
+    void naoDeveAtualizarCache_QuandoCommitFalhar() {
+        // Arrange - o commit do incremento falha depois de o método já ter devolvido a cerveja atualizada
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Original", "Original", 100, 10, TipoCerveja.PILSEN));
+        doAnswer(invocacao -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    throw new OptimisticLockingFailureException("conflito no commit");
+                }
+            });
+            return invocacao.callRealMethod();
+        }).when(livroEstoque).registrar(eq(criada.id()), eq(15), eq(MotivoMovimento.INCREMENTO));
+
+        // Act
+        assertThrows(OptimisticLockingFailureException.class, () -> cervejaService.incrementarEstoque(criada.id(), 15));
+
+        // Assert - o cache continua com o valor confirmado, igual ao banco
+        assertEquals(10, cache.get("Original", CervejaResponseDTO.class).quantidade());
+        assertEquals(10, repository.findById(criada.id()).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void deveInvalidarCache_QuandoDeletarCerveja() {
+        // Arrange
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Serramalte", "Ambev", 100, 10, TipoCerveja.PILSEN));
+
+        // Act
+        cervejaService.deletarPorId(criada.id());
+
+        // Assert
+        assertNull(cache.get("Serramalte"));
+    }
+
+    private double contagem(String resultado) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CervejaService.CACHE_POR_NOME)
+                .tag("result", resultado)
+                .functionCounter()
+                .count();
+    }
+}
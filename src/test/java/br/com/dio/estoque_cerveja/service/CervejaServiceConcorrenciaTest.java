@@ -0,0 +1,208 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.config.RetryConfig;
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "estoque.decremento.max-tentativas=100")
+public class CervejaServiceConcorrenciaTest {
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long id;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void naoDeveUltrapassarMaximo_QuandoIncrementosConcorrentesNoMesmoId() throws Exception {
+        // Arrange
+        int maximo = 500;
+        int threads = 16;
+        int incrementosPorThread = 60; // 960 tentativas para 500 vagas
+
+        Cerveja cerveja = repository.save(Cerveja.builder()
+                .nome("Concorrente")
+                .marca("Teste")
+                .maximo(maximo)
+                .quantidade(0)
+                .tipo(TipoCerveja.IPA)
+                .build());
+        id = cerveja.getId();
+
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger rejeitados = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < incrementosPorThread; i++) {
+                    try {
+                        cervejaService.incrementarEstoque(id, 1);
+                        sucessos.incrementAndGet();
+                    } catch (EstoqueExcedidoException e) {
+                        rejeitados.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Cerveja resultado = repository.findById(id).orElseThrow();
+        assertEquals(maximo, resultado.getQuantidade());
+        assertEquals(maximo, sucessos.get());
+        assertEquals(threads * incrementosPorThread - maximo, rejeitados.get());
+    }
+
+    @Test
+    void deveCriarApenasUmaCerveja_QuandoCriacoesConcorrentesComMesmoNome() throws Exception {
+        // Arrange
+        int threads = 8;
+        CervejaRequestDTO dto = new CervejaRequestDTO("Duplicada", "Teste", 100, 10, TipoCerveja.LAGER);
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger duplicadas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    cervejaService.criarCerveja(dto);
+                    criadas.incrementAndGet();
+                } catch (CervejaJaExisteException e) {
+                    duplicadas.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, criadas.get());
+        assertEquals(threads - 1, duplicadas.get());
+        assertTrue(repository.findByNome("Duplicada").isPresent());
+    }
+
+    @Test
+    void naoDevePerderNemNegativarEstoque_QuandoDecrementosConcorrentesNoMesmoId() throws Exception {
+        // Arrange
+        int estoqueInicial = 200;
+        int threads = 8;
+        int decrementosPorThread = 30; // 240 tentativas para 200 unidades
+
+        Cerveja cerveja = repository.save(Cerveja.builder()
+                .nome("Vendida")
+                .marca("Teste")
+                .maximo(estoqueInicial)
+                .quantidade(estoqueInicial)
+                .tipo(TipoCerveja.LAGER)
+                .build());
+        Long idVendida = cerveja.getId();
+
+        AtomicInteger vendidas = new AtomicInteger();
+        AtomicInteger semEstoque = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < decrementosPorThread; i++) {
+                    try {
+                        cervejaService.decrementarEstoque(idVendida, 1);
+                        vendidas.incrementAndGet();
+                    } catch (EstoqueInsuficienteException e) {
+                        semEstoque.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - nenhuma venda perdida e nenhuma venda além do estoque
+        assertEquals(estoqueInicial, vendidas.get());
+        assertEquals(threads * decrementosPorThread - estoqueInicial, semEstoque.get());
+        assertEquals(0, repository.findById(idVendida).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void naoDeveContarRetentativa_QuandoFalhaNaoEhConflitoDeVersao() {
+        // Arrange
+        Cerveja cerveja = repository.save(Cerveja.builder()
+                .nome("SemConflito")
+                .marca("Teste")
+                .maximo(10)
+                .quantidade(1)
+                .tipo(TipoCerveja.STOUT)
+                .build());
+        double antes = meterRegistry.get(RetryConfig.METRICA_RETENTATIVAS).counter().count();
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(EstoqueInsuficienteException.class,
+                    () -> cervejaService.decrementarEstoque(cerveja.getId(), 2));
+        }
+        assertThrows(CervejaNaoEncontradaException.class,
+                () -> cervejaService.decrementarEstoque(cerveja.getId() + 1000, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> cervejaService.decrementarEstoque(cerveja.getId(), 0));
+
+        // Assert
+        assertEquals(antes, meterRegistry.get(RetryConfig.METRICA_RETENTATIVAS).counter().count());
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CervejaServiceExportacaoTest {
+
+    private static final int TOTAL_CERVEJAS = 5_000;
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void popular() {
+        List<Cerveja> cervejas = new ArrayList<>(TOTAL_CERVEJAS);
+        for (int i = 0; i < TOTAL_CERVEJAS; i++) {
+            cervejas.add(Cerveja.builder()
+                    .nome("Exportada " + i)
+                    .marca("Marca " + (i % 10))
+                    .maximo(100)
+                    .quantidade(i % 100)
+                    .tipo(TipoCerveja.values()[i % TipoCerveja.values().length])
+                    .build());
+        }
+        repository.saveAll(cervejas);
+    }
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveExportarTodasCervejasEmOrdem_SemAcumularEntidadesNaMemoria() {
+        // Arrange
+        AtomicInteger linhas = new AtomicInteger();
+        AtomicLong ultimoId = new AtomicLong();
+        AtomicInteger maiorContexto = new AtomicInteger();
+
+        // Act - o contexto de persistência é o que reteria memória por linha; medimos seu tamanho durante o stream
+        cervejaService.exportarTudo(cerveja -> {
+            assertTrue(cerveja.id() > ultimoId.get());
+            ultimoId.set(cerveja.id());
+            linhas.incrementAndGet();
+            int entidadesGerenciadas = entityManager.unwrap(Session.class)
+                    .getStatistics()
+                    .getEntityCount();
+            maiorContexto.accumulateAndGet(entidadesGerenciadas, Math::max);
+        });
+
+        // Assert
+        assertEquals(TOTAL_CERVEJAS, linhas.get());
+        assertTrue(maiorContexto.get() <= 1,
+                "O contexto de persistência cresceu durante a exportação: " + maiorContexto.get() + " entidades");
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class CervejaServiceFiltroTest {
+
+    private static final int TOTAL_CERVEJAS = 400;
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Cerveja> cadastradas = new ArrayList<>();
+
+    @BeforeEach
+    void popular() {
+        TipoCerveja[] tipos = TipoCerveja.values();
+        for (int i = 0; i < TOTAL_CERVEJAS; i++) {
+            cadastradas.add(Cerveja.builder()
+                    .nome("Filtrada " + i)
+                    .marca("Marca " + (i % 4))
+                    .maximo(100)
+                    .quantidade(i % 50)
+                    .tipo(tipos[i % tipos.length])
+                    .build());
+        }
+        repository.saveAll(cadastradas);
+    }
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+        cadastradas.clear();
+    }
+
+    @Test
+    void deveRetornarSoAsCervejasDoFiltro_PercorrendoTodasAsPaginas() {
+        // Arrange - "todas as IPA da Marca 2 com quantidade abaixo de 10"
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(TipoCerveja.IPA, "Marca 2", null, 9);
+        List<Long> esperados = cadastradas.stream()
+                .filter(c -> c.getTipo() == TipoCerveja.IPA && c.getMarca().equals("Marca 2") && c.getQuantidade() <= 9)
+                .map(Cerveja::getId)
+                .toList();
+        assertFalse(esperados.isEmpty());
+
+        // Act - páginas de 2 para forçar o uso do cursor
+        List<Long> encontrados = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CervejaPaginaDTO pagina = cervejaService.filtrar(filtro, cursor, 2);
+            pagina.itens().stream().map(CervejaResponseDTO::id).forEach(encontrados::add);
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(esperados, encontrados);
+    }
+
+    @Test
+    void deveFiltrarPorFaixaDeQuantidade_QuandoSoMinimoEMaximo() {
+        // Arrange
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(null, null, 10, 12);
+
+        // Act
+        CervejaPaginaDTO pagina = cervejaService.filtrar(filtro, null, CervejaService.LIMITE_MAXIMO_PAGINA);
+
+        // Assert
+        long esperados = cadastradas.stream().filter(c -> c.getQuantidade() >= 10 && c.getQuantidade() <= 12).count();
+        assertEquals(esperados, pagina.itens().size());
+        assertTrue(pagina.itens().stream().allMatch(c -> c.quantidade() >= 10 && c.quantidade() <= 12));
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void deveUsarIndiceDeMarcaTipoEQuantidade_NoPlanoDaConsulta() {
+        // Act
+        String plano = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM cervejas WHERE marca = 'Marca 2' AND tipo = 'IPA' AND quantidade <= 9",
+                String.class);
+
+        // Assert
+        assertNotNull(plano);
+        assertTrue(plano.toUpperCase().contains("IDX_CERVEJAS_MARCA_TIPO_QUANTIDADE"), plano);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+// Com o journal ligado, a espera pelo force() acontece dentro das chamadas ao motor. Banco próprio: este
+// contexto recria o schema ao subir, e não pode zerar as sequências dos contextos que os outros testes reusam
+@SpringBootTest(properties = {
+        "estoque.motor=memoria",
+        "spring.datasource.url=jdbc:h2:mem:cervejadb-memoria",
+        "estoque.journal.habilitado=true",
+        "estoque.journal.diretorio=target/journal-teste-${random.uuid}"
+})
+public class CervejaServiceMemoriaTest {
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @MockitoSpyBean
+    private EstoqueEmMemoria estoqueEmMemoria;
+
+    // Chamadas ao motor feitas com uma transação aberta, ou seja, com uma conexão do pool emprestada
+    private final AtomicInteger dentroDeTransacao = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocacao -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                dentroDeTransacao.incrementAndGet();
+            }
+            return invocacao.callRealMethod();
+        }).when(estoqueEmMemoria).incrementar(anyLong(), anyInt());
+        doAnswer(invocacao -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                dentroDeTransacao.incrementAndGet();
+            }
+            return invocacao.callRealMethod();
+        }).when(estoqueEmMemoria).decrementar(anyLong(), anyInt());
+    }
+
+    @AfterEach
+    void limpar() {
+        repository.findAll().forEach(cerveja -> estoqueEmMemoria.remover(cerveja.getId()));
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void naoDeveAbrirTransacao_QuandoMotorEmMemoriaAlteraEstoque() {
+        // Arrange
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Memoria", "Teste", 100, 10, TipoCerveja.LAGER));
+
+        // Act
+        cervejaService.incrementarEstoque(criada.id(), 5);
+        cervejaService.decrementarEstoque(criada.id(), 3);
+        cervejaService.incrementarEstoqueEmLote(List.of(new IncrementoEstoqueItemDTO(criada.id(), 2)));
+
+        // Assert
+        assertEquals(0, dentroDeTransacao.get());
+        assertEquals(14, cervejaService.encontrarPorNome("Memoria").quantidade());
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class CervejaServiceMetricasTest {
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveContarResultadoPorExcecao_QuandoOperacoesFalham() {
+        // Arrange
+        CervejaResponseDTO criada = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Original", "Ambev", 10, 5, TipoCerveja.PILSEN));
+        double excedidosAntes = contagem("incrementarEstoque", EstoqueExcedidoException.class.getSimpleName());
+        double naoEncontradasAntes = contagem("encontrarPorNome", CervejaNaoEncontradaException.class.getSimpleName());
+
+        // Act
+        assertThrows(EstoqueExcedidoException.class, () -> cervejaService.incrementarEstoque(criada.id(), 50));
+        assertThrows(CervejaNaoEncontradaException.class, () -> cervejaService.encontrarPorNome("Inexistente"));
+        cervejaService.incrementarEstoque(criada.id(), 1);
+
+        // Assert
+        assertEquals(1, contagem("incrementarEstoque", EstoqueExcedidoException.class.getSimpleName()) - excedidosAntes);
+        assertEquals(1, contagem("encontrarPorNome", CervejaNaoEncontradaException.class.getSimpleName()) - naoEncontradasAntes);
+        assertTrue(contagem("incrementarEstoque", "none") >= 1);
+    }
+
+    @Test
+    void deveRegistrarTempoDasOperacoes() {
+        // Act
+        cervejaService.listarTudo();
+        cervejaService.agregadosPorTipo();
+
+        // Assert - toda operação pública é medida, com os percentis configurados nas propriedades
+        Timer timer = meterRegistry.get(CervejaService.METRICA_TEMPO)
+                .tag("method", "listarTudo")
+                .timer();
+        assertTrue(timer.count() >= 1);
+        assertEquals(3, timer.takeSnapshot().percentileValues().length);
+        assertTrue(meterRegistry.get(CervejaService.METRICA_TEMPO).tag("method", "agregadosPorTipo").timer().count() >= 1);
+    }
+
+    @Test
+    void deveAtualizarGaugeDeUnidadesPorTipo() {
+        // Arrange - o contexto é compartilhado, então compara com o que os contadores já tinham
+        double stoutAntes = unidades("STOUT");
+        double weissAntes = unidades("WEISS");
+
+        // Act
+        CervejaResponseDTO guinness = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Guinness", "Guinness", 100, 30, TipoCerveja.STOUT));
+        cervejaService.criarCerveja(new CervejaRequestDTO("Murphy's", "Heineken", 100, 12, TipoCerveja.STOUT));
+        cervejaService.incrementarEstoque(guinness.id(), 8);
+
+        // Assert - sem esperar nenhuma atualização periódica
+        assertEquals(50, unidades("STOUT") - stoutAntes);
+        assertEquals(0, unidades("WEISS") - weissAntes);
+    }
+
+    @Test
+    void deveExporMetricasNoFormatoPrometheus() throws Exception {
+        // Arrange
+        cervejaService.listarTudo();
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("estoque_operacao_seconds_bucket")))
+                .andExpect(content().string(containsString("estoque_unidades{")));
+    }
+
+    private double unidades(String tipo) {
+        return meterRegistry.get(EstoqueMetricas.METRICA_UNIDADES).tag("tipo", tipo).gauge().value();
+    }
+
+    private double contagem(String metodo, String excecao) {
+        var counter = meterRegistry.find(CervejaService.METRICA_RESULTADO)
+                .tag("method", metodo)
+                .tag("exception", excecao)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -1,24 +1,45 @@
 package br.com.dio.estoque_cerveja.service;
 
 
+import br.com.dio.estoque_cerveja.dto.CervejaPaginaDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
 import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.CriacaoLoteResultadoDTO;
+import br.com.dio.estoque_cerveja.dto.FiltroCervejaDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueItemDTO;
+import br.com.dio.estoque_cerveja.dto.IncrementoEstoqueResultadoDTO;
 import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.StatusCriacao;
+import br.com.dio.estoque_cerveja.enums.StatusIncremento;
 import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
 import br.com.dio.estoque_cerveja.exception.CervejaJaExisteException;
 import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
 import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.mapper.CervejaMapper;
 import br.com.dio.estoque_cerveja.repository.CervejaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,6 +52,28 @@ public class CervejaServiceTest {
     @Mock
     private CervejaRepository repository;
 
+    @Mock
+    private LivroEstoqueService livroEstoque;
+
+    @Mock
+    private VersaoCatalogo versaoCatalogo;
+
+    @Mock
+    private IndiceNomes indiceNomes;
+
+    @Mock
+    private AgregadosPorTipo agregados;
+
+    @Mock
+    private EstoqueBaixo estoqueBaixo;
+
+    @Mock
+    private EventosEstoque eventos;
+
+    // Sem banco de verdade: o gerenciador mockado só deixa o TransactionTemplate executar o callback
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private CervejaService cervejaService;
 
@@ -85,14 +128,18 @@ public class CervejaServiceTest {
         );
     }
 
+    // As leituras vêm do repositório já como DTO (projeção na consulta)
+    private List<CervejaResponseDTO> paraDTOs(List<Cerveja> cervejas) {
+        return cervejas.stream().map(CervejaMapper::toDTO).toList();
+    }
+
     @Test
     void deveCriarCervejaComSucesso_QuandoDadosValidos() {
         // Arrange
         CervejaRequestDTO requestDTO = criarRequestDTOValido();
         Cerveja cervejaSalva = criarCervejaValida();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva);
 
         // Act
         CervejaResponseDTO resultado = cervejaService.criarCerveja(requestDTO);
@@ -106,8 +153,13 @@ public class CervejaServiceTest {
         assertEquals(50, resultado.quantidade());
         assertEquals(TipoCerveja.LAGER, resultado.tipo());
 
-        verify(repository, times(1)).findByNome("Heineken");
-        verify(repository, times(1)).save(any(Cerveja.class));
+        verify(repository, never()).findByNome(anyString());
+        verify(repository, times(1)).saveAndFlush(any(Cerveja.class));
+        verify(livroEstoque, times(1)).registrar(1L, 50, MotivoMovimento.CADASTRO);
+        verify(indiceNomes, times(1)).adicionar(1L, "Heineken");
+        verify(agregados, times(1)).registrarCerveja(TipoCerveja.LAGER, 50, 100);
+        verify(estoqueBaixo, times(1)).registrar(1L, "Heineken", 50, 100);
+        verify(eventos, times(1)).publicar(TipoEventoEstoque.CADASTRO, 1L, "Heineken", TipoCerveja.LAGER, 50, 50);
     }
 
     @Test
@@ -130,8 +182,7 @@ public class CervejaServiceTest {
                 .tipo(TipoCerveja.PILSEN)
                 .build();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva);
 
         // Act
         CervejaResponseDTO resultado = cervejaService.criarCerveja(requestDTO);
@@ -139,8 +190,7 @@ public class CervejaServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(0, resultado.quantidade());
-        verify(repository, times(1)).findByNome("Skol");
-        verify(repository, times(1)).save(any(Cerveja.class));
+        verify(repository, times(1)).saveAndFlush(any(Cerveja.class));
     }
 
     @Test
@@ -163,8 +213,7 @@ public class CervejaServiceTest {
                 .tipo(TipoCerveja.PILSEN)
                 .build();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva);
 
         // Act
         CervejaResponseDTO resultado = cervejaService.criarCerveja(requestDTO);
@@ -173,16 +222,17 @@ public class CervejaServiceTest {
         assertNotNull(resultado);
         assertEquals(100, resultado.quantidade());
         assertEquals(100, resultado.maximo());
-        verify(repository, times(1)).save(any(Cerveja.class));
+        verify(repository, times(1)).saveAndFlush(any(Cerveja.class));
     }
 
     @Test
     void deveLancarCervejaJaExisteException_QuandoCervejaComMesmoNomeJaExiste() {
         // Arrange
         CervejaRequestDTO requestDTO = criarRequestDTOValido();
-        Cerveja cervejaExistente = criarCervejaExistente();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.of(cervejaExistente));
+        // O índice único de nome rejeita o INSERT
+        when(repository.saveAndFlush(any(Cerveja.class))).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_CERVEJAS_NOME_INDEX_A ON PUBLIC.CERVEJAS(NOME)\""));
 
         // Act & Assert
         CervejaJaExisteException exception = assertThrows(
@@ -191,8 +241,18 @@ public class CervejaServiceTest {
         );
 
         assertEquals("Já existe uma cerveja cadastrada com o nome: Heineken", exception.getMessage());
-        verify(repository, times(1)).findByNome("Heineken");
-        verify(repository, never()).save(any(Cerveja.class));
+        verify(repository, never()).findByNome(anyString());
+        verify(repository, times(1)).saveAndFlush(any(Cerveja.class));
+    }
+
+    @Test
+    void devePropagarOutrasViolacoesDeIntegridade_QuandoNaoForONome() {
+        // Arrange
+        CervejaRequestDTO requestDTO = criarRequestDTOValido();
+        when(repository.saveAndFlush(any(Cerveja.class))).thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"MARCA\""));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> cervejaService.criarCerveja(requestDTO));
     }
 
     @Test
@@ -246,25 +306,23 @@ public class CervejaServiceTest {
 
         // Verifica que NÃO chegou a chamar o repository ou mapper
         verify(repository, never()).findByNome(anyString());
-        verify(repository, never()).save(any(Cerveja.class));
+        verify(repository, never()).saveAndFlush(any(Cerveja.class));
     }
 
     @Test
-    void deveVerificarNomeAntesDeSalvar() {
+    void deveSalvarSemConsultarNomeAntes() {
         // Arrange
         CervejaRequestDTO requestDTO = criarRequestDTOValido();
         Cerveja cervejaSalva = criarCervejaValida();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva);
 
         // Act
         cervejaService.criarCerveja(requestDTO);
 
-        // Assert - Verifica a ordem das chamadas
-        var inOrder = inOrder(repository);
-        inOrder.verify(repository).findByNome("Heineken");
-        inOrder.verify(repository).save(any(Cerveja.class));
+        // Assert - Uma única ida ao banco: o INSERT
+        verify(repository, times(1)).saveAndFlush(any(Cerveja.class));
+        verifyNoMoreInteractions(repository);
     }
 
     @Test
@@ -273,8 +331,7 @@ public class CervejaServiceTest {
         CervejaRequestDTO requestDTO = criarRequestDTOValido();
         Cerveja cervejaSalva = criarCervejaValida();
 
-        when(repository.findByNome(anyString())).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva);
 
         // Act
         CervejaResponseDTO resultado = cervejaService.criarCerveja(requestDTO);
@@ -309,9 +366,7 @@ public class CervejaServiceTest {
         Cerveja cervejaSalva1 = Cerveja.builder().id(1L).build();
         Cerveja cervejaSalva2 = Cerveja.builder().id(2L).build();
 
-        when(repository.findByNome("Heineken")).thenReturn(Optional.empty());
-        when(repository.findByNome("Heineken Silver")).thenReturn(Optional.empty());
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaSalva1, cervejaSalva2);
+        when(repository.saveAndFlush(any(Cerveja.class))).thenReturn(cervejaSalva1, cervejaSalva2);
 
         // Act & Assert - Ambas devem ser criadas com sucesso
         assertDoesNotThrow(() -> {
@@ -319,8 +374,45 @@ public class CervejaServiceTest {
             cervejaService.criarCerveja(requestDTO2);
         });
 
-        verify(repository, times(2)).findByNome(anyString());
-        verify(repository, times(2)).save(any(Cerveja.class));
+        verify(repository, never()).findByNome(anyString());
+        verify(repository, times(2)).saveAndFlush(any(Cerveja.class));
+    }
+
+    // ===== TESTES PARA criarCervejasEmLote() =====
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveCriarEmLote_ComResultadoPorItem() {
+        // Arrange
+        List<CervejaRequestDTO> dtos = List.of(
+                new CervejaRequestDTO("Heineken", "Heineken", 100, 50, TipoCerveja.LAGER),   // já existe no banco
+                new CervejaRequestDTO("Colorado", "Colorado", 60, 25, TipoCerveja.IPA),      // ok
+                new CervejaRequestDTO("Invalida", "Marca", 10, 20, TipoCerveja.ALE),         // quantidade > máximo
+                new CervejaRequestDTO("Colorado", "Colorado", 60, 10, TipoCerveja.IPA)       // repetida no lote
+        );
+
+        when(repository.findNomesExistentes(anyCollection())).thenReturn(List.of("Heineken"));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Cerveja> novas = invocation.getArgument(0);
+            novas.get(0).setId(10L);
+            return novas;
+        });
+
+        // Act
+        List<CriacaoLoteResultadoDTO> resultados = cervejaService.criarCervejasEmLote(dtos);
+
+        // Assert
+        assertEquals(4, resultados.size());
+        assertEquals(StatusCriacao.JA_EXISTE, resultados.get(0).status());
+        assertEquals(StatusCriacao.CRIADA, resultados.get(1).status());
+        assertEquals(10L, resultados.get(1).cerveja().id());
+        assertEquals(StatusCriacao.INVALIDA, resultados.get(2).status());
+        assertEquals("A quantidade inicial não pode exceder o máximo permitido!", resultados.get(2).mensagem());
+        assertEquals(StatusCriacao.JA_EXISTE, resultados.get(3).status());
+
+        verify(repository, times(1)).findNomesExistentes(anyCollection());
+        verify(repository, never()).findByNome(anyString());
+        verify(repository, never()).save(any(Cerveja.class));
     }
 
     //TESTES PARA encontrarPorNome()
@@ -330,7 +422,7 @@ public class CervejaServiceTest {
         String nome = "Heineken";
         Cerveja cerveja = criarCerveja(1L, nome, "Heineken", 100, 50, TipoCerveja.LAGER);
 
-        when(repository.findByNome(nome)).thenReturn(Optional.of(cerveja));
+        when(repository.buscarDTOPorNome(nome)).thenReturn(Optional.of(CervejaMapper.toDTO(cerveja)));
 
         // Act
         CervejaResponseDTO resultado = cervejaService.encontrarPorNome(nome);
@@ -344,14 +436,14 @@ public class CervejaServiceTest {
         assertEquals(50, resultado.quantidade());
         assertEquals(TipoCerveja.LAGER, resultado.tipo());
 
-        verify(repository, times(1)).findByNome(nome);
+        verify(repository, times(1)).buscarDTOPorNome(nome);
     }
 
     @Test
     void deveLancarExcecao_QuandoEncontrarPorNomeComCervejaInexistente() {
         // Arrange
         String nome = "CervejaInexistente";
-        when(repository.findByNome(nome)).thenReturn(Optional.empty());
+        when(repository.buscarDTOPorNome(nome)).thenReturn(Optional.empty());
 
         // Act & Assert
         CervejaNaoEncontradaException exception = assertThrows(
@@ -360,7 +452,7 @@ public class CervejaServiceTest {
         );
 
         assertEquals("Cerveja não encontrada com o nome: " + nome, exception.getMessage());
-        verify(repository, times(1)).findByNome(nome);
+        verify(repository, times(1)).buscarDTOPorNome(nome);
     }
 
     @Test
@@ -370,7 +462,7 @@ public class CervejaServiceTest {
         String nomeSalvo = "Heineken"; // uppercase
         Cerveja cerveja = criarCerveja(1L, nomeSalvo, "Heineken", 100, 50, TipoCerveja.LAGER);
 
-        when(repository.findByNome(nomeBusca)).thenReturn(Optional.of(cerveja));
+        when(repository.buscarDTOPorNome(nomeBusca)).thenReturn(Optional.of(CervejaMapper.toDTO(cerveja)));
 
         // Act
         CervejaResponseDTO resultado = cervejaService.encontrarPorNome(nomeBusca);
@@ -378,7 +470,7 @@ public class CervejaServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals("Heineken", resultado.nome());
-        verify(repository, times(1)).findByNome(nomeBusca);
+        verify(repository, times(1)).buscarDTOPorNome(nomeBusca);
     }
 
     @Test
@@ -399,7 +491,7 @@ public class CervejaServiceTest {
     void deveLancarExcecao_QuandoEncontrarPorNomeComNomeVazio() {
         // Arrange
         String nomeVazio = "";
-        when(repository.findByNome(nomeVazio)).thenReturn(Optional.empty());
+        when(repository.buscarDTOPorNome(nomeVazio)).thenReturn(Optional.empty());
 
         // Act & Assert
         CervejaNaoEncontradaException exception = assertThrows(
@@ -408,7 +500,7 @@ public class CervejaServiceTest {
         );
 
         assertEquals("Cerveja não encontrada com o nome: " + nomeVazio, exception.getMessage());
-        verify(repository, times(1)).findByNome(nomeVazio);
+        verify(repository, times(1)).buscarDTOPorNome(nomeVazio);
     }
 
     // ===== TESTES PARA listarTudo() =====
@@ -417,7 +509,7 @@ public class CervejaServiceTest {
     void deveListarTodasCervejas_QuandoExistiremCervejas() {
         // Arrange
         List<Cerveja> cervejas = criarListaCervejas();
-        when(repository.findAll()).thenReturn(cervejas);
+        when(repository.listarDTOs()).thenReturn(paraDTOs(cervejas));
 
         // Act
         List<CervejaResponseDTO> resultado = cervejaService.listarTudo();
@@ -438,13 +530,13 @@ public class CervejaServiceTest {
         assertEquals(3L, resultado.get(2).id());
         assertEquals("Colorado", resultado.get(2).nome());
 
-        verify(repository, times(1)).findAll();
+        verify(repository, times(1)).listarDTOs();
     }
 
     @Test
     void deveRetornarListaVazia_QuandoNaoExistiremCervejas() {
         // Arrange
-        when(repository.findAll()).thenReturn(List.of());
+        when(repository.listarDTOs()).thenReturn(paraDTOs(List.of()));
 
         // Act
         List<CervejaResponseDTO> resultado = cervejaService.listarTudo();
@@ -452,7 +544,7 @@ public class CervejaServiceTest {
         // Assert
         assertNotNull(resultado);
         assertTrue(resultado.isEmpty());
-        verify(repository, times(1)).findAll();
+        verify(repository, times(1)).listarDTOs();
     }
 
     @Test
@@ -463,7 +555,7 @@ public class CervejaServiceTest {
                 criarCerveja(2L, "Cerveja2", "Marca2", 80, 30, TipoCerveja.PILSEN)
         );
 
-        when(repository.findAll()).thenReturn(cervejas);
+        when(repository.listarDTOs()).thenReturn(paraDTOs(cervejas));
 
         // Act
         List<CervejaResponseDTO> resultado = cervejaService.listarTudo();
@@ -481,30 +573,100 @@ public class CervejaServiceTest {
             assertEquals(cervejas.get(i).getTipo(), resultado.get(i).tipo());
         }
 
-        verify(repository, times(1)).findAll();
+        verify(repository, times(1)).listarDTOs();
     }
 
     // ===== TESTES PARA deletarPorId() =====
 
+    // ===== TESTES PARA listarPagina() =====
+
+    @Test
+    void deveRetornarPaginaComCursor_QuandoExistemMaisCervejas() {
+        // Arrange - limite 2, repositório devolve 3 (um a mais)
+        when(repository.listarDTOsAposId(0L, Limit.of(3))).thenReturn(paraDTOs(criarListaCervejas()));
+
+        // Act
+        CervejaPaginaDTO pagina = cervejaService.listarPagina(null, 2);
+
+        // Assert
+        assertEquals(2, pagina.itens().size());
+        assertEquals(1L, pagina.itens().get(0).id());
+        assertEquals(2L, pagina.itens().get(1).id());
+        assertEquals(2L, pagina.proximoCursor());
+    }
+
+    @Test
+    void deveRetornarUltimaPaginaSemCursor() {
+        // Arrange
+        when(repository.listarDTOsAposId(2L, Limit.of(3)))
+                .thenReturn(paraDTOs(List.of(criarCerveja(3L, "Colorado", "Colorado", 60, 25, TipoCerveja.IPA))));
+
+        // Act
+        CervejaPaginaDTO pagina = cervejaService.listarPagina(2L, 2);
+
+        // Assert
+        assertEquals(1, pagina.itens().size());
+        assertEquals(3L, pagina.itens().get(0).id());
+        assertNull(pagina.proximoCursor());
+        verify(repository, never()).listarDTOs();
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoLimiteDaPaginaInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> cervejaService.listarPagina(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> cervejaService.listarPagina(null, CervejaService.LIMITE_MAXIMO_PAGINA + 1));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void deveFiltrarComCursor_QuandoExistemMaisResultados() {
+        // Arrange - limite 2, repositório devolve 3 (um a mais)
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(TipoCerveja.IPA, null, 10, 100);
+        when(repository.filtrarDTOs(any(), eq(0L), eq(3))).thenReturn(paraDTOs(criarListaCervejas()));
+
+        // Act
+        CervejaPaginaDTO pagina = cervejaService.filtrar(filtro, null, 2);
+
+        // Assert
+        assertEquals(2, pagina.itens().size());
+        assertEquals(2L, pagina.proximoCursor());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoFaixaDeQuantidadeInvertida() {
+        // Arrange
+        FiltroCervejaDTO filtro = new FiltroCervejaDTO(null, null, 50, 10);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cervejaService.filtrar(filtro, null, 10));
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void deveDeletarCervejaPorId_QuandoCervejaExiste() {
         // Arrange
         Long id = 1L;
-        when(repository.existsById(id)).thenReturn(true);
-        doNothing().when(repository).deleteById(id);
+        Cerveja cerveja = criarCervejaValida();
+        when(repository.findById(id)).thenReturn(Optional.of(cerveja));
 
         // Act & Assert
         assertDoesNotThrow(() -> cervejaService.deletarPorId(id));
 
-        verify(repository, times(1)).existsById(id);
-        verify(repository, times(1)).deleteById(id);
+        verify(repository, times(1)).findById(id);
+        verify(repository, times(1)).delete(cerveja);
+        verify(indiceNomes, times(1)).remover(id);
+        verify(agregados, times(1)).removerCerveja(TipoCerveja.LAGER, 50, 100);
+        verify(estoqueBaixo, times(1)).remover(id);
+        verify(eventos, times(1)).publicar(TipoEventoEstoque.EXCLUSAO, id, "Heineken", TipoCerveja.LAGER, 0, -50);
+        verify(versaoCatalogo, times(1)).avancar();
     }
 
     @Test
     void deveLancarExcecao_QuandoDeletarPorIdComCervejaInexistente() {
         // Arrange
         Long id = 999L;
-        when(repository.existsById(id)).thenReturn(false);
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         CervejaNaoEncontradaException exception = assertThrows(
@@ -513,8 +675,10 @@ public class CervejaServiceTest {
         );
 
         assertEquals("Cerveja não encontrada com id: " + id, exception.getMessage());
-        verify(repository, times(1)).existsById(id);
-        verify(repository, never()).deleteById(id);
+        verify(repository, times(1)).findById(id);
+        verify(repository, never()).delete(any(Cerveja.class));
+        verifyNoInteractions(agregados);
+        verify(versaoCatalogo, never()).avancar();
     }
     @Test
     void deveLancarExcecao_QuandoDeletarPorIdComIdNulo() {
@@ -534,27 +698,27 @@ public class CervejaServiceTest {
     void deveDeletarCerveja_QuandoExisteByIdRetornaTrue() {
         // Arrange
         Long id = 5L;
-        when(repository.existsById(id)).thenReturn(true);
-        doNothing().when(repository).deleteById(id);
+        Cerveja cerveja = criarCervejaValida();
+        when(repository.findById(id)).thenReturn(Optional.of(cerveja));
 
         // Act
         cervejaService.deletarPorId(id);
 
         // Assert
-        verify(repository, times(1)).existsById(id);
-        verify(repository, times(1)).deleteById(id);
+        verify(repository, times(1)).findById(id);
+        verify(repository, times(1)).delete(cerveja);
 
         // Verifica a ordem das chamadas
         var inOrder = inOrder(repository);
-        inOrder.verify(repository).existsById(id);
-        inOrder.verify(repository).deleteById(id);
+        inOrder.verify(repository).findById(id);
+        inOrder.verify(repository).delete(cerveja);
     }
 
     @Test
     void deveNaoChamarDelete_QuandoExistsByIdRetornaFalse() {
         // Arrange
         Long id = 999L;
-        when(repository.existsById(id)).thenReturn(false);
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(
@@ -562,8 +726,8 @@ public class CervejaServiceTest {
                 () -> cervejaService.deletarPorId(id)
         );
 
-        verify(repository, times(1)).existsById(id);
-        verify(repository, never()).deleteById(anyLong());
+        verify(repository, times(1)).findById(id);
+        verify(repository, never()).delete(any(Cerveja.class));
     }
 
     // ===== TESTES DE INTEGRAÇÃO ENTRE MÉTODOS =====
@@ -572,7 +736,7 @@ public class CervejaServiceTest {
     void deveEncontrarCervejaQueFoiCriada() {
         // Arrange - Setup para criação
         Cerveja cervejaSalva = criarCerveja(1L, "NovaCerveja", "NovaMarca", 100, 50, TipoCerveja.IPA);
-        when(repository.findByNome("NovaCerveja")).thenReturn(Optional.of(cervejaSalva));
+        when(repository.buscarDTOPorNome("NovaCerveja")).thenReturn(Optional.of(CervejaMapper.toDTO(cervejaSalva)));
 
         // Act - Busca pela cerveja
         CervejaResponseDTO resultado = cervejaService.encontrarPorNome("NovaCerveja");
@@ -589,7 +753,7 @@ public class CervejaServiceTest {
         Cerveja cerveja1 = criarCerveja(1L, "Cerveja1", "Marca1", 100, 50, TipoCerveja.LAGER);
         Cerveja cerveja2 = criarCerveja(2L, "Cerveja2", "Marca2", 80, 30, TipoCerveja.PILSEN);
 
-        when(repository.findAll()).thenReturn(Arrays.asList(cerveja1, cerveja2));
+        when(repository.listarDTOs()).thenReturn(paraDTOs(Arrays.asList(cerveja1, cerveja2)));
 
         // Act
         List<CervejaResponseDTO> resultado = cervejaService.listarTudo();
@@ -604,7 +768,7 @@ public class CervejaServiceTest {
     void deveRemoverCervejaDaListaAposDelecao() {
         // Arrange - Setup inicial com 3 cervejas
         List<Cerveja> cervejasIniciais = criarListaCervejas();
-        when(repository.findAll()).thenReturn(cervejasIniciais);
+        when(repository.listarDTOs()).thenReturn(paraDTOs(cervejasIniciais));
 
         // Act & Assert - Verifica lista inicial
         List<CervejaResponseDTO> listaInicial = cervejaService.listarTudo();
@@ -612,14 +776,14 @@ public class CervejaServiceTest {
 
         // Arrange - Setup para deleção
         Long idParaDeletar = 2L; // Skol
-        when(repository.existsById(idParaDeletar)).thenReturn(true);
-        doNothing().when(repository).deleteById(idParaDeletar);
+        Cerveja skol = cervejasIniciais.get(1);
+        when(repository.findById(idParaDeletar)).thenReturn(Optional.of(skol));
 
         // Act - Deleta uma cerveja
         cervejaService.deletarPorId(idParaDeletar);
 
         // Assert - Verifica que delete foi chamado
-        verify(repository, times(1)).deleteById(idParaDeletar);
+        verify(repository, times(1)).delete(skol);
     }
 
     // ===== TESTES PARA incrementarEstoque() no CervejaServiceTest =====
@@ -630,26 +794,10 @@ public class CervejaServiceTest {
         Long id = 1L;
         Integer quantidadeParaIncrementar = 10;
 
-        Cerveja cerveja = Cerveja.builder()
-                .id(id)
-                .nome("Heineken")
-                .marca("Heineken")
-                .maximo(100)
-                .quantidade(50)
-                .tipo(TipoCerveja.LAGER)
-                .build();
+        CervejaResponseDTO cervejaAtualizada = new CervejaResponseDTO(id, "Heineken", "Heineken", 100,
+                60, TipoCerveja.LAGER); // 50 + 10
 
-        Cerveja cervejaAtualizada = Cerveja.builder()
-                .id(id)
-                .nome("Heineken")
-                .marca("Heineken")
-                .maximo(100)
-                .quantidade(60) // 50 + 10
-                .tipo(TipoCerveja.LAGER)
-                .build();
-
-        when(repository.findById(id)).thenReturn(Optional.of(cerveja));
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaAtualizada);
+        when(repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)).thenReturn(Optional.of(cervejaAtualizada));
 
         // Act
         CervejaResponseDTO resultado = cervejaService.incrementarEstoque(id, quantidadeParaIncrementar);
@@ -657,8 +805,13 @@ public class CervejaServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(60, resultado.quantidade());
-        verify(repository, times(1)).findById(id);
-        verify(repository, times(1)).save(any(Cerveja.class));
+        verify(repository, times(1)).incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any(Cerveja.class));
+        verify(livroEstoque, times(1)).registrar(id, quantidadeParaIncrementar, MotivoMovimento.INCREMENTO);
+        verify(agregados, times(1)).ajustarUnidades(TipoCerveja.LAGER, quantidadeParaIncrementar);
+        verify(estoqueBaixo, times(1)).ajustarQuantidade(id, quantidadeParaIncrementar);
+        verify(eventos, times(1)).publicar(TipoEventoEstoque.INCREMENTO, id, "Heineken", TipoCerveja.LAGER, 60, 10);
     }
 
     @Test
@@ -667,13 +820,14 @@ public class CervejaServiceTest {
         Long id = 999L;
         Integer quantidadeParaIncrementar = 10;
 
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)).thenReturn(Optional.empty());
+        when(repository.existsById(id)).thenReturn(false);
 
         // Act & Assert
         assertThrows(CervejaNaoEncontradaException.class,
                 () -> cervejaService.incrementarEstoque(id, quantidadeParaIncrementar));
 
-        verify(repository, times(1)).findById(id);
+        verify(repository, times(1)).existsById(id);
         verify(repository, never()).save(any(Cerveja.class));
     }
 
@@ -683,16 +837,8 @@ public class CervejaServiceTest {
         Long id = 1L;
         Integer quantidadeParaIncrementar = 60; // Vai exceder o máximo
 
-        Cerveja cerveja = Cerveja.builder()
-                .id(id)
-                .nome("Heineken")
-                .marca("Heineken")
-                .maximo(100)
-                .quantidade(50)
-                .tipo(TipoCerveja.LAGER)
-                .build();
-
-        when(repository.findById(id)).thenReturn(Optional.of(cerveja));
+        when(repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)).thenReturn(Optional.empty());
+        when(repository.existsById(id)).thenReturn(true);
 
         // Act & Assert
         EstoqueExcedidoException exception = assertThrows(EstoqueExcedidoException.class,
@@ -702,7 +848,7 @@ public class CervejaServiceTest {
         assertTrue(exception.getMessage().contains("60"));
         assertTrue(exception.getMessage().contains("1"));
 
-        verify(repository, times(1)).findById(id);
+        verify(repository, never()).findById(id);
         verify(repository, never()).save(any(Cerveja.class));
     }
 
@@ -712,26 +858,10 @@ public class CervejaServiceTest {
         Long id = 1L;
         Integer quantidadeParaIncrementar = 50; // Vai atingir exatamente o máximo
 
-        Cerveja cerveja = Cerveja.builder()
-                .id(id)
-                .nome("Heineken")
-                .marca("Heineken")
-                .maximo(100)
-                .quantidade(50)
-                .tipo(TipoCerveja.LAGER)
-                .build();
+        CervejaResponseDTO cervejaAtualizada = new CervejaResponseDTO(id, "Heineken", "Heineken", 100,
+                100, TipoCerveja.LAGER); // 50 + 50 = máximo
 
-        Cerveja cervejaAtualizada = Cerveja.builder()
-                .id(id)
-                .nome("Heineken")
-                .marca("Heineken")
-                .maximo(100)
-                .quantidade(100) // 50 + 50 = máximo
-                .tipo(TipoCerveja.LAGER)
-                .build();
-
-        when(repository.findById(id)).thenReturn(Optional.of(cerveja));
-        when(repository.save(any(Cerveja.class))).thenReturn(cervejaAtualizada);
+        when(repository.incrementarEstoqueAteMaximo(id, quantidadeParaIncrementar)).thenReturn(Optional.of(cervejaAtualizada));
 
         // Act
         CervejaResponseDTO resultado = cervejaService.incrementarEstoque(id, quantidadeParaIncrementar);
@@ -769,4 +899,165 @@ public class CervejaServiceTest {
         verifyNoInteractions(repository);
     }
 
+    // ===== TESTES PARA decrementarEstoque() =====
+
+    @Test
+    void deveDecrementarEstoque_QuandoHaQuantidadeSuficiente() {
+        // Arrange
+        Cerveja cerveja = criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        when(repository.findById(1L)).thenReturn(Optional.of(cerveja));
+        when(repository.save(any(Cerveja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CervejaResponseDTO resultado = cervejaService.decrementarEstoque(1L, 20);
+
+        // Assert
+        assertEquals(30, resultado.quantidade());
+        verify(repository, times(1)).save(cerveja);
+        verify(livroEstoque, times(1)).registrar(1L, -20, MotivoMovimento.DECREMENTO);
+        verify(agregados, times(1)).ajustarUnidades(TipoCerveja.LAGER, -20);
+        verify(estoqueBaixo, times(1)).ajustarQuantidade(1L, -20);
+        verify(eventos, times(1)).publicar(TipoEventoEstoque.DECREMENTO, 1L, "Heineken", TipoCerveja.LAGER, 30, -20);
+    }
+
+    @Test
+    void deveDecrementarAteZero() {
+        // Arrange
+        Cerveja cerveja = criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        when(repository.findById(1L)).thenReturn(Optional.of(cerveja));
+        when(repository.save(any(Cerveja.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CervejaResponseDTO resultado = cervejaService.decrementarEstoque(1L, 50);
+
+        // Assert
+        assertEquals(0, resultado.quantidade());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoDecrementoDeixariaEstoqueNegativo() {
+        // Arrange
+        Cerveja cerveja = criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        when(repository.findById(1L)).thenReturn(Optional.of(cerveja));
+
+        // Act & Assert
+        EstoqueInsuficienteException exception = assertThrows(EstoqueInsuficienteException.class,
+                () -> cervejaService.decrementarEstoque(1L, 51));
+
+        assertTrue(exception.getMessage().contains("Não é possível decrementar 51 unidades"));
+        verify(repository, never()).save(any(Cerveja.class));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoDecrementoAlcancaUnidadesReservadas() {
+        // Arrange
+        Cerveja cerveja = criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        cerveja.setReservado(40);
+        when(repository.findById(1L)).thenReturn(Optional.of(cerveja));
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> cervejaService.decrementarEstoque(1L, 11));
+        verify(repository, never()).save(any(Cerveja.class));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoDecrementarCervejaInexistente() {
+        // Arrange
+        when(repository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CervejaNaoEncontradaException.class, () -> cervejaService.decrementarEstoque(99L, 1));
+        verify(repository, never()).save(any(Cerveja.class));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoQuantidadeParaDecrementarInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> cervejaService.decrementarEstoque(1L, 0));
+        verifyNoInteractions(repository);
+    }
+
+    // ===== TESTES PARA incrementarEstoqueEmLote() =====
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveIncrementarEstoqueEmLote_ComResultadoPorItem() {
+        // Arrange
+        List<IncrementoEstoqueItemDTO> itens = List.of(
+                new IncrementoEstoqueItemDTO(1L, 10),  // ok: 50 -> 60
+                new IncrementoEstoqueItemDTO(3L, 40),  // excede: 25 + 40 > 60
+                new IncrementoEstoqueItemDTO(99L, 5)   // não existe
+        );
+
+        when(repository.findAllByIdParaAtualizacao(anyCollection())).thenReturn(List.of(
+                criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER),
+                criarCerveja(3L, "Colorado", "Colorado", 60, 25, TipoCerveja.IPA)
+        ));
+
+        // Act
+        List<IncrementoEstoqueResultadoDTO> resultados = cervejaService.incrementarEstoqueEmLote(itens);
+
+        // Assert
+        assertEquals(3, resultados.size());
+        assertEquals(StatusIncremento.OK, resultados.get(0).status());
+        assertEquals(60, resultados.get(0).quantidadeAtual());
+        assertEquals(StatusIncremento.ESTOQUE_EXCEDIDO, resultados.get(1).status());
+        assertEquals(25, resultados.get(1).quantidadeAtual());
+        assertTrue(resultados.get(1).mensagem().contains("Não é possível incrementar"));
+        assertEquals(StatusIncremento.NAO_ENCONTRADA, resultados.get(2).status());
+        assertNull(resultados.get(2).quantidadeAtual());
+
+        verify(repository, times(1)).findAllByIdParaAtualizacao(anyCollection());
+        verify(repository, never()).findById(anyLong());
+
+        // Só o item aceito vira movimento no livro-razão
+        ArgumentCaptor<List<MovimentoEstoque>> movimentos = ArgumentCaptor.forClass(List.class);
+        verify(livroEstoque, times(1)).registrarTodos(movimentos.capture());
+        assertEquals(1, movimentos.getValue().size());
+        assertEquals(1L, movimentos.getValue().get(0).getCervejaId());
+        assertEquals(10, movimentos.getValue().get(0).getDelta());
+    }
+
+    @Test
+    void deveAcumularIncrementosDoMesmoId_NoLote() {
+        // Arrange
+        List<IncrementoEstoqueItemDTO> itens = List.of(
+                new IncrementoEstoqueItemDTO(1L, 30),  // 50 -> 80
+                new IncrementoEstoqueItemDTO(1L, 30),  // 80 + 30 > 100
+                new IncrementoEstoqueItemDTO(1L, 20)   // 80 -> 100
+        );
+
+        Cerveja cerveja = criarCerveja(1L, "Heineken", "Heineken", 100, 50, TipoCerveja.LAGER);
+        when(repository.findAllByIdParaAtualizacao(anyCollection())).thenReturn(List.of(cerveja));
+
+        // Act
+        List<IncrementoEstoqueResultadoDTO> resultados = cervejaService.incrementarEstoqueEmLote(itens);
+
+        // Assert
+        assertEquals(StatusIncremento.OK, resultados.get(0).status());
+        assertEquals(StatusIncremento.ESTOQUE_EXCEDIDO, resultados.get(1).status());
+        assertEquals(StatusIncremento.OK, resultados.get(2).status());
+        assertEquals(100, cerveja.getQuantidade());
+    }
+
+    @Test
+    void deveEntregarCadaLinhaDaExportacao_AntesDeLerAsSeguintes() {
+        // Arrange - stream gerado sob demanda, contando quantas linhas já foram puxadas do "banco"
+        int total = 100_000;
+        AtomicInteger lidas = new AtomicInteger();
+        when(repository.streamDTOs()).thenReturn(Stream.iterate(1L, id -> id + 1)
+                .limit(total)
+                .map(id -> new CervejaResponseDTO(id, "Cerveja " + id, "Marca", 100, 10, TipoCerveja.LAGER))
+                .peek(cerveja -> lidas.incrementAndGet()));
+        List<Integer> lidasPorEntrega = new ArrayList<>(total);
+
+        // Act
+        cervejaService.exportarTudo(cerveja -> lidasPorEntrega.add(lidas.get()));
+
+        // Assert - a linha n chega ao consumidor (o serializador do /export) com só n linhas lidas:
+        // nada é juntado numa lista antes de começar a escrever
+        assertEquals(total, lidasPorEntrega.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, lidasPorEntrega.get(i), "Linhas lidas antes da entrega " + (i + 1));
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.EstoqueBaixoDTO;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.NivelEstoque;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EstoqueBaixoTest {
+
+    @Mock
+    private CervejaRepository repository;
+
+    @InjectMocks
+    private EstoqueBaixo estoqueBaixo;
+
+    @Test
+    void deveCarregarDoBanco_EmOrdemDeOcupacao() {
+        // Arrange
+        when(repository.listarNiveisEstoque()).thenReturn(List.of(
+                nivel(1L, "Heineken", 50, 100),
+                nivel(2L, "Skol", 3, 120),
+                nivel(3L, "Colorado", 6, 60)));
+
+        // Act
+        estoqueBaixo.carregar();
+
+        // Assert
+        assertEquals(3, estoqueBaixo.tamanho());
+        assertEquals(List.of("Skol", "Colorado", "Heineken"), nomes(estoqueBaixo.listar(10, 1.0)));
+        assertEquals(0.025, estoqueBaixo.listar(1, 1.0).get(0).ocupacao());
+    }
+
+    @Test
+    void devePararNoLimiar_QuandoCervejasEstaoAcima() {
+        // Arrange
+        estoqueBaixo.registrar(1L, "Vazia", 0, 10);
+        estoqueBaixo.registrar(2L, "Dez por cento", 10, 100);
+        estoqueBaixo.registrar(3L, "Metade", 50, 100);
+
+        // Act & Assert - o limiar é inclusivo
+        assertEquals(List.of("Vazia", "Dez por cento"), nomes(estoqueBaixo.listar(10, 0.1)));
+        assertEquals(List.of("Vazia"), nomes(estoqueBaixo.listar(10, 0.05)));
+    }
+
+    @Test
+    void deveUsarLimiarConfigurado_QuandoNaoInformado() {
+        // Arrange
+        ReflectionTestUtils.setField(estoqueBaixo, "limiarPadrao", 0.2);
+        estoqueBaixo.registrar(1L, "Baixa", 15, 100);
+        estoqueBaixo.registrar(2L, "Alta", 80, 100);
+
+        // Act & Assert
+        assertEquals(List.of("Baixa"), nomes(estoqueBaixo.listar(10, null)));
+    }
+
+    @Test
+    void deveReposicionar_QuandoQuantidadeMuda() {
+        // Arrange
+        estoqueBaixo.registrar(1L, "Heineken", 10, 100);
+        estoqueBaixo.registrar(2L, "Skol", 20, 100);
+
+        // Act - a Heineken é reabastecida e a Skol vende
+        estoqueBaixo.ajustarQuantidade(1L, 60);
+        estoqueBaixo.ajustarQuantidade(2L, -15);
+
+        // Assert
+        List<EstoqueBaixoDTO> resultado = estoqueBaixo.listar(10, 1.0);
+        assertEquals(List.of("Skol", "Heineken"), nomes(resultado));
+        assertEquals(5, resultado.get(0).quantidade());
+        assertEquals(70, resultado.get(1).quantidade());
+        assertEquals(2, estoqueBaixo.tamanho());
+    }
+
+    @Test
+    void deveDesempatarPeloId_QuandoOcupacaoIgual() {
+        // Arrange - 1/3 e 2/6 são a mesma ocupação
+        estoqueBaixo.registrar(2L, "Segunda", 2, 6);
+        estoqueBaixo.registrar(1L, "Primeira", 1, 3);
+
+        // Act & Assert
+        assertEquals(List.of("Primeira", "Segunda"), nomes(estoqueBaixo.listar(10, 1.0)));
+    }
+
+    @Test
+    void deveSumirDaLista_QuandoRemovida() {
+        // Arrange
+        estoqueBaixo.registrar(1L, "Heineken", 1, 100);
+        estoqueBaixo.registrar(2L, "Skol", 2, 100);
+
+        // Act
+        estoqueBaixo.remover(1L);
+        estoqueBaixo.ajustarQuantidade(1L, 10);
+
+        // Assert - um ajuste que chega depois da exclusão não a traz de volta
+        assertEquals(List.of("Skol"), nomes(estoqueBaixo.listar(10, 1.0)));
+        assertEquals(1, estoqueBaixo.tamanho());
+    }
+
+    @Test
+    void deveRespeitarTop_QuandoHaMaisCervejasAbaixoDoLimiar() {
+        // Arrange
+        for (long id = 1; id <= 100; id++) {
+            estoqueBaixo.registrar(id, "Cerveja " + id, (int) id, 1000);
+        }
+
+        // Act
+        List<EstoqueBaixoDTO> resultado = estoqueBaixo.listar(5, 1.0);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), resultado.stream().map(EstoqueBaixoDTO::id).toList());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTopOuLimiarInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> estoqueBaixo.listar(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> estoqueBaixo.listar(EstoqueBaixo.TOP_MAXIMO + 1, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> estoqueBaixo.listar(10, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> estoqueBaixo.listar(10, 1.5));
+    }
+
+    private List<String> nomes(List<EstoqueBaixoDTO> cervejas) {
+        return cervejas.stream().map(EstoqueBaixoDTO::nome).toList();
+    }
+
+    private NivelEstoque nivel(Long id, String nome, int quantidade, int maximo) {
+        return new NivelEstoque() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+
+            @Override
+            public Integer getQuantidade() {
+                return quantidade;
+            }
+
+            @Override
+            public Integer getMaximo() {
+                return maximo;
+            }
+        };
+    }
+}
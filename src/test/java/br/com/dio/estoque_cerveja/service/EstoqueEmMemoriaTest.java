@@ -0,0 +1,311 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.entity.MovimentoEstoque;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueExcedidoException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EstoqueEmMemoriaTest {
+
+    @Mock
+    private CervejaRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LivroEstoqueService livroEstoque;
+
+    @InjectMocks
+    private EstoqueEmMemoria estoqueEmMemoria;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAll()).thenReturn(List.of(
+                criarCerveja(1L, "Heineken", 100, 50),
+                criarCerveja(2L, "Skol", 120, 80)
+        ));
+        estoqueEmMemoria.carregar();
+    }
+
+    private Cerveja criarCerveja(Long id, String nome, Integer maximo, Integer quantidade) {
+        return Cerveja.builder()
+                .id(id)
+                .nome(nome)
+                .marca("Marca")
+                .maximo(maximo)
+                .quantidade(quantidade)
+                .tipo(TipoCerveja.LAGER)
+                .build();
+    }
+
+    @Test
+    void deveIncrementarContador_SemAcessarBanco() {
+        // Act
+        CervejaResponseDTO resultado = estoqueEmMemoria.incrementar(1L, 10);
+
+        // Assert
+        assertEquals(60, resultado.quantidade());
+        assertEquals("Heineken", resultado.nome());
+        verify(repository, times(1)).findAll();
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoIncrementoExcedeMaximo() {
+        // Act & Assert
+        assertThrows(EstoqueExcedidoException.class, () -> estoqueEmMemoria.incrementar(1L, 51));
+
+        CervejaResponseDTO atual = estoqueEmMemoria.comQuantidadeAtual(
+                new CervejaResponseDTO(1L, "Heineken", "Marca", 100, 50, TipoCerveja.LAGER));
+        assertEquals(50, atual.quantidade());
+    }
+
+    @Test
+    void deveDecrementarContador_SemFicarNegativo() {
+        // Act
+        CervejaResponseDTO resultado = estoqueEmMemoria.decrementar(1L, 50);
+
+        // Assert
+        assertEquals(0, resultado.quantidade());
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueEmMemoria.decrementar(1L, 1));
+    }
+
+    @Test
+    void deveSepararReservadoDoDisponivel_QuandoReservarEConfirmar() {
+        // Act
+        CervejaResponseDTO reservada = estoqueEmMemoria.reservar(1L, 30);
+
+        // Assert
+        assertEquals(50, reservada.quantidade());
+        assertEquals(30, reservada.reservado());
+        assertEquals(20, reservada.disponivel());
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueEmMemoria.reservar(1L, 21));
+        assertThrows(EstoqueInsuficienteException.class, () -> estoqueEmMemoria.decrementar(1L, 21));
+
+        CervejaResponseDTO confirmada = estoqueEmMemoria.confirmarReserva(1L, 30);
+        assertEquals(20, confirmada.quantidade());
+        assertEquals(0, confirmada.reservado());
+        assertEquals(20, confirmada.disponivel());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveAplicarQuantidadeDoJournal_QuandoBancoFicouParaTras() {
+        // Arrange - o processo caiu depois de aceitar incrementos que não chegaram ao banco
+        JournalEstoque journal = mock(JournalEstoque.class);
+        when(journal.quantidadesRecuperadas()).thenReturn(Map.of(1L, 70, 99L, 5));
+        when(journal.ultimaSequencia()).thenReturn(42L);
+        ReflectionTestUtils.setField(estoqueEmMemoria, "journal", journal);
+
+        // Act
+        estoqueEmMemoria.carregar();
+        estoqueEmMemoria.gravarAlterados();
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(EstoqueEmMemoria.SQL_ATUALIZAR_QUANTIDADE), captor.capture());
+        assertArrayEquals(new Object[]{70, 1L}, captor.getValue().get(0));
+
+        ArgumentCaptor<List<MovimentoEstoque>> movimentos = ArgumentCaptor.forClass(List.class);
+        verify(livroEstoque, times(1)).registrarTodos(movimentos.capture());
+        assertEquals(20, movimentos.getValue().get(0).getDelta());
+        assertEquals(MotivoMovimento.RECUPERACAO_JOURNAL, movimentos.getValue().get(0).getMotivo());
+
+        verify(journal, times(1)).descartarAte(42L);
+    }
+
+    @Test
+    void deveRegistrarNoJournalEAguardarForce_AntesDeResponder() {
+        // Arrange
+        JournalEstoque journal = mock(JournalEstoque.class);
+        when(journal.anexar(1L, 10, 60)).thenReturn(7L);
+        ReflectionTestUtils.setField(estoqueEmMemoria, "journal", journal);
+
+        // Act
+        CervejaResponseDTO resultado = estoqueEmMemoria.incrementar(1L, 10);
+
+        // Assert
+        assertEquals(60, resultado.quantidade());
+        InOrder ordem = inOrder(journal);
+        ordem.verify(journal).anexar(1L, 10, 60);
+        ordem.verify(journal).aguardarGravacao(7L);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoCervejaNaoCarregada() {
+        assertThrows(CervejaNaoEncontradaException.class, () -> estoqueEmMemoria.incrementar(99L, 1));
+    }
+
+    @Test
+    void deveSobreporQuantidadeDoBanco_ComValorDoContador() {
+        // Arrange
+        estoqueEmMemoria.incrementar(2L, 5);
+
+        // Act - o banco ainda tem 80
+        CervejaResponseDTO atual = estoqueEmMemoria.comQuantidadeAtual(
+                new CervejaResponseDTO(2L, "Skol", "Marca", 120, 80, TipoCerveja.LAGER));
+
+        // Assert
+        assertEquals(85, atual.quantidade());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGravarEmLoteSomenteCervejasAlteradas() {
+        // Arrange
+        estoqueEmMemoria.incrementar(1L, 10);
+        estoqueEmMemoria.incrementar(1L, 5);
+
+        // Act
+        estoqueEmMemoria.gravarAlterados();
+        estoqueEmMemoria.gravarAlterados(); // nada mudou desde o último flush
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(EstoqueEmMemoria.SQL_ATUALIZAR_QUANTIDADE), captor.capture());
+        List<Object[]> atualizacoes = captor.getValue();
+        assertEquals(1, atualizacoes.size());
+        assertArrayEquals(new Object[]{65, 1L}, atualizacoes.get(0));
+
+        // Os dois movimentos vão para o livro-razão no mesmo flush
+        ArgumentCaptor<List<MovimentoEstoque>> movimentos = ArgumentCaptor.forClass(List.class);
+        verify(livroEstoque, times(2)).registrarTodos(movimentos.capture());
+        assertEquals(List.of(10, 5), movimentos.getAllValues().get(0).stream().map(MovimentoEstoque::getDelta).toList());
+        assertTrue(movimentos.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRegravarNoProximoFlush_QuandoLoteFalhar() {
+        // Arrange
+        JournalEstoque journal = mock(JournalEstoque.class);
+        when(journal.anexar(anyLong(), anyInt(), anyInt())).thenReturn(1L);
+        when(journal.ultimaSequencia()).thenReturn(1L);
+        ReflectionTestUtils.setField(estoqueEmMemoria, "journal", journal);
+        estoqueEmMemoria.incrementar(1L, 10);
+        when(jdbcTemplate.batchUpdate(eq(EstoqueEmMemoria.SQL_ATUALIZAR_QUANTIDADE), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("banco fora"))
+                .thenReturn(new int[]{1});
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> estoqueEmMemoria.gravarAlterados());
+        estoqueEmMemoria.gravarAlterados();
+
+        // Assert - a segunda tentativa grava o contador e o movimento, e só então o journal é descartado
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(EstoqueEmMemoria.SQL_ATUALIZAR_QUANTIDADE), captor.capture());
+        assertArrayEquals(new Object[]{60, 1L}, captor.getAllValues().get(1).get(0));
+
+        ArgumentCaptor<List<MovimentoEstoque>> movimentos = ArgumentCaptor.forClass(List.class);
+        verify(livroEstoque, times(1)).registrarTodos(movimentos.capture());
+        assertEquals(List.of(10), movimentos.getValue().stream().map(MovimentoEstoque::getDelta).toList());
+        verify(journal, times(1)).descartarAte(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveManterMovimentosNaFila_QuandoLivroFalhar() {
+        // Arrange
+        estoqueEmMemoria.incrementar(1L, 10);
+        estoqueEmMemoria.decrementar(2L, 5);
+        doThrow(new DataAccessResourceFailureException("banco fora"))
+                .doNothing()
+                .when(livroEstoque).registrarTodos(anyList());
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> estoqueEmMemoria.gravarAlterados());
+        estoqueEmMemoria.gravarAlterados();
+
+        // Assert - a segunda tentativa leva os mesmos movimentos, na mesma ordem
+        ArgumentCaptor<List<MovimentoEstoque>> movimentos = ArgumentCaptor.forClass(List.class);
+        verify(livroEstoque, times(2)).registrarTodos(movimentos.capture());
+        assertEquals(List.of(10, -5), movimentos.getAllValues().get(1).stream().map(MovimentoEstoque::getDelta).toList());
+    }
+
+    @Test
+    void naoDeveGravarCervejaRemovida() {
+        // Arrange
+        estoqueEmMemoria.incrementar(1L, 10);
+        estoqueEmMemoria.remover(1L);
+
+        // Act
+        estoqueEmMemoria.gravarAlterados();
+
+        // Assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void naoDeveUltrapassarMaximo_QuandoIncrementosConcorrentes() throws Exception {
+        // Arrange - 50 vagas na Heineken (50/100)
+        int threads = 8;
+        AtomicInteger sucessos = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < 1_000; i++) {
+                    try {
+                        estoqueEmMemoria.incrementar(1L, 1);
+                        sucessos.incrementAndGet();
+                    } catch (EstoqueExcedidoException e) {
+                        // esperado depois de atingir o máximo
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(50, sucessos.get());
+        CervejaResponseDTO atual = estoqueEmMemoria.comQuantidadeAtual(
+                new CervejaResponseDTO(1L, "Heineken", "Marca", 100, 50, TipoCerveja.LAGER));
+        assertEquals(100, atual.quantidade());
+    }
+}
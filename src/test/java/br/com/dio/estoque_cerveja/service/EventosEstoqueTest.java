@@ -0,0 +1,317 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.EventoEstoqueDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.enums.TipoEventoEstoque;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventosEstoqueTest {
+
+    private final List<Gravador> gravadores = new CopyOnWriteArrayList<>();
+    private final AtomicInteger emEnvio = new AtomicInteger();
+    private CountDownLatch travaEnvio;
+
+    private EventosEstoque eventos = novosEventos(100, 10);
+
+    @AfterEach
+    void encerrar() {
+        if (travaEnvio != null) {
+            travaEnvio.countDown();
+        }
+        eventos.encerrar();
+    }
+
+    @Test
+    void deveEntregarSoEventosDoFiltro_QuandoAssinaPorTipoEId() {
+        // Arrange
+        eventos.assinar(null, Set.of(), Set.of(TipoCerveja.IPA));
+        eventos.assinar(null, Set.of(2L), Set.of());
+        eventos.assinar(null, Set.of(1L), Set.of(TipoCerveja.LAGER));
+
+        // Act
+        publicar(1L, TipoCerveja.IPA);
+        publicar(2L, TipoCerveja.LAGER);
+        publicar(3L, TipoCerveja.IPA);
+
+        // Assert
+        aguardar(() -> gravadores.get(0).recebidos.size() == 2 && gravadores.get(1).recebidos.size() == 1);
+        assertEquals(List.of(1L, 3L), gravadores.get(0).cervejas());
+        assertEquals(List.of(2L), gravadores.get(1).cervejas());
+        assertTrue(gravadores.get(2).recebidos.isEmpty());
+    }
+
+    @Test
+    void deveReenviarEventosPerdidos_QuandoReconectaComLastEventId() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            publicar(id, TipoCerveja.STOUT);
+        }
+
+        // Act - o cliente viu até o evento 2
+        eventos.assinar(eventos.idDoEvento(2), Set.of(), Set.of());
+        publicar(6L, TipoCerveja.STOUT);
+
+        // Assert - replay em ordem e depois os eventos novos, sem repetir nem pular
+        aguardar(() -> gravadores.get(0).recebidos.size() == 4);
+        assertEquals(List.of(3L, 4L, 5L, 6L), gravadores.get(0).cervejas());
+        assertEquals(List.of(3L, 4L, 5L, 6L), gravadores.get(0).recebidos.stream()
+                .map(evento -> ((EventoEstoqueDTO) evento).id()).toList());
+    }
+
+    @Test
+    void deveAvisarLacuna_QuandoLastEventIdJaSaiuDoBuffer() {
+        // Arrange - buffer de 3: os eventos 1 e 2 já saíram
+        eventos = novosEventos(3, 10);
+        for (long id = 1; id <= 5; id++) {
+            publicar(id, TipoCerveja.STOUT);
+        }
+
+        // Act
+        eventos.assinar(eventos.idDoEvento(1), Set.of(), Set.of());
+        publicar(6L, TipoCerveja.STOUT);
+
+        // Assert
+        aguardar(() -> gravadores.get(0).recebidos.size() == 2);
+        assertEquals(EventosEstoque.EVENTO_LACUNA, gravadores.get(0).recebidos.get(0));
+        assertEquals(6L, ((EventoEstoqueDTO) gravadores.get(0).recebidos.get(1)).cervejaId());
+    }
+
+    @Test
+    void deveAvisarLacuna_QuandoLastEventIdEDeAntesDeUmReinicio() {
+        // Arrange - a instância anterior tinha chegado ao evento 2; a nova já passou dele
+        EventosEstoque anterior = novosEventos(100, 10);
+        String idAnterior = anterior.idDoEvento(2);
+        anterior.encerrar();
+        for (long id = 1; id <= 5; id++) {
+            publicar(id, TipoCerveja.STOUT);
+        }
+
+        // Act
+        eventos.assinar(idAnterior, Set.of(), Set.of());
+        publicar(6L, TipoCerveja.STOUT);
+
+        // Assert - lacuna e só os eventos novos, sem nada da outra numeração
+        aguardar(() -> gravadores.get(0).recebidos.size() == 2);
+        assertEquals(EventosEstoque.EVENTO_LACUNA, gravadores.get(0).recebidos.get(0));
+        assertEquals(6L, ((EventoEstoqueDTO) gravadores.get(0).recebidos.get(1)).cervejaId());
+    }
+
+    @Test
+    void deveAvisarLacuna_QuandoLastEventIdForaDoFormato() {
+        // Arrange
+        publicar(1L, TipoCerveja.STOUT);
+
+        // Act
+        eventos.assinar("1", Set.of(), Set.of());
+
+        // Assert
+        aguardar(() -> gravadores.get(0).recebidos.size() == 1);
+        assertEquals(EventosEstoque.EVENTO_LACUNA, gravadores.get(0).recebidos.get(0));
+    }
+
+    @Test
+    void naoDeveAbrirMaisThreadsQueOLimite_QuandoAssinantesTravam() throws Exception {
+        // Arrange - 2 threads de envio e 4 assinantes parados no send()
+        eventos = novosEventos(100, 10, 2);
+        travaEnvio = new CountDownLatch(1);
+        for (int i = 0; i < 4; i++) {
+            eventos.assinar(null, Set.of(), Set.of());
+            gravadores.get(i).trava = travaEnvio;
+        }
+
+        // Act
+        publicar(1L, TipoCerveja.ALE);
+
+        // Assert - só dois envios entram; os outros esperam na fila do executor
+        aguardar(() -> emEnvio.get() == 2);
+        Thread.sleep(200);
+        assertEquals(2, emEnvio.get());
+
+        travaEnvio.countDown();
+        aguardar(() -> gravadores.stream().allMatch(gravador -> gravador.recebidos.size() == 1));
+    }
+
+    @Test
+    void naoDeveSegurarPublicacaoNemOutrosAssinantes_QuandoUmAssinanteTrava() {
+        // Arrange - fila de 3 por assinante; o primeiro trava no envio
+        eventos = novosEventos(100, 3);
+        travaEnvio = new CountDownLatch(1);
+        eventos.assinar(null, Set.of(), Set.of());
+        gravadores.get(0).trava = travaEnvio;
+        eventos.assinar(null, Set.of(), Set.of());
+
+        // Act - no ritmo do assinante saudável, que acompanha cada evento
+        long maiorPublicacaoNanos = 0;
+        for (long id = 1; id <= 20; id++) {
+            long inicio = System.nanoTime();
+            publicar(id, TipoCerveja.PILSEN);
+            maiorPublicacaoNanos = Math.max(maiorPublicacaoNanos, System.nanoTime() - inicio);
+            int esperados = (int) id;
+            aguardar(() -> gravadores.get(1).recebidos.size() == esperados);
+        }
+
+        // Assert - publicar nunca esperou o travado, que foi desconectado ao encher a fila
+        assertTrue(maiorPublicacaoNanos < TimeUnit.MILLISECONDS.toNanos(100),
+                "Publicar levou " + maiorPublicacaoNanos + " ns");
+        assertEquals(1, eventos.assinantesAtivos());
+
+        travaEnvio.countDown();
+        aguardar(() -> gravadores.get(0).concluido);
+        assertTrue(gravadores.get(0).recebidos.size() < 20);
+    }
+
+    @Test
+    void deveEntregarEmOrdemSemPerderNemRepetir_QuandoPublicacoesConcorrentes() throws Exception {
+        // Arrange - fila e buffer grandes o bastante para ninguém ser desconectado nem cair em lacuna
+        int threads = 8;
+        int publicacoesPorThread = 200;
+        eventos = novosEventos(threads * publicacoesPorThread, threads * publicacoesPorThread);
+        eventos.assinar(null, Set.of(), Set.of());
+        eventos.assinar(null, Set.of(), Set.of(TipoCerveja.IPA));
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act - e um assinante que chega no meio, com replay
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            TipoCerveja tipo = t % 2 == 0 ? TipoCerveja.IPA : TipoCerveja.LAGER;
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < publicacoesPorThread; i++) {
+                    publicar((long) i, tipo);
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        // Só reconecta com um id que um cliente já poderia ter recebido
+        aguardar(() -> gravadores.get(0).recebidos.size() >= 10);
+        eventos.assinar(eventos.idDoEvento(5), Set.of(), Set.of());
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - ids estritamente crescentes; sem filtro, todos de 1 (ou de 6, no replay) até o último
+        int total = threads * publicacoesPorThread;
+        aguardar(() -> gravadores.get(0).recebidos.size() == total
+                && gravadores.get(1).recebidos.size() == total / 2
+                && gravadores.get(2).recebidos.size() == total - 5);
+        assertEquals(LongStream.rangeClosed(1, total).boxed().toList(), gravadores.get(0).ids());
+        assertEquals(LongStream.rangeClosed(6, total).boxed().toList(), gravadores.get(2).ids());
+        List<Long> ipa = gravadores.get(1).ids();
+        for (int i = 1; i < ipa.size(); i++) {
+            assertTrue(ipa.get(i) > ipa.get(i - 1), "Fora de ordem: " + ipa.get(i - 1) + " antes de " + ipa.get(i));
+        }
+    }
+
+    @Test
+    void devePublicarSoDepoisDoCommit_QuandoDentroDeTransacao() {
+        // Arrange
+        eventos.assinar(null, Set.of(), Set.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            publicar(1L, TipoCerveja.WEISS);
+
+            // Assert
+            assertEquals(0, eventos.ultimaSequencia());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, eventos.ultimaSequencia());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        aguardar(() -> gravadores.get(0).recebidos.size() == 1);
+    }
+
+    private void publicar(Long cervejaId, TipoCerveja tipo) {
+        eventos.publicar(TipoEventoEstoque.INCREMENTO, cervejaId, "Cerveja " + cervejaId, tipo, 10, 1);
+    }
+
+    private EventosEstoque novosEventos(int capacidadeReplay, int capacidadeFila) {
+        return novosEventos(capacidadeReplay, capacidadeFila, 8);
+    }
+
+    private EventosEstoque novosEventos(int capacidadeReplay, int capacidadeFila, int threadsEnvio) {
+        return new EventosEstoque(capacidadeReplay, capacidadeFila, 60_000, threadsEnvio, false) {
+            @Override
+            SseEmitter criarEmitter() {
+                Gravador gravador = new Gravador();
+                gravadores.add(gravador);
+                return gravador;
+            }
+        };
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Condição não atingida em 5 s");
+            Thread.onSpinWait();
+        }
+    }
+
+    // Emitter que guarda o que seria escrito na resposta; com trava, o envio fica parado como um cliente lento
+    private class Gravador extends SseEmitter {
+        final List<Object> recebidos = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch trava;
+        volatile boolean concluido;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            CountDownLatch travaAtual = trava;
+            if (travaAtual != null) {
+                emEnvio.incrementAndGet();
+                try {
+                    travaAtual.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                } finally {
+                    emEnvio.decrementAndGet();
+                }
+            }
+            for (var parte : evento.build()) {
+                if (parte.getData() instanceof EventoEstoqueDTO dto) {
+                    recebidos.add(dto);
+                } else if (parte.getData().toString().contains("event:" + EventosEstoque.EVENTO_LACUNA)) {
+                    recebidos.add(EventosEstoque.EVENTO_LACUNA);
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            concluido = true;
+            super.complete();
+        }
+
+        List<Long> cervejas() {
+            return recebidos.stream().map(evento -> ((EventoEstoqueDTO) evento).cervejaId()).toList();
+        }
+
+        List<Long> ids() {
+            return recebidos.stream().map(evento -> ((EventoEstoqueDTO) evento).id()).toList();
+        }
+    }
+}
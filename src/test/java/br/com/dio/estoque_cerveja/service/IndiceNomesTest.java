@@ -0,0 +1,156 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.SugestaoNomeDTO;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.NomeCerveja;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IndiceNomesTest {
+
+    @Mock
+    private CervejaRepository repository;
+
+    @InjectMocks
+    private IndiceNomes indiceNomes;
+
+    @Test
+    void deveCarregarNomesDoBanco_QuandoIniciar() {
+        // Arrange
+        when(repository.listarNomes()).thenReturn(List.of(nome(1L, "Heineken"), nome(2L, "Skol")));
+
+        // Act
+        indiceNomes.carregar();
+
+        // Assert
+        assertEquals(2, indiceNomes.tamanho());
+        assertEquals("Skol", indiceNomes.buscar("sk", 10).get(0).nome());
+    }
+
+    @Test
+    void deveEncontrarPorPrefixo_IgnorandoAcentosEMaiusculas() {
+        // Arrange
+        indiceNomes.adicionar(1L, "Brahma Chopp");
+        indiceNomes.adicionar(2L, "Bohemia Pilsen");
+        indiceNomes.adicionar(3L, "Baden Baden Cristal");
+        indiceNomes.adicionar(4L, "Bohêmia Weiss");
+
+        // Act
+        List<SugestaoNomeDTO> resultado = indiceNomes.buscar("BOHEMIA", 10);
+
+        // Assert
+        assertEquals(List.of("Bohemia Pilsen", "Bohêmia Weiss"), resultado.stream().map(SugestaoNomeDTO::nome).toList());
+        assertTrue(resultado.stream().allMatch(sugestao -> sugestao.distancia() == 0));
+    }
+
+    @Test
+    void deveTolerarErroDeDigitacao_DepoisDosAcertosDePrefixo() {
+        // Arrange
+        indiceNomes.adicionar(1L, "Heineken");
+        indiceNomes.adicionar(2L, "Heineken Zero");
+        indiceNomes.adicionar(3L, "Hoegaarden");
+        indiceNomes.adicionar(4L, "Hieneken Fake");
+
+        // Act - "hieneken" é prefixo de um nome e está a uma transposição de "heineken"
+        List<SugestaoNomeDTO> resultado = indiceNomes.buscar("hieneken", 10);
+
+        // Assert
+        assertEquals("Hieneken Fake", resultado.get(0).nome());
+        assertEquals(0, resultado.get(0).distancia());
+        assertEquals(List.of("Heineken", "Heineken Zero"),
+                resultado.subList(1, resultado.size()).stream().map(SugestaoNomeDTO::nome).toList());
+        assertTrue(resultado.subList(1, resultado.size()).stream().allMatch(sugestao -> sugestao.distancia() == 1));
+    }
+
+    @Test
+    void deveIgnorarNomesDistantes_QuandoBuscaTemErro() {
+        // Arrange
+        indiceNomes.adicionar(1L, "Colorado Appia");
+        indiceNomes.adicionar(2L, "Corona Extra");
+
+        // Act
+        List<SugestaoNomeDTO> resultado = indiceNomes.buscar("colorafo", 10);
+
+        // Assert
+        assertEquals(List.of("Colorado Appia"), resultado.stream().map(SugestaoNomeDTO::nome).toList());
+    }
+
+    @Test
+    void deveRespeitarLimite_QuandoHaMuitosAcertos() {
+        // Arrange
+        for (long id = 1; id <= 30; id++) {
+            indiceNomes.adicionar(id, "Cerveja " + id);
+        }
+
+        // Act & Assert
+        assertEquals(5, indiceNomes.buscar("cerv", 5).size());
+    }
+
+    @Test
+    void deveSumirDaBusca_QuandoRemovida() {
+        // Arrange
+        indiceNomes.adicionar(1L, "Heineken");
+        indiceNomes.adicionar(2L, "Heineken Zero");
+
+        // Act
+        indiceNomes.remover(1L);
+
+        // Assert
+        assertEquals(List.of("Heineken Zero"),
+                indiceNomes.buscar("heineken", 10).stream().map(SugestaoNomeDTO::nome).toList());
+        assertEquals(1, indiceNomes.tamanho());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoTermoVazioOuLimiteInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> indiceNomes.buscar("   ", 10));
+        assertThrows(IllegalArgumentException.class, () -> indiceNomes.buscar("abc", 0));
+        assertThrows(IllegalArgumentException.class, () -> indiceNomes.buscar("abc", IndiceNomes.LIMITE_MAXIMO + 1));
+    }
+
+    @Test
+    void deveResponderAutocompleteEmMenosDeUmMilissegundo_Com100MilNomes() {
+        // Arrange
+        for (long id = 1; id <= 100_000; id++) {
+            indiceNomes.adicionar(id, "Cerveja " + Long.toString(id * 7919, 36));
+        }
+        String[] prefixos = {"cerveja 1", "cerveja a", "cerveja zz", "cerveja 5k", "cerveja q"};
+        for (int i = 0; i < 5_000; i++) {
+            indiceNomes.buscar(prefixos[i % prefixos.length], 10);
+        }
+
+        // Act
+        int consultas = 2_000;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < consultas; i++) {
+            assertFalse(indiceNomes.buscar(prefixos[i % prefixos.length], 10).isEmpty());
+        }
+        long mediaNanos = (System.nanoTime() - inicio) / consultas;
+
+        // Assert
+        assertTrue(mediaNanos < 1_000_000, "Autocomplete levou em média " + mediaNanos + " ns");
+    }
+
+    private NomeCerveja nome(Long id, String nome) {
+        return new NomeCerveja() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+        };
+    }
+}
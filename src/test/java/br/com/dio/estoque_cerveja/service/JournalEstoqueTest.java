@@ -0,0 +1,227 @@
+package br.com.dio.estoque_cerveja.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalEstoqueTest {
+
+    @TempDir
+    Path diretorio;
+
+    private JournalEstoque journal;
+
+    @AfterEach
+    void fechar() throws Exception {
+        if (journal != null) {
+            journal.fechar();
+        }
+    }
+
+    private JournalEstoque abrir(int tamanhoSegmento) {
+        JournalEstoque aberto = new JournalEstoque(diretorio, tamanhoSegmento, 200, 4096);
+        aberto.abrir();
+        return aberto;
+    }
+
+    private void aguardarArquivo(Path arquivo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(arquivo) && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertTrue(Files.exists(arquivo), "Segmento não foi preparado: " + arquivo);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.sorted().toList();
+        }
+    }
+
+    @Test
+    void deveRecuperarUltimaQuantidadePorCerveja_QuandoReabrir() throws Exception {
+        // Arrange
+        journal = abrir(1024);
+        journal.anexar(1L, 10, 60);
+        journal.anexar(2L, -5, 75);
+        long ultima = journal.anexar(1L, 5, 65);
+        journal.aguardarGravacao(ultima);
+        journal.fechar();
+
+        // Act
+        journal = abrir(1024);
+
+        // Assert
+        assertEquals(Map.of(1L, 65, 2L, 75), journal.quantidadesRecuperadas());
+        assertEquals(3, journal.ultimaSequencia());
+    }
+
+    @Test
+    void deveDescartarRegistroIncompleto_QuandoSegmentoTruncadoNoMeio() throws Exception {
+        // Arrange - simula uma queda no meio da gravação do 7º registro
+        journal = abrir(1024);
+        for (int i = 1; i <= 10; i++) {
+            journal.aguardarGravacao(journal.anexar(1L, 1, i));
+        }
+        journal.fechar();
+        Path segmento = segmentos().get(0);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(6L * JournalEstoque.TAMANHO_REGISTRO + JournalEstoque.TAMANHO_REGISTRO / 2);
+        }
+
+        // Act
+        journal = abrir(1024);
+
+        // Assert - os 6 registros inteiros voltam; o pela metade é ignorado
+        assertEquals(Map.of(1L, 6), journal.quantidadesRecuperadas());
+        assertEquals(6, journal.ultimaSequencia());
+
+        // E o journal continua gravando a partir do último registro válido
+        journal.aguardarGravacao(journal.anexar(1L, 1, 7));
+        journal.fechar();
+        journal = abrir(1024);
+        assertEquals(Map.of(1L, 7), journal.quantidadesRecuperadas());
+        assertEquals(7, journal.ultimaSequencia());
+    }
+
+    @Test
+    void deveIgnorarRegistroCorrompido_QuandoCrcNaoConfere() throws Exception {
+        // Arrange
+        journal = abrir(1024);
+        journal.anexar(1L, 1, 1);
+        journal.aguardarGravacao(journal.anexar(1L, 1, 2));
+        journal.fechar();
+        Path segmento = segmentos().get(0);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            // Altera a quantidade do 2º registro sem recalcular o CRC
+            canal.write(java.nio.ByteBuffer.wrap(new byte[]{0x7F}), JournalEstoque.TAMANHO_REGISTRO + 4L);
+        }
+
+        // Act
+        journal = abrir(1024);
+
+        // Assert
+        assertEquals(Map.of(1L, 1), journal.quantidadesRecuperadas());
+    }
+
+    @Test
+    void deveRolarSegmento_EDescartarOsJaGravadosNoBanco() throws Exception {
+        // Arrange - segmento de 4 registros
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        for (int i = 1; i <= 10; i++) {
+            journal.anexar((long) (i % 3), 1, i);
+        }
+        journal.aguardarGravacao(10);
+        assertEquals(3, journal.quantidadeSegmentos());
+        Path primeiro = segmentos().get(0);
+
+        // Act - o banco recebeu o estado até a sequência 6: só o primeiro segmento (1..4) está coberto
+        journal.descartarAte(6);
+
+        // Assert
+        assertEquals(2, journal.quantidadeSegmentos());
+        assertFalse(Files.exists(primeiro));
+
+        journal.fechar();
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        assertEquals(Map.of(0L, 9, 1L, 10, 2L, 8), journal.quantidadesRecuperadas());
+        assertEquals(10, journal.ultimaSequencia());
+    }
+
+    @Test
+    void deveRolarParaSegmentoJaPreparado_EApagarOPreparadoNaoUsadoAoFechar() throws Exception {
+        // Arrange - o gravador mapeia o próximo segmento (sequência 5) antes de o ativo encher
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        Path proximo = diretorio.resolve(String.format("journal-%020d.seg", 5));
+        aguardarArquivo(proximo);
+
+        // Act
+        for (int i = 1; i <= 5; i++) {
+            journal.anexar(1L, 1, i);
+        }
+        journal.aguardarGravacao(5);
+
+        // Assert - a troca usou o arquivo preparado, e o seguinte (sequência 9) nunca recebe registros
+        assertEquals(2, journal.quantidadeSegmentos());
+        aguardarArquivo(diretorio.resolve(String.format("journal-%020d.seg", 9)));
+        journal.fechar();
+        assertEquals(List.of(diretorio.resolve(String.format("journal-%020d.seg", 1)), proximo), segmentos());
+
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        assertEquals(Map.of(1L, 5), journal.quantidadesRecuperadas());
+        assertEquals(5, journal.ultimaSequencia());
+    }
+
+    @Test
+    void deveContinuarGravando_QuandoQuedaDeixouSegmentoPreparadoVazio() throws Exception {
+        // Arrange - queda com o ativo pela metade e o próximo já criado pelo gravador, só com zeros
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        journal.aguardarGravacao(journal.anexar(1L, 1, 1));
+        journal.aguardarGravacao(journal.anexar(2L, 1, 2));
+        journal.fechar();
+        Files.write(diretorio.resolve(String.format("journal-%020d.seg", 5)), new byte[4 * JournalEstoque.TAMANHO_REGISTRO]);
+
+        // Act - o vazio vira o ativo, e a numeração pula para a primeira sequência dele
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        long sequencia = journal.anexar(1L, 1, 3);
+        journal.aguardarGravacao(sequencia);
+        journal.fechar();
+
+        // Assert
+        assertEquals(5, sequencia);
+        journal = abrir(4 * JournalEstoque.TAMANHO_REGISTRO);
+        assertEquals(Map.of(1L, 3, 2L, 2), journal.quantidadesRecuperadas());
+        assertEquals(5, journal.ultimaSequencia());
+    }
+
+    @Test
+    void deveConfirmarTodasAsGravacoes_QuandoThreadsConcorrentesCompartilhamForce() throws Exception {
+        // Arrange
+        journal = abrir(1 << 20);
+        int threads = 8;
+        int gravacoesPorThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long cervejaId = t;
+            futuros.add(executor.submit(() -> {
+                for (int i = 1; i <= gravacoesPorThread; i++) {
+                    long sequencia;
+                    synchronized (this) {
+                        sequencia = journal.anexar(cervejaId, 1, i);
+                    }
+                    journal.aguardarGravacao(sequencia);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        journal.fechar();
+
+        // Assert
+        journal = abrir(1 << 20);
+        assertEquals(threads * gravacoesPorThread, journal.ultimaSequencia());
+        journal.quantidadesRecuperadas().values().forEach(quantidade -> assertEquals(gravacoesPorThread, quantidade));
+    }
+}
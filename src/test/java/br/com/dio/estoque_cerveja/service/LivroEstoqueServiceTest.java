@@ -0,0 +1,102 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaRequestDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.SnapshotEstoque;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import br.com.dio.estoque_cerveja.repository.MovimentoEstoqueRepository;
+import br.com.dio.estoque_cerveja.repository.SnapshotEstoqueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class LivroEstoqueServiceTest {
+
+    @Autowired
+    private LivroEstoqueService livroEstoque;
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private ReservaEstoqueService reservaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @Autowired
+    private MovimentoEstoqueRepository movimentoRepository;
+
+    @Autowired
+    private SnapshotEstoqueRepository snapshotRepository;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+        snapshotRepository.deleteAllInBatch();
+        movimentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveReconstruirQuantidade_SomenteComMovimentos() {
+        // Arrange
+        Long id = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Razao", "Teste", 100, 10, TipoCerveja.LAGER)).id();
+
+        // Act
+        cervejaService.incrementarEstoque(id, 30);
+        cervejaService.decrementarEstoque(id, 5);
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 7, 60);
+        reservaService.confirmarReserva(reserva.id());
+
+        // Assert - 10 + 30 - 5 - 7
+        assertEquals(28, repository.findById(id).orElseThrow().getQuantidade());
+        assertEquals(28, livroEstoque.reconstruirQuantidade(id));
+    }
+
+    @Test
+    void deveReplicarSoMovimentosPosterioresAoSnapshot() {
+        // Arrange
+        Long id = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Snapshot", "Teste", 1_000, 100, TipoCerveja.IPA)).id();
+        for (int i = 0; i < 20; i++) {
+            cervejaService.incrementarEstoque(id, 1);
+        }
+
+        // Act - a primeira rodada só marca o limite; a segunda consolida até ele
+        livroEstoque.consolidar();
+        livroEstoque.consolidar();
+        cervejaService.decrementarEstoque(id, 15);
+
+        // Assert
+        SnapshotEstoque snapshot = snapshotRepository.findById(id).orElseThrow();
+        assertEquals(120, snapshot.getQuantidade());
+        assertEquals(-15, movimentoRepository.somarDesde(id, snapshot.getUltimoMovimentoId()));
+        assertEquals(105, livroEstoque.reconstruirQuantidade(id));
+        assertEquals(105, repository.findById(id).orElseThrow().getQuantidade());
+    }
+
+    @Test
+    void deveAcumularSnapshot_QuandoConsolidarVariasVezes() {
+        // Arrange
+        Long id = cervejaService.criarCerveja(
+                new CervejaRequestDTO("Acumulada", "Teste", 1_000, 0, TipoCerveja.PILSEN)).id();
+        cervejaService.incrementarEstoque(id, 50);
+        livroEstoque.consolidar();
+        livroEstoque.consolidar();
+
+        // Act
+        cervejaService.incrementarEstoque(id, 25);
+        livroEstoque.consolidar();
+        livroEstoque.consolidar();
+
+        // Assert
+        assertEquals(75, snapshotRepository.findById(id).orElseThrow().getQuantidade());
+        assertEquals(75, livroEstoque.reconstruirQuantidade(id));
+    }
+}
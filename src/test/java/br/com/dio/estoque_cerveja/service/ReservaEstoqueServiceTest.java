@@ -0,0 +1,200 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.dto.ReservaResponseDTO;
+import br.com.dio.estoque_cerveja.entity.Cerveja;
+import br.com.dio.estoque_cerveja.enums.MotivoMovimento;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import br.com.dio.estoque_cerveja.exception.CervejaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.exception.EstoqueInsuficienteException;
+import br.com.dio.estoque_cerveja.exception.ReservaNaoEncontradaException;
+import br.com.dio.estoque_cerveja.repository.CervejaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+public class ReservaEstoqueServiceTest {
+
+    @Autowired
+    private ReservaEstoqueService reservaService;
+
+    @Autowired
+    private CervejaService cervejaService;
+
+    @Autowired
+    private CervejaRepository repository;
+
+    @MockitoSpyBean
+    private LivroEstoqueService livroEstoque;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = repository.save(Cerveja.builder()
+                .nome("Reservada")
+                .marca("Teste")
+                .maximo(100_000)
+                .quantidade(50)
+                .tipo(TipoCerveja.LAGER)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void deveReduzirDisponivel_QuandoReservar() {
+        // Act
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 20, 60);
+
+        // Assert
+        assertNotNull(reserva.id());
+        assertEquals(20, reserva.quantidade());
+        CervejaResponseDTO cerveja = cervejaService.encontrarPorNome("Reservada");
+        assertEquals(50, cerveja.quantidade());
+        assertEquals(20, cerveja.reservado());
+        assertEquals(30, cerveja.disponivel());
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoReservaExcedeDisponivel() {
+        // Arrange
+        reservaService.criarReserva(id, 40, 60);
+
+        // Act & Assert
+        EstoqueInsuficienteException exception = assertThrows(EstoqueInsuficienteException.class,
+                () -> reservaService.criarReserva(id, 11, 60));
+        assertTrue(exception.getMessage().contains("Não é possível reservar 11 unidades"));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoReservarCervejaInexistente() {
+        assertThrows(CervejaNaoEncontradaException.class, () -> reservaService.criarReserva(id + 1000, 1, 60));
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoDuracaoAcimaDoMaximo() {
+        assertThrows(IllegalArgumentException.class, () -> reservaService.criarReserva(id, 1, 1_000_000));
+    }
+
+    @Test
+    void deveBaixarEstoque_QuandoConfirmarReserva() {
+        // Arrange
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 20, 60);
+
+        // Act
+        CervejaResponseDTO cerveja = reservaService.confirmarReserva(reserva.id());
+
+        // Assert
+        assertEquals(30, cerveja.quantidade());
+        assertEquals(0, cerveja.reservado());
+        assertEquals(30, cerveja.disponivel());
+        assertThrows(ReservaNaoEncontradaException.class, () -> reservaService.confirmarReserva(reserva.id()));
+    }
+
+    @Test
+    void deveManterReserva_QuandoConfirmacaoFalharNoBanco() {
+        // Arrange - o registro no livro-razão falha e desfaz a transação da confirmação
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 20, 60);
+        doThrow(new DataAccessResourceFailureException("banco fora"))
+                .doCallRealMethod()
+                .when(livroEstoque).registrar(eq(id), eq(-20), eq(MotivoMovimento.RESERVA_CONFIRMADA));
+
+        // Act
+        assertThrows(DataAccessResourceFailureException.class, () -> reservaService.confirmarReserva(reserva.id()));
+
+        // Assert - nada foi baixado e a mesma reserva ainda pode ser confirmada
+        assertEquals(20, reservaService.buscarReserva(reserva.id()).quantidade());
+        Cerveja cerveja = repository.findById(id).orElseThrow();
+        assertEquals(50, cerveja.getQuantidade());
+        assertEquals(20, cerveja.getReservado());
+
+        CervejaResponseDTO confirmada = reservaService.confirmarReserva(reserva.id());
+        assertEquals(30, confirmada.quantidade());
+        assertEquals(0, confirmada.reservado());
+    }
+
+    @Test
+    void deveDevolverDisponivel_QuandoCancelarReserva() {
+        // Arrange
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 20, 60);
+
+        // Act
+        reservaService.cancelarReserva(reserva.id());
+
+        // Assert
+        Cerveja cerveja = repository.findById(id).orElseThrow();
+        assertEquals(50, cerveja.getQuantidade());
+        assertEquals(0, cerveja.getReservado());
+        assertThrows(ReservaNaoEncontradaException.class, () -> reservaService.buscarReserva(reserva.id()));
+    }
+
+    @Test
+    void naoDevePermitirDecrementarUnidadesReservadas() {
+        // Arrange
+        reservaService.criarReserva(id, 45, 60);
+
+        // Act & Assert
+        assertThrows(EstoqueInsuficienteException.class, () -> cervejaService.decrementarEstoque(id, 6));
+        assertEquals(45, cervejaService.decrementarEstoque(id, 5).quantidade());
+    }
+
+    @Test
+    void deveLiberarReservaVencida_SemConfirmacao() throws Exception {
+        // Arrange
+        ReservaResponseDTO reserva = reservaService.criarReserva(id, 20, 1);
+
+        // Act
+        aguardarReservado(0, 5_000);
+
+        // Assert
+        assertEquals(50, repository.findById(id).orElseThrow().getQuantidade());
+        assertThrows(ReservaNaoEncontradaException.class, () -> reservaService.confirmarReserva(reserva.id()));
+    }
+
+    @Test
+    void deveExpirarMilharesDeReservas_QuandoVencemJuntas() throws Exception {
+        // Arrange
+        int reservas = 2_000;
+        Cerveja cerveja = repository.findById(id).orElseThrow();
+        cerveja.setQuantidade(reservas);
+        repository.save(cerveja);
+
+        // Act - as primeiras vencem enquanto as últimas ainda estão sendo criadas
+        for (int i = 0; i < reservas; i++) {
+            reservaService.criarReserva(id, 1, 1);
+        }
+
+        // Assert - o varredor drena os vencidos em lote, com um UPDATE por cerveja
+        aguardarReservado(0, 10_000);
+    }
+
+    @Test
+    void deveLancarExcecao_QuandoReservaNaoExiste() {
+        assertThrows(ReservaNaoEncontradaException.class, () -> reservaService.cancelarReserva(UUID.randomUUID()));
+    }
+
+    private void aguardarReservado(int esperado, long timeoutMs) throws InterruptedException {
+        long limite = System.currentTimeMillis() + timeoutMs;
+        while (repository.findById(id).orElseThrow().getReservado() != esperado) {
+            if (System.currentTimeMillis() > limite) {
+                fail("Reservas não expiraram em " + timeoutMs + " ms");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
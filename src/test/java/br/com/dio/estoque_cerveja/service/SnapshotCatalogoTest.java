@@ -0,0 +1,77 @@
+package br.com.dio.estoque_cerveja.service;
+
+import br.com.dio.estoque_cerveja.dto.CervejaResponseDTO;
+import br.com.dio.estoque_cerveja.enums.TipoCerveja;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotCatalogoTest {
+
+    @Mock
+    private CervejaService service;
+
+    @Mock
+    private VersaoCatalogo versaoCatalogo;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Test
+    void deveReaproveitarSnapshot_QuandoVersaoNaoMuda() {
+        // Arrange
+        when(versaoCatalogo.atual()).thenReturn(3L);
+        when(service.listarTudo()).thenReturn(List.of(cerveja("Heineken", 50)));
+
+        // Act
+        SnapshotCatalogo.Snapshot primeiro = snapshotCatalogo.atual();
+        SnapshotCatalogo.Snapshot segundo = snapshotCatalogo.atual();
+
+        // Assert
+        assertSame(primeiro, segundo);
+        assertEquals(3L, primeiro.versao());
+        verify(service, times(1)).listarTudo();
+    }
+
+    @Test
+    void deveReconstruirSnapshot_QuandoVersaoAvanca() throws IOException {
+        // Arrange
+        when(versaoCatalogo.atual()).thenReturn(1L, 2L);
+        when(service.listarTudo())
+                .thenReturn(List.of(cerveja("Heineken", 50)))
+                .thenReturn(List.of(cerveja("Heineken", 49)));
+
+        // Act
+        SnapshotCatalogo.Snapshot antes = snapshotCatalogo.atual();
+        SnapshotCatalogo.Snapshot depois = snapshotCatalogo.atual();
+
+        // Assert - as duas codificações carregam o mesmo JSON
+        assertEquals(2L, depois.versao());
+        assertNotEquals(new String(antes.json()), new String(depois.json()));
+        assertTrue(new String(depois.json()).contains("\"quantidade\":49"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(depois.gzip()))) {
+            assertArrayEquals(depois.json(), gzip.readAllBytes());
+        }
+        verify(service, times(2)).listarTudo();
+    }
+
+    private CervejaResponseDTO cerveja(String nome, int quantidade) {
+        return new CervejaResponseDTO(1L, nome, "Marca", 100, quantidade, TipoCerveja.LAGER);
+    }
+}
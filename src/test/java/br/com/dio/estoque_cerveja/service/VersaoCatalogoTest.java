@@ -0,0 +1,49 @@
+package br.com.dio.estoque_cerveja.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersaoCatalogoTest {
+
+    private final VersaoCatalogo versaoCatalogo = new VersaoCatalogo();
+
+    @AfterEach
+    void limpar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deveMudarETag_QuandoAvancarForaDeTransacao() {
+        // Arrange
+        String etagAntes = versaoCatalogo.etag();
+
+        // Act
+        versaoCatalogo.avancar();
+
+        // Assert
+        assertEquals(1, versaoCatalogo.atual());
+        assertNotEquals(etagAntes, versaoCatalogo.etag());
+        assertTrue(versaoCatalogo.etag().startsWith("\"") && versaoCatalogo.etag().endsWith("\""));
+    }
+
+    @Test
+    void deveAvancarSoAoFimDaTransacao_QuandoHouverTransacaoAtiva() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        versaoCatalogo.avancar();
+
+        // Assert - enquanto a transação não termina, leitores continuam vendo a versão anterior
+        assertEquals(0, versaoCatalogo.atual());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(1, versaoCatalogo.atual());
+    }
+}